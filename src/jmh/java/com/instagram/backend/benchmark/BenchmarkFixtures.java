@@ -0,0 +1,123 @@
+package com.instagram.backend.benchmark;
+
+import com.instagram.backend.model.entity.Campaign;
+import com.instagram.backend.model.entity.Donation;
+import com.instagram.backend.model.entity.Notification;
+import com.instagram.backend.model.entity.Profile;
+import com.instagram.backend.model.entity.User;
+import org.mockito.Mockito;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entity fixtures and helpers shared by the benchmarks. Services are built with mocked
+ * collaborators so only the mapping code itself is measured.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static <T> T serviceWithMocks(Class<T> type) {
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructors()[0];
+            Object[] args = new Object[constructor.getParameterCount()];
+            Class<?>[] parameterTypes = constructor.getParameterTypes();
+            for (int i = 0; i < args.length; i++) {
+                // stubOnly: no invocation recording, otherwise memory grows with every call
+                args[i] = Mockito.mock(parameterTypes[i], Mockito.withSettings().stubOnly());
+            }
+            return type.cast(constructor.newInstance(args));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot build " + type.getSimpleName(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T mock(Object service, String fieldName) {
+        try {
+            var field = service.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            return (T) field.get(service);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("No field " + fieldName, e);
+        }
+    }
+
+    // The mappers are private; a bound MethodHandle keeps call overhead out of the numbers
+    static MethodHandle privateMethod(Object service, String name, Class<?> returnType, Class<?>... parameterTypes) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(service.getClass(), MethodHandles.lookup());
+            return lookup.findVirtual(service.getClass(), name, MethodType.methodType(returnType, parameterTypes))
+                    .bindTo(service);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("No method " + name, e);
+        }
+    }
+
+    static Profile profile(long id, String username) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+
+        Profile profile = new Profile();
+        profile.setId(id);
+        profile.setUser(user);
+        profile.setName("Benchmark " + username);
+        profile.setProfilePictureUrl("https://cdn.example.com/avatars/" + id + ".jpg");
+        return profile;
+    }
+
+    static Campaign campaign(Profile creator) {
+        Campaign campaign = new Campaign();
+        campaign.setId(7L);
+        campaign.setCreator(creator);
+        campaign.setTitle("Community library roof repair");
+        campaign.setDescription("Help us replace the roof before the monsoon season.".repeat(8));
+        campaign.setGoalAmount(new BigDecimal("25000.00"));
+        campaign.setCategory("COMMUNITY");
+        campaign.setStatus(Campaign.CampaignStatus.ACTIVE);
+        campaign.setStartDate(LocalDateTime.now().minusDays(10));
+        campaign.setEndDate(LocalDateTime.now().plusDays(20));
+        campaign.setImageUrl("https://cdn.example.com/campaigns/7.jpg");
+        campaign.setBeneficiaryName("City Library Trust");
+        campaign.setDonorCount(318);
+        campaign.setCreatedAt(LocalDateTime.now().minusDays(12));
+        campaign.setUpdatedAt(LocalDateTime.now());
+        return campaign;
+    }
+
+    static Donation donation(Campaign campaign, Profile donor) {
+        Donation donation = new Donation();
+        donation.setId(1001L);
+        donation.setCampaign(campaign);
+        donation.setDonor(donor);
+        donation.setAmount(new BigDecimal("50.00"));
+        donation.setMessage("Good luck with the repairs!");
+        donation.setPaymentStatus(Donation.PaymentStatus.COMPLETED);
+        donation.setPaymentMethod("CARD");
+        donation.setTransactionId("pi_3NbenchmarkTransaction");
+        donation.setCreatedAt(LocalDateTime.now());
+        donation.setUpdatedAt(LocalDateTime.now());
+        return donation;
+    }
+
+    static Notification notification(Profile recipient, Profile actor, Campaign campaign) {
+        Notification notification = new Notification();
+        notification.setId(5001L);
+        notification.setRecipient(recipient);
+        notification.setActor(actor);
+        notification.setCampaign(campaign);
+        notification.setType(Notification.NotificationType.DONATION_RECEIVED);
+        notification.setMessage(actor.getUser().getUsername() + " donated to your campaign");
+        notification.setActionUrl("/campaigns/" + campaign.getId());
+        notification.setCreatedAt(LocalDateTime.now());
+        return notification;
+    }
+}
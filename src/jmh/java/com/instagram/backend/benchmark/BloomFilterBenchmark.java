@@ -0,0 +1,86 @@
+package com.instagram.backend.benchmark;
+
+import com.instagram.backend.cache.ScalableBloomFilter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Duplicate-like filter (see DuplicateFilters) holding the given number of "userId:postId"
+ * keys at the default 1% rate. "presized" is a filter after a rebuild, "grown" one that
+ * started at the default 1M and scaled up through layers. Setup prints the memory
+ * footprint and the rate predicted from the fill; the absentKey aux counters give the
+ * measured rate (falsePositives / probes).
+ *
+ * 100M keys take a while to insert: mvn -Pbenchmark verify -Djmh.args="BloomFilter -f 1 -wi 2 -i 3"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BloomFilterBenchmark {
+
+    private static final int SAMPLES = 1 << 20;
+
+    @Param({"1000000", "100000000"})
+    private long keys;
+
+    @Param({"presized", "grown"})
+    private String sizing;
+
+    private ScalableBloomFilter filter;
+    private String[] present;
+    private String[] absent;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Probes {
+        public long probes;
+        public long falsePositives;
+        private int next;
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        filter = new ScalableBloomFilter("presized".equals(sizing) ? keys : 1_000_000, 0.01);
+        for (long i = 0; i < keys; i++) {
+            filter.put(key(i));
+        }
+        present = new String[SAMPLES];
+        absent = new String[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            present[i] = key(i * (keys / SAMPLES + 1) % keys);
+            absent[i] = key(keys + i);
+        }
+        System.out.printf("%n%,d keys (%s): %,d bytes (%.2f bits/key) in %d layer(s), predicted rate %.4f%%%n",
+                keys, sizing, filter.sizeInBytes(), filter.sizeInBytes() * 8.0 / keys, filter.layerCount(),
+                filter.expectedFalsePositiveRate() * 100);
+    }
+
+    /** The common case in production: a pair that was never liked. */
+    @Benchmark
+    public boolean absentKey(Probes probes) {
+        String key = absent[probes.next++ & (SAMPLES - 1)];
+        boolean hit = filter.mightContain(key);
+        probes.probes++;
+        if (hit) {
+            probes.falsePositives++;
+        }
+        return hit;
+    }
+
+    @Benchmark
+    public boolean presentKey(Cursor cursor) {
+        return filter.mightContain(present[cursor.next++ & (SAMPLES - 1)]);
+    }
+
+    /** Same shape as DuplicateFilters.likeKey: a profile id and a 24-char Mongo ObjectId. */
+    private static String key(long i) {
+        String hex = Long.toHexString(i);
+        return (i % 5_000_000) + ":65f1c2a9e4b0" + "000000000000".substring(hex.length()) + hex;
+    }
+}
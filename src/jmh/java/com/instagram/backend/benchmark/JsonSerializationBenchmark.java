@@ -0,0 +1,128 @@
+package com.instagram.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.instagram.backend.dto.response.CampaignResponse;
+import com.instagram.backend.dto.response.NotificationResponse;
+import com.instagram.backend.dto.response.PostResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of the most frequently returned responses, single objects and a
+ * 20-item page (the default page size of the list endpoints).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JsonSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private ObjectWriter writer;
+
+    private PostResponse post;
+    private CampaignResponse campaign;
+    private NotificationResponse notification;
+    private List<PostResponse> postPage;
+
+    @Setup
+    public void setUp() {
+        // Same defaults Spring Boot applies to the MVC ObjectMapper
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+
+        post = post(1);
+        campaign = campaign();
+        notification = notification();
+        postPage = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            postPage.add(post(i));
+        }
+    }
+
+    @Benchmark
+    public byte[] postResponse() throws Exception {
+        return writer.writeValueAsBytes(post);
+    }
+
+    @Benchmark
+    public byte[] postPage() throws Exception {
+        return writer.writeValueAsBytes(postPage);
+    }
+
+    @Benchmark
+    public byte[] campaignResponse() throws Exception {
+        return writer.writeValueAsBytes(campaign);
+    }
+
+    @Benchmark
+    public byte[] notificationResponse() throws Exception {
+        return writer.writeValueAsBytes(notification);
+    }
+
+    private static PostResponse post(int i) {
+        PostResponse response = new PostResponse();
+        response.setId("65f1c0ffee" + i);
+        response.setUserId(42L);
+        response.setUsername("benchmark_user");
+        response.setProfilePictureUrl("https://cdn.example.com/avatars/42.jpg");
+        response.setCaption("Sunset over the harbour #travel #photography");
+        response.setMediaUrls(List.of("https://cdn.example.com/posts/" + i + "/1.jpg",
+                "https://cdn.example.com/posts/" + i + "/2.jpg"));
+        response.setTags(List.of("travel", "photography"));
+        response.setLocation("Mumbai");
+        response.setIsPublic(true);
+        response.setCreatedAt(LocalDateTime.now());
+        response.setUpdatedAt(LocalDateTime.now());
+        response.setLikesCount(1280);
+        response.setCommentsCount(64);
+        response.setIsLiked(false);
+        return response;
+    }
+
+    private static CampaignResponse campaign() {
+        CampaignResponse response = new CampaignResponse();
+        response.setId(7L);
+        response.setCreatorId(1L);
+        response.setCreatorUsername("creator");
+        response.setCreatorName("Benchmark creator");
+        response.setTitle("Community library roof repair");
+        response.setDescription("Help us replace the roof before the monsoon season.".repeat(8));
+        response.setGoalAmount(new BigDecimal("25000.00"));
+        response.setCurrentAmount(new BigDecimal("18250.00"));
+        response.setCurrency("USD");
+        response.setCategory("COMMUNITY");
+        response.setStatus("ACTIVE");
+        response.setStartDate(LocalDateTime.now().minusDays(10));
+        response.setEndDate(LocalDateTime.now().plusDays(20));
+        response.setIsVerified(true);
+        response.setDonorCount(318);
+        response.setLikesCount(512L);
+        response.setCommentsCount(37L);
+        response.setLiked(true);
+        response.setProgressPercentage(new BigDecimal("73.00"));
+        response.setCreatedAt(LocalDateTime.now().minusDays(12));
+        response.setUpdatedAt(LocalDateTime.now());
+        return response;
+    }
+
+    private static NotificationResponse notification() {
+        NotificationResponse response = new NotificationResponse();
+        response.setId(5001L);
+        response.setType("DONATION_RECEIVED");
+        response.setMessage("donor donated to your campaign");
+        response.setIsRead(false);
+        response.setActorId(2L);
+        response.setActorUsername("donor");
+        response.setActorProfilePicture("https://cdn.example.com/avatars/2.jpg");
+        response.setCampaignId(7L);
+        response.setActionUrl("/campaigns/7");
+        response.setCreatedAt(LocalDateTime.now());
+        return response;
+    }
+}
@@ -0,0 +1,183 @@
+package com.instagram.backend.benchmark;
+
+import com.instagram.backend.repository.jpa.CampaignLedgerRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Campaign balance reads over a ledger of the given size, spread evenly over the campaigns.
+ * "snapshotPlusTail" is the production query (CampaignLedgerRepository.getBalance, read
+ * from its annotation so the two cannot drift); "fullSum" is the plain SUM over a
+ * campaign's entries it replaced. tailEntries is how many entries per campaign arrived
+ * after the last materialization.
+ *
+ * Starts an embedded Postgres, or uses an existing one (the tables go in their own schema):
+ * mvn -Pbenchmark verify -Djmh.args="LedgerBalance -f 1 -wi 3 -i 5 -p jdbcUrl=jdbc:postgresql://..."
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LedgerBalanceBenchmark {
+
+    private static final String SCHEMA = "ledger_benchmark";
+
+    @Param({"1000000"})
+    private int entries;
+
+    @Param({"100"})
+    private int campaigns;
+
+    @Param({"0", "100"})
+    private int tailEntries;
+
+    @Param({"embedded"})
+    private String jdbcUrl;
+
+    private EmbeddedPostgres postgres;
+    private Connection connection;
+    private NativeQuery balanceQuery;
+    private PreparedStatement snapshotPlusTail;
+    private PreparedStatement fullSum;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        String url = jdbcUrl;
+        if ("embedded".equals(url)) {
+            postgres = EmbeddedPostgres.builder().setServerConfig("fsync", "off").start();
+            url = postgres.getJdbcUrl("postgres", "postgres");
+        }
+        connection = DriverManager.getConnection(url, "postgres", "postgres");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            ddl.execute("CREATE SCHEMA " + SCHEMA);
+            ddl.execute("SET search_path TO " + SCHEMA);
+            // Same shape and indexes as the entities
+            ddl.execute("CREATE TABLE campaign_ledger_entries (id BIGSERIAL PRIMARY KEY, campaign_id BIGINT NOT NULL, "
+                    + "entry_type VARCHAR(20) NOT NULL, amount NUMERIC(15, 2) NOT NULL, currency VARCHAR(3) NOT NULL, "
+                    + "reference_id BIGINT, created_at TIMESTAMP NOT NULL, "
+                    + "xact_id BIGINT NOT NULL DEFAULT CAST(CAST(pg_current_xact_id() AS text) AS bigint), "
+                    + "CONSTRAINT uk_ledger_entry_reference UNIQUE (entry_type, reference_id))");
+            ddl.execute("CREATE INDEX idx_ledger_campaign_id_id ON campaign_ledger_entries (campaign_id, id)");
+            ddl.execute("CREATE INDEX idx_ledger_campaign_xact_id ON campaign_ledger_entries (campaign_id, xact_id)");
+            ddl.execute("CREATE INDEX idx_ledger_xact_id ON campaign_ledger_entries (xact_id)");
+            ddl.execute("CREATE TABLE campaign_balance_snapshots (campaign_id BIGINT PRIMARY KEY, "
+                    + "balance NUMERIC(15, 2) NOT NULL, xmin_watermark BIGINT NOT NULL, "
+                    + "donor_count_delta INTEGER NOT NULL, updated_at TIMESTAMP)");
+
+            insertEntries(ddl, 0, entries);
+            long xmin = visibleXmin(ddl);
+            NativeQuery materialize = NativeQuery.of("materializeSnapshots", long.class, long.class, LocalDateTime.class);
+            try (PreparedStatement statement = connection.prepareStatement(materialize.sql())) {
+                materialize.bind(statement, Map.of("fromXid", 0L, "toXid", xmin,
+                        "now", Timestamp.valueOf(LocalDateTime.now())));
+                statement.executeUpdate();
+            }
+            insertEntries(ddl, entries, tailEntries * campaigns);
+            ddl.execute("VACUUM ANALYZE campaign_ledger_entries");
+            ddl.execute("VACUUM ANALYZE campaign_balance_snapshots");
+        }
+        balanceQuery = NativeQuery.of("getBalance", Long.class);
+        snapshotPlusTail = connection.prepareStatement(balanceQuery.sql());
+        fullSum = connection.prepareStatement(
+                "SELECT COALESCE(SUM(amount), 0) FROM campaign_ledger_entries WHERE campaign_id = ?");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP SCHEMA " + SCHEMA + " CASCADE");
+        }
+        connection.close();
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Benchmark
+    public BigDecimal snapshotPlusTail(Cursor cursor) throws SQLException {
+        balanceQuery.bind(snapshotPlusTail, Map.of("campaignId", nextCampaign(cursor)));
+        return balance(snapshotPlusTail);
+    }
+
+    @Benchmark
+    public BigDecimal fullSum(Cursor cursor) throws SQLException {
+        fullSum.setLong(1, nextCampaign(cursor));
+        return balance(fullSum);
+    }
+
+    private long nextCampaign(Cursor cursor) {
+        return 1 + cursor.next++ % campaigns;
+    }
+
+    private static BigDecimal balance(PreparedStatement query) throws SQLException {
+        try (ResultSet result = query.executeQuery()) {
+            result.next();
+            return result.getBigDecimal(1);
+        }
+    }
+
+    private static long visibleXmin(Statement statement) throws SQLException {
+        try (ResultSet result = statement.executeQuery(NativeQuery.of("findVisibleXmin").sql())) {
+            result.next();
+            return result.getLong(1);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Entries round-robin over the campaigns, so each campaign's rows are spread across the table
+    private void insertEntries(Statement statement, int from, int count) throws SQLException {
+        if (count == 0) {
+            return;
+        }
+        statement.execute("INSERT INTO campaign_ledger_entries "
+                + "(campaign_id, entry_type, amount, currency, reference_id, created_at) "
+                + "SELECT 1 + i % " + campaigns + ", 'DONATION', 5 + i % 100, 'USD', i, now() "
+                + "FROM generate_series(" + (from + 1) + ", " + (from + count) + ") AS i");
+    }
+
+    /** A CampaignLedgerRepository native query with its named parameters turned into JDBC ones. */
+    private record NativeQuery(String sql, List<String> parameters) {
+
+        private static final Pattern NAMED = Pattern.compile(":([a-zA-Z]+)");
+
+        static NativeQuery of(String method, Class<?>... parameterTypes) throws NoSuchMethodException {
+            String query = CampaignLedgerRepository.class.getMethod(method, parameterTypes)
+                    .getAnnotation(Query.class).value();
+            List<String> parameters = new ArrayList<>();
+            Matcher matcher = NAMED.matcher(query);
+            while (matcher.find()) {
+                parameters.add(matcher.group(1));
+            }
+            return new NativeQuery(matcher.replaceAll("?"), parameters);
+        }
+
+        void bind(PreparedStatement statement, Map<String, Object> values) throws SQLException {
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, values.get(parameters.get(i)));
+            }
+        }
+    }
+}
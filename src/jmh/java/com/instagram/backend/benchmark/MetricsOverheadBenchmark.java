@@ -0,0 +1,63 @@
+package com.instagram.backend.benchmark;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the metrics layer per call: a bare method, the same method through a @Timed
+ * proxy (as on PaymentService) and a direct Timer.record (as used by Boot's HTTP and
+ * repository instrumentation). Histogram buckets are on, as in application.properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MetricsOverheadBenchmark {
+
+    private Target plain;
+    private Target timedProxy;
+    private Timer timer;
+
+    @Setup
+    public void setUp() {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+
+        plain = new Target();
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Target());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new TimedAspect(registry));
+        timedProxy = factory.getProxy();
+
+        timer = Timer.builder("benchmark.direct").publishPercentileHistogram().register(registry);
+    }
+
+    @Benchmark
+    public long baseline() {
+        return plain.work(42);
+    }
+
+    @Benchmark
+    public long timedAnnotation() {
+        return timedProxy.work(42);
+    }
+
+    @Benchmark
+    public long timerRecord() {
+        return timer.record(() -> plain.work(42));
+    }
+
+    public static class Target {
+
+        @Timed(value = "benchmark.timed", extraTags = {"operation", "work"}, histogram = true)
+        public long work(long seed) {
+            return seed * 31 + 7;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.instagram.backend.benchmark;
+
+import com.instagram.backend.dto.response.CampaignResponse;
+import com.instagram.backend.dto.response.DonationResponse;
+import com.instagram.backend.dto.response.NotificationResponse;
+import com.instagram.backend.model.entity.Campaign;
+import com.instagram.backend.model.entity.Donation;
+import com.instagram.backend.model.entity.Notification;
+import com.instagram.backend.model.entity.Profile;
+import com.instagram.backend.service.CampaignLedgerService;
+import com.instagram.backend.service.CampaignService;
+import com.instagram.backend.service.DonationService;
+import com.instagram.backend.service.NotificationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Entity to response mapping as done on every list endpoint. Repository calls made by the
+ * mappers hit stub-only mocks, so the numbers are the in-memory cost per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ResponseMappingBenchmark {
+
+    private MethodHandle campaignMapper;
+    private MethodHandle donationMapper;
+    private MethodHandle notificationMapper;
+
+    private Campaign campaign;
+    private Donation donation;
+    private Donation anonymousDonation;
+    private Notification notification;
+
+    @Setup
+    public void setUp() {
+        Profile creator = BenchmarkFixtures.profile(1L, "creator");
+        Profile donor = BenchmarkFixtures.profile(2L, "donor");
+        campaign = BenchmarkFixtures.campaign(creator);
+        donation = BenchmarkFixtures.donation(campaign, donor);
+        anonymousDonation = BenchmarkFixtures.donation(campaign, donor);
+        anonymousDonation.setIsAnonymous(true);
+        notification = BenchmarkFixtures.notification(creator, donor, campaign);
+
+        CampaignService campaignService = BenchmarkFixtures.serviceWithMocks(CampaignService.class);
+        CampaignLedgerService ledgerService = BenchmarkFixtures.mock(campaignService, "ledgerService");
+        when(ledgerService.getBalance(anyLong())).thenReturn(new BigDecimal("18250.00"));
+
+        DonationService donationService = BenchmarkFixtures.serviceWithMocks(DonationService.class);
+        NotificationService notificationService = BenchmarkFixtures.serviceWithMocks(NotificationService.class);
+
+        campaignMapper = BenchmarkFixtures.privateMethod(campaignService,
+                "mapToCampaignResponse", CampaignResponse.class, Campaign.class, Long.class);
+        donationMapper = BenchmarkFixtures.privateMethod(donationService,
+                "mapToDonationResponse", DonationResponse.class, Donation.class);
+        notificationMapper = BenchmarkFixtures.privateMethod(notificationService,
+                "mapToNotificationResponse", NotificationResponse.class, Notification.class);
+    }
+
+    @Benchmark
+    public CampaignResponse campaignResponse() throws Throwable {
+        return (CampaignResponse) campaignMapper.invoke(campaign, 2L);
+    }
+
+    @Benchmark
+    public DonationResponse donationResponse() throws Throwable {
+        return (DonationResponse) donationMapper.invoke(donation);
+    }
+
+    @Benchmark
+    public DonationResponse anonymousDonationResponse() throws Throwable {
+        return (DonationResponse) donationMapper.invoke(anonymousDonation);
+    }
+
+    @Benchmark
+    public NotificationResponse notificationResponse() throws Throwable {
+        return (NotificationResponse) notificationMapper.invoke(notification);
+    }
+}
@@ -0,0 +1,79 @@
+package com.instagram.backend.benchmark;
+
+import com.instagram.backend.config.SecurityConfig;
+import com.instagram.backend.security.JwtTokenProvider;
+import com.instagram.backend.utils.EncryptionUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Auth hot paths: every request verifies a JWT, every login issues one and checks a
+ * BCrypt hash, and bank account details go through EncryptionUtil.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SecurityBenchmark {
+
+    private JwtTokenProvider tokenProvider;
+    private PasswordEncoder passwordEncoder;
+
+    private String accessToken;
+    private String passwordHash;
+    private String encryptedAccountNumber;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider(
+                "MySecretKeyForJWTTokenGenerationAndValidationPurposeLengthMustBeAtLeast256Bits",
+                86_400_000L,
+                604_800_000L
+        );
+        // Same encoder (and cost) as the application bean
+        passwordEncoder = new SecurityConfig(null, null).passwordEncoder();
+
+        accessToken = tokenProvider.generateAccessTokenFromUserId(42L, "benchmark_user", List.of("USER"));
+        passwordHash = passwordEncoder.encode("CorrectHorseBatteryStaple1!");
+        encryptedAccountNumber = EncryptionUtil.encrypt("000123456789");
+    }
+
+    // ===== JWT =====
+
+    @Benchmark
+    public String jwtIssue() {
+        return tokenProvider.generateAccessTokenFromUserId(42L, "benchmark_user", List.of("USER"));
+    }
+
+    @Benchmark
+    public boolean jwtValidate() {
+        return tokenProvider.validateToken(accessToken);
+    }
+
+    @Benchmark
+    public Long jwtParseUserId() {
+        return tokenProvider.getUserIdFromJwt(accessToken);
+    }
+
+    // ===== ENCRYPTION =====
+
+    @Benchmark
+    public String encrypt() {
+        return EncryptionUtil.encrypt("000123456789");
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return EncryptionUtil.decrypt(encryptedAccountNumber);
+    }
+
+    // ===== BCRYPT =====
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public boolean bcryptMatches() {
+        return passwordEncoder.matches("CorrectHorseBatteryStaple1!", passwordHash);
+    }
+}
@@ -0,0 +1,43 @@
+package com.instagram.backend.benchmark;
+
+import com.instagram.backend.monitoring.Tracer;
+import com.instagram.backend.monitoring.TracingAspect;
+import com.instagram.backend.service.TracingService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of the tracing aspect on a service method when the request is not sampled,
+ * i.e. the price every request pays with tracing.sample-rate=0.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TracingOverheadBenchmark {
+
+    private TracingService plain;
+    private TracingService traced;
+
+    @Setup
+    public void setUp() {
+        Tracer tracer = new Tracer(0.0, 16, 100);
+        plain = new TracingService(tracer);
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(new TracingService(tracer));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new TracingAspect(tracer));
+        traced = factory.getProxy();
+    }
+
+    @Benchmark
+    public double baseline() {
+        return plain.getSampleRate();
+    }
+
+    @Benchmark
+    public double unsampled() {
+        return traced.getSampleRate();
+    }
+}
@@ -0,0 +1,263 @@
+package com.instagram.backend.loadtest;
+
+import com.instagram.backend.model.document.Comment;
+import com.instagram.backend.model.document.Post;
+import com.instagram.backend.model.document.Reel;
+import com.instagram.backend.model.entity.Campaign;
+import com.instagram.backend.model.entity.Donation;
+import com.instagram.backend.model.entity.Follow;
+import com.instagram.backend.model.entity.Profile;
+import com.instagram.backend.model.entity.User;
+import com.instagram.backend.repository.jpa.CampaignRepository;
+import com.instagram.backend.repository.jpa.DonationRepository;
+import com.instagram.backend.repository.jpa.FollowRepository;
+import com.instagram.backend.repository.jpa.ProfileRepository;
+import com.instagram.backend.repository.jpa.UserRepository;
+import com.instagram.backend.repository.mongo.CommentRepository;
+import com.instagram.backend.repository.mongo.PostRepository;
+import com.instagram.backend.repository.mongo.ReelRepository;
+import com.instagram.backend.service.CampaignLedgerService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Seeds a deterministic social graph straight through the repositories. Going through the
+ * API would mean one BCrypt hash per signup, so all users share a single precomputed hash.
+ */
+@Slf4j
+public class DataSeeder {
+
+    public static final String PASSWORD = "LoadTest#2024";
+
+    private static final int BATCH_SIZE = 500;
+    private static final String[] TAGS = {"travel", "food", "fitness", "art", "music", "tech", "nature", "pets"};
+    private static final String[] CATEGORIES = {"MEDICAL", "EDUCATION", "EMERGENCY", "CREATIVE", "COMMUNITY"};
+
+    private final LoadTestOptions options;
+    private final Random random;
+    private final TransactionTemplate tx;
+
+    private final UserRepository userRepository;
+    private final ProfileRepository profileRepository;
+    private final FollowRepository followRepository;
+    private final CampaignRepository campaignRepository;
+    private final DonationRepository donationRepository;
+    private final PostRepository postRepository;
+    private final ReelRepository reelRepository;
+    private final CommentRepository commentRepository;
+    private final CampaignLedgerService ledgerService;
+    private final PasswordEncoder passwordEncoder;
+
+    public DataSeeder(ApplicationContext context, LoadTestOptions options) {
+        this.options = options;
+        this.random = new Random(options.getSeed());
+        this.tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        this.userRepository = context.getBean(UserRepository.class);
+        this.profileRepository = context.getBean(ProfileRepository.class);
+        this.followRepository = context.getBean(FollowRepository.class);
+        this.campaignRepository = context.getBean(CampaignRepository.class);
+        this.donationRepository = context.getBean(DonationRepository.class);
+        this.postRepository = context.getBean(PostRepository.class);
+        this.reelRepository = context.getBean(ReelRepository.class);
+        this.commentRepository = context.getBean(CommentRepository.class);
+        this.ledgerService = context.getBean(CampaignLedgerService.class);
+        this.passwordEncoder = context.getBean(PasswordEncoder.class);
+    }
+
+    public SeedData seed() {
+        long start = System.currentTimeMillis();
+
+        List<Profile> profiles = seedProfiles();
+        Map<Long, List<Long>> following = seedFollows(profiles);
+        Map<Long, List<String>> posts = seedPostsAndComments(profiles);
+        seedReels(profiles);
+        List<Long> campaignIds = seedCampaignsAndDonations(profiles);
+
+        log.info("Seeded {} profiles, {} posts, {} campaigns in {} ms",
+                profiles.size(), posts.values().stream().mapToInt(List::size).sum(),
+                campaignIds.size(), System.currentTimeMillis() - start);
+
+        List<SeedData.SeededUser> users = profiles.stream()
+                .map(p -> new SeedData.SeededUser(p.getId(), p.getUser().getUsername()))
+                .toList();
+        return new SeedData(users, following, posts, campaignIds);
+    }
+
+    // ===== PROFILES =====
+
+    private List<Profile> seedProfiles() {
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        List<Profile> profiles = new ArrayList<>(options.getUsers());
+
+        for (int from = 0; from < options.getUsers(); from += BATCH_SIZE) {
+            int to = Math.min(from + BATCH_SIZE, options.getUsers());
+            int batchStart = from;
+            profiles.addAll(tx.execute(status -> {
+                List<Profile> batch = new ArrayList<>(to - batchStart);
+                for (int i = batchStart; i < to; i++) {
+                    User user = new User();
+                    user.setUsername("lt_user_" + i);
+                    user.setEmail("lt_user_" + i + "@loadtest.local");
+                    user.setPassword(passwordHash);
+                    user.setRole("USER");
+                    user = userRepository.save(user);
+
+                    Profile profile = new Profile();
+                    profile.setUser(user);
+                    profile.setName("Load Test User " + i);
+                    profile.setProfilePictureUrl("https://cdn.loadtest.local/avatars/" + i + ".jpg");
+                    batch.add(profile);
+                }
+                return profileRepository.saveAll(batch);
+            }));
+        }
+        return profiles;
+    }
+
+    // ===== FOLLOWS =====
+
+    private Map<Long, List<Long>> seedFollows(List<Profile> profiles) {
+        Map<Long, List<Long>> following = new HashMap<>();
+        int perUser = Math.min(options.getFollowsPerUser(), profiles.size() - 1);
+
+        List<Follow> batch = new ArrayList<>(BATCH_SIZE);
+        for (Profile follower : profiles) {
+            Set<Long> targets = new HashSet<>();
+            while (targets.size() < perUser) {
+                Profile target = profiles.get(random.nextInt(profiles.size()));
+                if (!target.getId().equals(follower.getId()) && targets.add(target.getId())) {
+                    Follow follow = new Follow();
+                    follow.setFollower(follower);
+                    follow.setFollowing(target);
+                    batch.add(follow);
+                }
+            }
+            following.put(follower.getId(), List.copyOf(targets));
+
+            if (batch.size() >= BATCH_SIZE) {
+                saveFollows(batch);
+            }
+        }
+        saveFollows(batch);
+        return following;
+    }
+
+    private void saveFollows(List<Follow> batch) {
+        tx.executeWithoutResult(status -> followRepository.saveAll(batch));
+        batch.clear();
+    }
+
+    // ===== POSTS, REELS, COMMENTS =====
+
+    private Map<Long, List<String>> seedPostsAndComments(List<Profile> profiles) {
+        Map<Long, List<String>> postsByProfile = new HashMap<>();
+        List<Post> posts = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (Profile profile : profiles) {
+            for (int i = 0; i < options.getPostsPerUser(); i++) {
+                Post post = new Post();
+                post.setUserId(profile.getId());
+                post.setUsername(profile.getUser().getUsername());
+                post.setProfilePictureUrl(profile.getProfilePictureUrl());
+                post.setCaption("Post " + i + " by " + profile.getUser().getUsername());
+                post.setMediaUrls(List.of("https://cdn.loadtest.local/posts/" + profile.getId() + "/" + i + ".jpg"));
+                post.setTags(List.of(TAGS[random.nextInt(TAGS.length)], TAGS[random.nextInt(TAGS.length)]));
+                post.setCreatedAt(now.minusMinutes(random.nextInt(60 * 24 * 30)));
+                posts.add(post);
+            }
+        }
+        postRepository.saveAll(posts).forEach(post ->
+                postsByProfile.computeIfAbsent(post.getUserId(), id -> new ArrayList<>()).add(post.getId()));
+
+        List<Comment> comments = new ArrayList<>();
+        for (Post post : posts) {
+            for (int i = 0; i < options.getCommentsPerPost(); i++) {
+                Profile author = profiles.get(random.nextInt(profiles.size()));
+                Comment comment = new Comment();
+                comment.setUserId(author.getId());
+                comment.setUsername(author.getUser().getUsername());
+                comment.setContent("Seeded comment " + i);
+                comment.setPostId(post.getId());
+                comments.add(comment);
+            }
+            post.setCommentsCount(options.getCommentsPerPost());
+        }
+        commentRepository.saveAll(comments);
+        postRepository.saveAll(posts);
+        return postsByProfile;
+    }
+
+    private void seedReels(List<Profile> profiles) {
+        List<Reel> reels = new ArrayList<>();
+        for (Profile profile : profiles) {
+            for (int i = 0; i < options.getReelsPerUser(); i++) {
+                Reel reel = new Reel();
+                reel.setUserId(profile.getId());
+                reel.setUsername(profile.getUser().getUsername());
+                reel.setCaption("Reel " + i + " by " + profile.getUser().getUsername());
+                reel.setVideoUrl("https://cdn.loadtest.local/reels/" + profile.getId() + "/" + i + ".mp4");
+                reel.setDuration(15 + random.nextInt(45));
+                reels.add(reel);
+            }
+        }
+        reelRepository.saveAll(reels);
+    }
+
+    // ===== CAMPAIGNS, DONATIONS =====
+
+    private List<Long> seedCampaignsAndDonations(List<Profile> profiles) {
+        List<Long> campaignIds = new ArrayList<>(options.getCampaigns());
+
+        for (int c = 0; c < options.getCampaigns(); c++) {
+            Profile creator = profiles.get(random.nextInt(profiles.size()));
+            int index = c;
+            Long campaignId = tx.execute(status -> {
+                Campaign campaign = new Campaign();
+                campaign.setCreator(creator);
+                campaign.setTitle("Load test campaign " + index);
+                campaign.setDescription("Seeded campaign used by the load-test harness.");
+                campaign.setGoalAmount(new BigDecimal(10_000 + random.nextInt(90_000)));
+                campaign.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+                campaign.setStatus(Campaign.CampaignStatus.ACTIVE);
+                campaign.setStartDate(LocalDateTime.now().minusDays(5));
+                campaign.setEndDate(LocalDateTime.now().plusDays(60));
+                campaign.setBeneficiaryName("Beneficiary " + index);
+                campaign = campaignRepository.save(campaign);
+
+                List<Donation> donations = new ArrayList<>(options.getDonationsPerCampaign());
+                for (int d = 0; d < options.getDonationsPerCampaign(); d++) {
+                    Donation donation = new Donation();
+                    donation.setCampaign(campaign);
+                    donation.setDonor(profiles.get(random.nextInt(profiles.size())));
+                    donation.setAmount(new BigDecimal(5 + random.nextInt(500)));
+                    donation.setPaymentMethod("CARD");
+                    donation.setPaymentStatus(Donation.PaymentStatus.COMPLETED);
+                    donation.setTransactionId("pi_seed_" + index + "_" + d);
+                    donations.add(donation);
+                }
+                for (Donation donation : donationRepository.saveAll(donations)) {
+                    ledgerService.recordDonation(campaign.getId(), donation.getId(),
+                            donation.getAmount(), donation.getCurrency());
+                }
+                campaign.setDonorCount(donations.size());
+                return campaign.getId();
+            });
+            campaignIds.add(campaignId);
+        }
+        return campaignIds;
+    }
+}
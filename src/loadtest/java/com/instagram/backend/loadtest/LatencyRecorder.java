@@ -0,0 +1,120 @@
+package com.instagram.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms. Endpoints are keyed by method and route template
+ * (e.g. "GET /api/v1/posts/feed"), not by concrete URL, so ids do not split the stats.
+ */
+public class LatencyRecorder {
+
+    // 1 microsecond .. 60 seconds at 3 significant digits
+    private static final long MAX_LATENCY_US = TimeUnit.SECONDS.toMicros(60);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+    private volatile long recordingStartedAt;
+    private volatile long recordingStoppedAt;
+
+    public void record(String endpoint, long latencyNanos, boolean success) {
+        if (!recording) {
+            return;
+        }
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, e -> new Endpoint());
+        stats.recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_US));
+        if (!success) {
+            stats.errors.increment();
+        }
+    }
+
+    /**
+     * Ends warmup: everything recorded so far is discarded.
+     */
+    public void start() {
+        endpoints.clear();
+        recordingStartedAt = System.nanoTime();
+        recording = true;
+    }
+
+    public void stop() {
+        recording = false;
+        recordingStoppedAt = System.nanoTime();
+    }
+
+    public List<EndpointReport> report() {
+        double seconds = (recordingStoppedAt - recordingStartedAt) / 1e9;
+        List<EndpointReport> reports = new ArrayList<>();
+        new TreeMap<>(endpoints).forEach((name, stats) -> {
+            Histogram histogram = stats.recorder.getIntervalHistogram(stats.accumulated);
+            stats.accumulated = histogram;
+            reports.add(new EndpointReport(
+                    name,
+                    histogram.getTotalCount(),
+                    stats.errors.sum(),
+                    histogram.getTotalCount() / seconds,
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0
+            ));
+        });
+        return reports;
+    }
+
+    public static String format(List<EndpointReport> reports) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-52s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        for (EndpointReport r : reports) {
+            out.append(String.format("%-52s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    r.endpoint(), r.requests(), r.errors(), r.throughput(),
+                    r.p50Ms(), r.p99Ms(), r.p999Ms(), r.maxMs()));
+        }
+        return out.toString();
+    }
+
+    public static void write(Path file, LoadTestOptions options, List<EndpointReport> reports) throws IOException {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("virtualUsers", options.getVirtualUsers());
+        document.put("durationSeconds", options.getDurationSeconds());
+        document.put("virtualThreads", options.isVirtualThreads());
+        document.put("seededUsers", options.getUsers());
+        document.put("endpoints", reports);
+
+        Files.createDirectories(file.getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), document);
+    }
+
+    public record EndpointReport(
+            String endpoint,
+            long requests,
+            long errors,
+            double throughput,
+            double p50Ms,
+            double p99Ms,
+            double p999Ms,
+            double maxMs
+    ) {
+    }
+
+    private static class Endpoint {
+        private final Recorder recorder = new Recorder(1, MAX_LATENCY_US, 3);
+        private final LongAdder errors = new LongAdder();
+        private Histogram accumulated;
+    }
+}
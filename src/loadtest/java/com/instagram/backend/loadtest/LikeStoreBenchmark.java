@@ -0,0 +1,222 @@
+package com.instagram.backend.loadtest;
+
+import com.instagram.backend.support.StandInDatabases;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Updates;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write throughput of a post like in the two storage layouts, against the same database
+ * stand-ins as the load test:
+ *
+ *   cross-store:  read the post from Mongo, insert into the Postgres likes table, save the
+ *                 whole post back with likesCount + 1 (the path before content_likes)
+ *   single-store: insert into content_likes, $inc likesCount on the post (ContentLikeStore)
+ *
+ * Each worker likes with its own users, so no write collides. The Mongo stand-in is in
+ * memory, which flatters both modes equally; the gap is the Postgres round trip and the
+ * whole-document rewrite.
+ *
+ * mvn -Ploadtest verify -Dloadtest.main-class=com.instagram.backend.loadtest.LikeStoreBenchmark
+ *     -Dloadtest.args="--workers=8 --warmup=5 --duration=20 --posts=1000"
+ */
+@Slf4j
+public class LikeStoreBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int workers = Integer.parseInt(options.getOrDefault("workers", "8"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "20"));
+        int posts = Integer.parseInt(options.getOrDefault("posts", "1000"));
+
+        try (StandInDatabases databases = StandInDatabases.start(options.get("postgres-url"));
+             MongoClient mongo = MongoClients.create(databases.getMongoUri())) {
+            MongoDatabase db = mongo.getDatabase("loadtest");
+            List<ObjectId> postIds = seed(db, posts);
+            createLikesTable(databases.getJdbcUrl());
+
+            List<LatencyRecorder.EndpointReport> reports = new ArrayList<>();
+            reports.addAll(run("cross-store like", workers, warmup, duration,
+                    worker -> crossStore(db, databases.getJdbcUrl(), postIds)));
+            reports.addAll(run("single-store like", workers, warmup, duration,
+                    worker -> singleStore(db, postIds)));
+            System.out.println();
+            System.out.println(LatencyRecorder.format(reports));
+
+            try (Connection connection = connect(databases.getJdbcUrl());
+                 Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE like_store_benchmark");
+            }
+        }
+        System.exit(0);
+    }
+
+    private interface LikeWriter extends AutoCloseable {
+        void like(long userId) throws Exception;
+
+        @Override
+        default void close() throws Exception {
+        }
+    }
+
+    private interface WriterFactory {
+        LikeWriter open(int worker) throws Exception;
+    }
+
+    // Users are numbered per run so each run starts from an empty like set
+    private static final AtomicLong NEXT_USER = new AtomicLong();
+
+    private static List<LatencyRecorder.EndpointReport> run(String name, int workers, int warmup, int duration,
+                                                           WriterFactory factory) throws Exception {
+        LatencyRecorder recorder = new LatencyRecorder();
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        long stopAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmup + duration);
+        for (int i = 0; i < workers; i++) {
+            int worker = i;
+            pool.submit(() -> {
+                try (LikeWriter writer = factory.open(worker)) {
+                    while (System.nanoTime() < stopAt) {
+                        long started = System.nanoTime();
+                        boolean ok = true;
+                        try {
+                            writer.like(NEXT_USER.incrementAndGet());
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        recorder.record(name, System.nanoTime() - started, ok);
+                    }
+                } catch (Exception e) {
+                    log.error("{} worker failed", name, e);
+                }
+                return null;
+            });
+        }
+        TimeUnit.SECONDS.sleep(warmup);
+        recorder.start();
+        TimeUnit.SECONDS.sleep(duration);
+        recorder.stop();
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.MINUTES);
+        return recorder.report();
+    }
+
+    private static LikeWriter crossStore(MongoDatabase db, String jdbcUrl, List<ObjectId> postIds) throws Exception {
+        MongoCollection<Document> posts = db.getCollection("posts");
+        Connection connection = connect(jdbcUrl);
+        PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO like_store_benchmark (user_id, post_id, created_at) VALUES (?, ?, ?)");
+        return new LikeWriter() {
+            @Override
+            public void like(long userId) throws Exception {
+                ObjectId postId = pick(postIds, userId);
+                Document post = posts.find(Filters.eq("_id", postId)).first();
+                insert.setLong(1, userId);
+                insert.setString(2, postId.toHexString());
+                insert.setTimestamp(3, new Timestamp(System.currentTimeMillis()));
+                insert.executeUpdate();
+                post.put("likesCount", post.getInteger("likesCount") + 1);
+                posts.replaceOne(Filters.eq("_id", postId), post);
+            }
+
+            @Override
+            public void close() throws Exception {
+                connection.close();
+            }
+        };
+    }
+
+    private static LikeWriter singleStore(MongoDatabase db, List<ObjectId> postIds) {
+        MongoCollection<Document> posts = db.getCollection("posts");
+        MongoCollection<Document> likes = db.getCollection("content_likes");
+        return userId -> {
+            ObjectId postId = pick(postIds, userId);
+            likes.insertOne(new Document("contentId", postId.toHexString())
+                    .append("contentType", "POST")
+                    .append("userId", userId)
+                    .append("createdAt", new Date()));
+            posts.updateOne(Filters.eq("_id", postId), Updates.inc("likesCount", 1));
+        };
+    }
+
+    private static ObjectId pick(List<ObjectId> postIds, long userId) {
+        return postIds.get((int) (userId % postIds.size()));
+    }
+
+    /** Posts shaped like the seeded ones, so the cross-store rewrite moves a realistic document. */
+    private static List<ObjectId> seed(MongoDatabase db, int count) {
+        MongoCollection<Document> posts = db.getCollection("posts");
+        List<Document> documents = new ArrayList<>();
+        List<ObjectId> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ObjectId id = new ObjectId();
+            ids.add(id);
+            documents.add(new Document("_id", id)
+                    .append("userId", (long) i)
+                    .append("username", "bench_user_" + i)
+                    .append("caption", "Benchmark post " + i + " with a caption of typical length #loadtest")
+                    .append("mediaUrls", List.of("https://cdn.loadtest.local/posts/" + i + "/0.jpg"))
+                    .append("tags", List.of("loadtest", "benchmark"))
+                    .append("createdAt", new Date())
+                    .append("isPublic", true)
+                    .append("likesCount", 0)
+                    .append("commentsCount", 0)
+                    .append("sharesCount", 0));
+        }
+        posts.insertMany(documents);
+        db.getCollection("content_likes").createIndex(Indexes.ascending("contentId", "userId"),
+                new IndexOptions().name("uk_content_user").unique(true));
+        return ids;
+    }
+
+    private static void createLikesTable(String jdbcUrl) throws Exception {
+        try (Connection connection = connect(jdbcUrl);
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS like_store_benchmark");
+            // Same shape and indexes as the post side of the likes table
+            statement.execute("CREATE TABLE like_store_benchmark (id BIGSERIAL PRIMARY KEY, user_id BIGINT NOT NULL, "
+                    + "post_id VARCHAR(255), created_at TIMESTAMP NOT NULL, CONSTRAINT uk_bench_user_post UNIQUE (user_id, post_id))");
+            statement.execute("CREATE INDEX idx_bench_post_id ON like_store_benchmark (post_id)");
+            statement.execute("CREATE INDEX idx_bench_user_id ON like_store_benchmark (user_id)");
+        }
+    }
+
+    private static Connection connect(String jdbcUrl) throws Exception {
+        return DriverManager.getConnection(jdbcUrl, "postgres", "postgres");
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,155 @@
+package com.instagram.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.instagram.backend.InstagramBackendApplication;
+import com.instagram.backend.service.TracingService;
+import com.instagram.backend.support.StandInDatabases;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offline end-to-end load test: boots the application against local database stand-ins,
+ * seeds data, runs scripted user journeys over HTTP and reports latency percentiles and
+ * throughput per endpoint.
+ *
+ * Run with mvn -Ploadtest verify; see LoadTestOptions for the arguments.
+ */
+@Slf4j
+public class LoadTestHarness {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        // devtools is on the test classpath; its restarter would run main() a second time
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        try (StandInDatabases databases = StandInDatabases.start(options.getPostgresUrl());
+             ConfigurableApplicationContext context = startApplication(options, databases)) {
+
+            SeedData seed = new DataSeeder(context, options).seed();
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            String baseUrl = "http://127.0.0.1:" + port;
+            List<LatencyRecorder.EndpointReport> reports = run(options, seed, baseUrl);
+
+            String table = LatencyRecorder.format(reports);
+            System.out.println();
+            System.out.println(table);
+            Path reportFile = options.getReportDir().resolve("loadtest-report.json");
+            LatencyRecorder.write(reportFile, options, reports);
+            log.info("Load test report written to {}", reportFile.toAbsolutePath());
+            String managementUrl = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.management.port");
+            saveMetricsSnapshot(managementUrl, options.getReportDir().resolve("loadtest-metrics.txt"));
+            if (options.getTraceSampleRate() > 0) {
+                Path folded = options.getReportDir().resolve("loadtest-profile.folded");
+                Files.writeString(folded, context.getBean(TracingService.class).getFoldedStacks(null));
+                log.info("Trace profile (folded stacks) written to {}", folded.toAbsolutePath());
+            }
+        }
+        // Stand-in servers and Spring leave non-daemon threads behind
+        System.exit(0);
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestOptions options, StandInDatabases databases) {
+        // Command-line properties outrank application.properties, which has no defaults for these
+        return new SpringApplicationBuilder(InstagramBackendApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--management.server.port=0",
+                        "--spring.main.allow-bean-definition-overriding=true",
+                        "--spring.datasource.url=" + databases.getJdbcUrl(),
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=postgres",
+                        "--spring.datasource.hikari.maximum-pool-size=" + Math.max(20, options.getVirtualUsers()),
+                        "--spring.data.mongodb.uri=" + databases.getMongoUri(),
+                        "--spring.jpa.show-sql=false",
+                        "--spring.threads.virtual.enabled=" + options.isVirtualThreads(),
+                        "--stripe.api.key=",
+                        "--stripe.api.publishable-key=",
+                        "--payment.platform.fee.percentage=5.0",
+                        "--payment.gateway.fee.percentage=2.9",
+                        "--payment.gateway.fee.fixed=0.30",
+                        "--payment.currency.default=USD",
+                        "--payout.batch.enabled=false",
+                        "--loadtest.payment-latency-ms=" + options.getPaymentLatencyMs(),
+                        "--tracing.sample-rate=" + options.getTraceSampleRate(),
+                        "--notifications.delivery.log-sink.enabled=true",
+                        // Client i listens as user i modulo the user count (see NotificationListeners)
+                        "--notifications.stream.max-per-user="
+                                + Math.max(5, Math.ceilDiv(options.getSseClients(), options.getUsers())),
+                        "--app.cors.allowed-origins=*",
+                        "--logging.level.org.springframework=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.engine.jdbc.spi.SqlExceptionHelper=ERROR",
+                        "--logging.level.com.instagram.backend=WARN",
+                        "--logging.level.com.instagram.backend.loadtest=INFO",
+                        "--logging.level.org.springframework.data.mongodb=WARN",
+                        "--logging.level.org.mongodb.driver=WARN"
+                );
+    }
+
+    /**
+     * Server-side view of the same run (pool saturation, repository timers, gateway timers).
+     */
+    private static void saveMetricsSnapshot(String baseUrl, Path file) throws Exception {
+        HttpResponse<Path> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/prometheus")).build(),
+                HttpResponse.BodyHandlers.ofFile(file));
+        if (response.statusCode() == 200) {
+            log.info("Prometheus snapshot written to {}", file.toAbsolutePath());
+        } else {
+            log.warn("Prometheus snapshot failed with status {}", response.statusCode());
+        }
+    }
+
+    private static List<LatencyRecorder.EndpointReport> run(LoadTestOptions options, SeedData seed, String baseUrl)
+            throws Exception {
+        LatencyRecorder recorder = new LatencyRecorder();
+        ObjectMapper json = new ObjectMapper();
+        HttpClient http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        NotificationListeners listeners = NotificationListeners.open(http, json, baseUrl, seed, options, recorder);
+
+        // Closed model: each virtual user waits for its response before sending the next request
+        ExecutorService users = Executors.newFixedThreadPool(options.getVirtualUsers());
+        List<UserJourney> journeys = new ArrayList<>();
+        for (int i = 0; i < options.getVirtualUsers(); i++) {
+            UserJourney journey = new UserJourney(http, json, baseUrl, seed, options, recorder, options.getSeed() + i);
+            journeys.add(journey);
+            users.submit(journey);
+        }
+
+        log.info("Warming up for {}s with {} virtual users", options.getWarmupSeconds(), options.getVirtualUsers());
+        TimeUnit.SECONDS.sleep(options.getWarmupSeconds());
+
+        log.info("Measuring for {}s", options.getDurationSeconds());
+        recorder.start();
+        TimeUnit.SECONDS.sleep(options.getDurationSeconds());
+        recorder.stop();
+
+        journeys.forEach(UserJourney::stop);
+        users.shutdown();
+        if (!users.awaitTermination(60, TimeUnit.SECONDS)) {
+            users.shutdownNow();
+        }
+        listeners.close();
+        return recorder.report();
+    }
+}
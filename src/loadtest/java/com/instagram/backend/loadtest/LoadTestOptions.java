@@ -0,0 +1,99 @@
+package com.instagram.backend.loadtest;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Harness options, given as --name=value arguments. Everything has a default that finishes
+ * in a couple of minutes on a laptop.
+ */
+@Getter
+public class LoadTestOptions {
+
+    private static final Set<String> NAMES = Set.of(
+            "users", "follows-per-user", "posts-per-user", "reels-per-user", "comments-per-post",
+            "campaigns", "donations-per-campaign", "virtual-users", "warmup", "duration", "feed-pages",
+            "think-time-ms", "payment-latency-ms", "sse-clients", "seed", "virtual-threads", "trace-sample-rate", "postgres-url", "report-dir"
+    );
+
+    // ===== SEED SCALE =====
+    private final int users;
+    private final int followsPerUser;
+    private final int postsPerUser;
+    private final int reelsPerUser;
+    private final int commentsPerPost;
+    private final int campaigns;
+    private final int donationsPerCampaign;
+
+    // ===== LOAD =====
+    private final int virtualUsers;
+    private final int warmupSeconds;
+    private final int durationSeconds;
+    private final int feedPages;
+    private final int thinkTimeMs;
+    private final int paymentLatencyMs;
+    private final int sseClients;
+    private final long seed;
+
+    // ===== ENVIRONMENT =====
+    private final boolean virtualThreads;
+    private final double traceSampleRate;
+    private final String postgresUrl;
+    private final Path reportDir;
+
+    private LoadTestOptions(Map<String, String> args) {
+        users = intArg(args, "users", 200);
+        followsPerUser = intArg(args, "follows-per-user", 20);
+        postsPerUser = intArg(args, "posts-per-user", 5);
+        reelsPerUser = intArg(args, "reels-per-user", 1);
+        commentsPerPost = intArg(args, "comments-per-post", 3);
+        campaigns = intArg(args, "campaigns", 20);
+        donationsPerCampaign = intArg(args, "donations-per-campaign", 25);
+
+        virtualUsers = intArg(args, "virtual-users", 32);
+        warmupSeconds = intArg(args, "warmup", 15);
+        durationSeconds = intArg(args, "duration", 60);
+        feedPages = intArg(args, "feed-pages", 3);
+        thinkTimeMs = intArg(args, "think-time-ms", 0);
+        paymentLatencyMs = intArg(args, "payment-latency-ms", 150);
+        // Idle notification streams held open during the run (0 = none)
+        sseClients = intArg(args, "sse-clients", 50);
+        seed = Long.parseLong(args.getOrDefault("seed", "42"));
+
+        virtualThreads = Boolean.parseBoolean(args.getOrDefault("virtual-threads", "false"));
+        // In-process tracing; a per-layer profile of the run is written next to the report
+        traceSampleRate = Double.parseDouble(args.getOrDefault("trace-sample-rate", "0"));
+        // Use an existing server instead of the embedded one, e.g. when running as root
+        postgresUrl = args.get("postgres-url");
+        reportDir = Path.of(args.getOrDefault("report-dir", "target/loadtest"));
+
+        if (users < 2 || virtualUsers < 1 || durationSeconds < 1 || sseClients < 0) {
+            throw new IllegalArgumentException("users must be >= 2, virtual-users and duration >= 1, sse-clients >= 0");
+        }
+    }
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            String name = eq < 0 ? arg.substring(2) : arg.substring(2, eq);
+            if (!NAMES.contains(name)) {
+                throw new IllegalArgumentException("Unknown option --" + name + ", expected one of " + NAMES);
+            }
+            values.put(name, eq < 0 ? "true" : arg.substring(eq + 1));
+        }
+        return new LoadTestOptions(values);
+    }
+
+    private static int intArg(Map<String, String> args, String name, int defaultValue) {
+        String value = args.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+}
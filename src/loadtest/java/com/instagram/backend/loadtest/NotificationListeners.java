@@ -0,0 +1,167 @@
+package com.instagram.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Idle clients holding notification event streams open while the journeys run, the way
+ * browsers with the app in a background tab would. Their notifications are created by
+ * the journeys' likes and comments; each one received is recorded as delivery latency,
+ * measured from the notification's createdAt to its arrival on the stream.
+ *
+ * Client i listens as seeded user i modulo the user count.
+ */
+@Slf4j
+public class NotificationListeners implements AutoCloseable {
+
+    static final String DELIVERY_ENDPOINT = "SSE notification delivery";
+    private static final int LOGIN_CONCURRENCY = 8;
+
+    private final HttpClient http;
+    private final ObjectMapper json;
+    private final String baseUrl;
+    private final LatencyRecorder recorder;
+    private final ExecutorService readers = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<Stream<String>> streams = new ArrayList<>();
+    private final AtomicInteger connected = new AtomicInteger();
+    private final AtomicInteger received = new AtomicInteger();
+
+    private NotificationListeners(HttpClient http, ObjectMapper json, String baseUrl, LatencyRecorder recorder) {
+        this.http = http;
+        this.json = json;
+        this.baseUrl = baseUrl;
+        this.recorder = recorder;
+    }
+
+    public static NotificationListeners open(HttpClient http, ObjectMapper json, String baseUrl, SeedData seed,
+                                             LoadTestOptions options, LatencyRecorder recorder) throws Exception {
+        NotificationListeners listeners = new NotificationListeners(http, json, baseUrl, recorder);
+        int clients = options.getSseClients();
+        if (clients == 0) {
+            return listeners;
+        }
+
+        // Log each listening user in once, a few at a time: BCrypt makes logins slow, and each
+        // one holds a pooled database connection while it hashes
+        List<SeedData.SeededUser> users = seed.users().subList(0, Math.min(clients, seed.users().size()));
+        try (ExecutorService logins = Executors.newFixedThreadPool(LOGIN_CONCURRENCY)) {
+            List<CompletableFuture<String>> tokens = users.stream()
+                    .map(user -> CompletableFuture.supplyAsync(() -> listeners.login(user), logins))
+                    .toList();
+
+            for (int i = 0; i < clients; i++) {
+                String token = tokens.get(i % users.size()).join();
+                if (token != null) {
+                    listeners.connect(users.get(i % users.size()).profileId(), token);
+                }
+            }
+        }
+        log.info("{} of {} notification streams connected", listeners.connected.get(), clients);
+        return listeners;
+    }
+
+    @Override
+    public void close() {
+        log.info("Notification streams received {} notifications", received.get());
+        synchronized (streams) {
+            streams.forEach(Stream::close);
+        }
+        readers.shutdownNow();
+    }
+
+    private String login(SeedData.SeededUser user) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/auth/login"))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(json.writeValueAsBytes(
+                            Map.of("username", user.username(), "password", DataSeeder.PASSWORD))))
+                    .build();
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                log.warn("Listener login for {} failed with status {}", user.username(), response.statusCode());
+                return null;
+            }
+            return json.readTree(response.body()).get("access_token").asText();
+        } catch (Exception e) {
+            log.warn("Listener login failed for {}", user.username(), e);
+            return null;
+        }
+    }
+
+    private void connect(Long profileId, String token) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create(baseUrl + "/api/v1/notifications/user/" + profileId + "/stream"))
+                .header("Accept", "text/event-stream")
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        HttpResponse<Stream<String>> response = http.send(request, HttpResponse.BodyHandlers.ofLines());
+        if (response.statusCode() != 200) {
+            log.warn("Notification stream for profile {} refused with status {}", profileId, response.statusCode());
+            response.body().close();
+            return;
+        }
+        synchronized (streams) {
+            streams.add(response.body());
+        }
+        connected.incrementAndGet();
+        readers.submit(() -> read(response.body()));
+    }
+
+    /** Reads events until the stream closes: "event:" names the event, "data:" carries it. */
+    private void read(Stream<String> lines) {
+        String event = null;
+        StringBuilder data = new StringBuilder();
+        try {
+            Iterator<String> iterator = lines.iterator();
+            while (iterator.hasNext()) {
+                String line = iterator.next();
+                if (line.isEmpty()) {
+                    if ("notification".equals(event)) {
+                        delivered(data.toString());
+                    }
+                    event = null;
+                    data.setLength(0);
+                } else if (line.startsWith("event:")) {
+                    event = line.substring(6).trim();
+                } else if (line.startsWith("data:")) {
+                    data.append(line.substring(5));
+                }
+            }
+        } catch (Exception e) {
+            // Closed at the end of the run
+            log.debug("Notification stream ended", e);
+        }
+    }
+
+    private void delivered(String data) {
+        try {
+            JsonNode notification = json.readTree(data);
+            // Server and harness share a JVM, so the clocks agree
+            LocalDateTime createdAt = LocalDateTime.parse(notification.get("createdAt").asText());
+            long latencyNanos = Duration.between(createdAt, LocalDateTime.now()).toNanos();
+            recorder.record(DELIVERY_ENDPOINT, Math.max(0, latencyNanos), true);
+            received.incrementAndGet();
+        } catch (Exception e) {
+            recorder.record(DELIVERY_ENDPOINT, 0, false);
+        }
+    }
+}
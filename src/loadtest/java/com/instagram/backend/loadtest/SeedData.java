@@ -0,0 +1,18 @@
+package com.instagram.backend.loadtest;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ids produced by the seeder that the journeys need to build realistic requests.
+ */
+public record SeedData(
+        List<SeededUser> users,
+        Map<Long, List<Long>> followingByProfile,
+        Map<Long, List<String>> postsByProfile,
+        List<Long> activeCampaignIds
+) {
+
+    public record SeededUser(Long profileId, String username) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.instagram.backend.loadtest;
+
+import com.instagram.backend.model.entity.BankAccount;
+import com.instagram.backend.service.PaymentService;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Replaces Stripe with a gateway that always succeeds after a configurable delay, so
+ * donation latency includes a realistic remote call without leaving the box. Method
+ * annotations are not inherited, so the gateway timers are repeated on the overrides.
+ */
+@Configuration
+@Slf4j
+public class SimulatedPaymentConfig {
+
+    @Bean
+    @Primary
+    public PaymentService simulatedPaymentService(@Value("${loadtest.payment-latency-ms:150}") int latencyMs) {
+        log.info("Using simulated payment gateway with ~{}ms latency", latencyMs);
+        return new SimulatedPaymentService(latencyMs);
+    }
+
+    static class SimulatedPaymentService extends PaymentService {
+
+        private final int latencyMs;
+
+        SimulatedPaymentService(int latencyMs) {
+            this.latencyMs = latencyMs;
+        }
+
+        @Override
+        @Timed(value = "payment.gateway", extraTags = {"operation", "charge"}, histogram = true)
+        public String processPayment(BigDecimal amount, String currency, String paymentMethod,
+                                     Map<String, String> paymentDetails) throws Exception {
+            simulateGateway();
+            return "pi_sim_" + UUID.randomUUID();
+        }
+
+        @Override
+        @Timed(value = "payment.gateway", extraTags = {"operation", "refund"}, histogram = true)
+        public String processRefund(String transactionId, BigDecimal amount) throws Exception {
+            simulateGateway();
+            return "re_sim_" + UUID.randomUUID();
+        }
+
+        @Override
+        @Timed(value = "payment.gateway", extraTags = {"operation", "transfer"}, histogram = true)
+        public String processBankTransfer(BigDecimal amount, String currency,
+                                          BankAccount bankAccount,
+                                          String idempotencyKey) throws Exception {
+            simulateGateway();
+            return "tr_sim_" + idempotencyKey;
+        }
+
+        private void simulateGateway() throws InterruptedException {
+            if (latencyMs > 0) {
+                // +/- 50% jitter so requests do not move in lockstep
+                Thread.sleep(latencyMs / 2 + ThreadLocalRandom.current().nextInt(latencyMs + 1));
+            }
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.instagram.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * One scripted session per iteration: log in, scroll the feed, like and comment on a post
+ * from someone followed, donate to a campaign and read notifications. Each virtual user
+ * runs sessions back to back until the harness stops it.
+ */
+@Slf4j
+public class UserJourney implements Runnable {
+
+    private final HttpClient http;
+    private final ObjectMapper json;
+    private final String baseUrl;
+    private final SeedData seed;
+    private final LoadTestOptions options;
+    private final LatencyRecorder recorder;
+    private final Random random;
+    // Last ETag seen per path, replayed as If-None-Match the way a polling client would
+    private final Map<String, String> etags = new HashMap<>();
+
+    private volatile boolean running = true;
+
+    public UserJourney(HttpClient http, ObjectMapper json, String baseUrl, SeedData seed,
+                       LoadTestOptions options, LatencyRecorder recorder, long randomSeed) {
+        this.http = http;
+        this.json = json;
+        this.baseUrl = baseUrl;
+        this.seed = seed;
+        this.options = options;
+        this.recorder = recorder;
+        this.random = new Random(randomSeed);
+    }
+
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                session(seed.users().get(random.nextInt(seed.users().size())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // Failed requests are already counted; start a fresh session
+                log.debug("Session aborted", e);
+            }
+        }
+    }
+
+    private void session(SeedData.SeededUser user) throws Exception {
+        JsonNode login = call("POST /api/v1/auth/login", "POST", "/api/v1/auth/login", null,
+                Map.of("username", user.username(), "password", DataSeeder.PASSWORD));
+        if (login == null) {
+            return;
+        }
+        String token = login.get("access_token").asText();
+        Long profileId = user.profileId();
+        List<Long> following = seed.followingByProfile().getOrDefault(profileId, List.of());
+
+        // Feed scroll
+        if (!following.isEmpty()) {
+            String ids = following.stream().map(String::valueOf).collect(Collectors.joining(","));
+            for (int page = 0; page < options.getFeedPages() && running; page++) {
+                call("GET /api/v1/posts/feed", "GET",
+                        "/api/v1/posts/feed?userId=" + profileId + "&followingIds=" + ids + "&page=" + page + "&size=20",
+                        token, null);
+                think();
+            }
+        }
+
+        // Like and comment on a followed user's post
+        String postId = pickFollowedPost(following);
+        if (postId != null) {
+            call("POST /api/v1/likes", "POST", "/api/v1/likes", token,
+                    Map.of("userId", profileId, "postId", postId));
+            think();
+            call("GET /api/v1/comments/post/{postId}", "GET", "/api/v1/comments/post/" + postId, token, null);
+            call("POST /api/v1/comments", "POST", "/api/v1/comments", token,
+                    Map.of("userId", profileId, "postId", postId, "content", "Load test comment"));
+            think();
+        }
+
+        // Donate
+        if (!seed.activeCampaignIds().isEmpty()) {
+            Long campaignId = seed.activeCampaignIds().get(random.nextInt(seed.activeCampaignIds().size()));
+            revalidate("GET /api/v1/campaigns/{campaignId}", "/api/v1/campaigns/" + campaignId, token);
+            call("POST /api/v1/donations", "POST", "/api/v1/donations", token, Map.of(
+                    "campaignId", campaignId,
+                    "donorId", profileId,
+                    "amount", 5 + random.nextInt(100),
+                    "currency", "USD",
+                    "isAnonymous", random.nextInt(10) == 0,
+                    "paymentMethod", "CARD"));
+            think();
+        }
+
+        // Notifications
+        call("GET /api/v1/notifications/user/{userId}/unread/count", "GET",
+                "/api/v1/notifications/user/" + profileId + "/unread/count", token, null);
+        call("GET /api/v1/notifications/user/{userId}", "GET",
+                "/api/v1/notifications/user/" + profileId + "?page=0&size=20", token, null);
+    }
+
+    private String pickFollowedPost(List<Long> following) {
+        List<Long> candidates = new ArrayList<>(following);
+        while (!candidates.isEmpty()) {
+            Long author = candidates.remove(random.nextInt(candidates.size()));
+            List<String> posts = seed.postsByProfile().get(author);
+            if (posts != null && !posts.isEmpty()) {
+                return posts.get(random.nextInt(posts.size()));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Issues one request and records its latency under the endpoint template.
+     * Returns the parsed body on 2xx, otherwise null.
+     */
+    private JsonNode call(String endpoint, String method, String path, String token, Object body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(json.writeValueAsBytes(body)));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            boolean success = response.statusCode() / 100 == 2;
+            recorder.record(endpoint, System.nanoTime() - start, success);
+            return success && response.body().length > 0 ? json.readTree(response.body()) : null;
+        } catch (java.io.IOException e) {
+            recorder.record(endpoint, System.nanoTime() - start, false);
+            return null;
+        }
+    }
+
+    /**
+     * Conditional GET with the ETag from the previous visit; a 304 counts as success.
+     */
+    private void revalidate(String endpoint, String path, String token) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json")
+                .header("Authorization", "Bearer " + token)
+                .GET();
+        String etag = etags.get(path);
+        if (etag != null) {
+            request.header("If-None-Match", etag);
+        }
+
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            boolean notModified = response.statusCode() == 304;
+            recorder.record(notModified ? endpoint + " (304)" : endpoint, System.nanoTime() - start,
+                    notModified || response.statusCode() / 100 == 2);
+            response.headers().firstValue("ETag").ifPresent(value -> etags.put(path, value));
+        } catch (java.io.IOException e) {
+            recorder.record(endpoint, System.nanoTime() - start, false);
+        }
+    }
+
+    private void think() throws InterruptedException {
+        if (options.getThinkTimeMs() > 0) {
+            Thread.sleep(options.getThinkTimeMs());
+        }
+    }
+}
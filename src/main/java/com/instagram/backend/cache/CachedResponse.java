@@ -0,0 +1,39 @@
+package com.instagram.backend.cache;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A serialized response body plus the headers needed to replay it.
+ * {@code createdAtMillis} is when the request that produced it started, which is what
+ * tag invalidation is compared against.
+ */
+public record CachedResponse(String contentType, String etag, long createdAtMillis, byte[] body) {
+
+    byte[] encode() {
+        byte[] type = contentType.getBytes(StandardCharsets.UTF_8);
+        byte[] tag = etag.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer out = ByteBuffer.allocate(Long.BYTES + 2 * Integer.BYTES + type.length + tag.length + body.length);
+        out.putLong(createdAtMillis);
+        out.putInt(type.length).put(type);
+        out.putInt(tag.length).put(tag);
+        out.put(body);
+        return out.array();
+    }
+
+    static CachedResponse decode(byte[] bytes) {
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        long createdAt = in.getLong();
+        String type = readString(in);
+        String tag = readString(in);
+        byte[] body = new byte[in.remaining()];
+        in.get(body);
+        return new CachedResponse(type, tag, createdAt, body);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] value = new byte[in.getInt()];
+        in.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,91 @@
+package com.instagram.backend.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Two-tier read-through cache for Mongo documents.
+ *
+ * L1 is a bounded Caffeine cache (W-TinyLFU admission) holding live objects. L2 is an
+ * optional {@link OffHeapStore} holding the JSON form, so documents pushed out of L1 can be
+ * rebuilt without a database round trip. Concurrent misses for the same id share one load:
+ * Caffeine runs the loader once per key while other callers wait for its result.
+ *
+ * Cached instances are shared between threads and must be treated as read-only. Code that
+ * modifies a document loads it from the repository, saves it, then calls {@link #evict}.
+ */
+@Slf4j
+public class DocumentCache<T> {
+
+    private final String name;
+    private final Class<T> type;
+    private final Cache<String, T> heap;
+    private final OffHeapStore offHeap;
+    private final ObjectMapper objectMapper;
+    private final long ttlMillis;
+
+    public DocumentCache(String name, Class<T> type, Cache<String, T> heap, Duration ttl,
+                         OffHeapStore offHeap, ObjectMapper objectMapper) {
+        this.name = name;
+        this.type = type;
+        this.heap = heap;
+        this.offHeap = offHeap;
+        this.objectMapper = objectMapper;
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    public Optional<T> get(String id, Function<String, Optional<T>> loader) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        // Missing documents are not cached, so a later insert is visible immediately
+        return Optional.ofNullable(heap.get(id, key -> load(key, loader)));
+    }
+
+    public void evict(String id) {
+        if (id == null) {
+            return;
+        }
+        heap.invalidate(id);
+        if (offHeap != null) {
+            offHeap.remove(offHeapKey(id));
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private T load(String id, Function<String, Optional<T>> loader) {
+        if (offHeap != null) {
+            byte[] bytes = offHeap.get(offHeapKey(id));
+            if (bytes != null) {
+                try {
+                    return objectMapper.readValue(bytes, type);
+                } catch (IOException e) {
+                    log.warn("Dropping unreadable off-heap entry {} from {} cache", id, name, e);
+                    offHeap.remove(offHeapKey(id));
+                }
+            }
+        }
+        T document = loader.apply(id).orElse(null);
+        if (document != null && offHeap != null) {
+            try {
+                offHeap.put(offHeapKey(id), objectMapper.writeValueAsBytes(document), ttlMillis);
+            } catch (IOException e) {
+                log.warn("Could not serialize {} {} for the off-heap tier", name, id, e);
+            }
+        }
+        return document;
+    }
+
+    private String offHeapKey(String id) {
+        return name + ':' + id;
+    }
+}
@@ -0,0 +1,102 @@
+package com.instagram.backend.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Negative cache in front of an existence query: when the filter says a key is absent the
+ * query is skipped, otherwise it runs as before. The database stays the source of truth,
+ * backed by a unique constraint, so a key the filter has not seen yet (written by another
+ * instance, or before warm-up finished) costs at worst a constraint violation, never a
+ * duplicate row.
+ *
+ * Until the first build completes every check goes to the database. Bloom filters cannot
+ * drop keys, so the filter is rotated: a fresh one is built from the table while writes go
+ * to both, then swapped in. That forgets deleted rows and resizes to the current count.
+ */
+public class MembershipFilter {
+
+    private final long minimumInsertions;
+    private final double falsePositiveRate;
+    private volatile ScalableBloomFilter current;
+    private volatile ScalableBloomFilter next;
+
+    private final Counter skipped;
+    private final Counter confirmed;
+    private final Counter falsePositives;
+
+    public MembershipFilter(String name, long minimumInsertions, double falsePositiveRate,
+                            MeterRegistry meterRegistry) {
+        this.minimumInsertions = minimumInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+
+        skipped = Counter.builder("membership.filter.checks").tag("filter", name)
+                .tag("result", "negative").register(meterRegistry);
+        confirmed = Counter.builder("membership.filter.checks").tag("filter", name)
+                .tag("result", "true_positive").register(meterRegistry);
+        falsePositives = Counter.builder("membership.filter.checks").tag("filter", name)
+                .tag("result", "false_positive").register(meterRegistry);
+        Gauge.builder("membership.filter.bytes", this, f -> f.current != null ? f.current.sizeInBytes() : 0)
+                .tag("filter", name).baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("membership.filter.keys", this, f -> f.current != null ? f.current.approximateCount() : 0)
+                .tag("filter", name).register(meterRegistry);
+    }
+
+    /**
+     * Answers from the filter when the key is definitely absent, otherwise from the database.
+     */
+    public boolean exists(String key, BooleanSupplier database) {
+        ScalableBloomFilter filter = current;
+        if (filter != null && !filter.mightContain(key)) {
+            skipped.increment();
+            return false;
+        }
+        boolean exists = database.getAsBoolean();
+        if (filter != null) {
+            (exists ? confirmed : falsePositives).increment();
+        }
+        return exists;
+    }
+
+    /**
+     * Call when a row is written, before and again after its commit: the second call covers
+     * a rebuild whose snapshot started between the two.
+     */
+    public void add(String key) {
+        // next before current: a rebuild publishes current before clearing next, so the key
+        // always lands in whichever filter survives the swap
+        ScalableBloomFilter building = next;
+        ScalableBloomFilter filter = current;
+        if (building != null) {
+            building.put(key);
+        }
+        if (filter != null) {
+            filter.put(key);
+        }
+    }
+
+    /** Starts a rebuild sized for the given count; keys added from now on go to it as well. */
+    public ScalableBloomFilter beginRebuild(long expectedCount) {
+        // Headroom so the new filter does not have to grow until well after the next rotation
+        ScalableBloomFilter fresh = new ScalableBloomFilter(
+                Math.max(minimumInsertions, expectedCount + expectedCount / 2), falsePositiveRate);
+        next = fresh;
+        return fresh;
+    }
+
+    public void completeRebuild(ScalableBloomFilter fresh) {
+        current = fresh;
+        next = null;
+    }
+
+    public void abortRebuild() {
+        next = null;
+    }
+
+    public boolean isReady() {
+        return current != null;
+    }
+}
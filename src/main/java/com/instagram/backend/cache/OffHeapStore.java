@@ -0,0 +1,156 @@
+package com.instagram.backend.cache;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Byte store backed by a single direct buffer, so cached payloads live outside the Java heap
+ * and add nothing to GC work. Values are appended to a ring log; when the write position
+ * reaches space still held by older values they are evicted in insertion order (FIFO).
+ * Removed, replaced or expired values keep their space until the ring comes around to them.
+ *
+ * Reads copy the bytes out under a shared lock; writes take the exclusive lock.
+ */
+public class OffHeapStore {
+
+    private final ByteBuffer buffer;
+    private final int capacity;
+    private final Map<String, Slot> index = new HashMap<>();
+    private final ArrayDeque<Slot> log = new ArrayDeque<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int writePosition;
+    private long usedBytes;
+
+    private record Slot(String key, int offset, int length, long expiresAtMillis) {
+    }
+
+    public OffHeapStore(int capacityBytes) {
+        if (capacityBytes <= 0) {
+            throw new IllegalArgumentException("Off-heap capacity must be positive");
+        }
+        this.capacity = capacityBytes;
+        this.buffer = ByteBuffer.allocateDirect(capacityBytes);
+    }
+
+    public byte[] get(String key) {
+        lock.readLock().lock();
+        try {
+            Slot slot = index.get(key);
+            if (slot == null || slot.expiresAtMillis() < System.currentTimeMillis()) {
+                return null;
+            }
+            byte[] value = new byte[slot.length()];
+            buffer.get(slot.offset(), value);
+            return value;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean put(String key, byte[] value) {
+        return put(key, value, Long.MAX_VALUE);
+    }
+
+    /**
+     * Stores the value until the given time-to-live passes, evicting the oldest entries as
+     * needed. Returns false when the value is larger than the whole store.
+     */
+    public boolean put(String key, byte[] value, long ttlMillis) {
+        long now = System.currentTimeMillis();
+        long expiresAt = ttlMillis >= Long.MAX_VALUE - now ? Long.MAX_VALUE : now + ttlMillis;
+        int length = value.length;
+        if (length == 0 || length > capacity) {
+            remove(key);
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            Slot previous = index.remove(key);
+            if (previous != null) {
+                usedBytes -= previous.length();
+            }
+            if (writePosition + length > capacity) {
+                // Not enough room before the end: drop what is left of the previous lap and wrap
+                while (!log.isEmpty() && log.peekFirst().offset() >= writePosition) {
+                    evictOldest();
+                }
+                writePosition = 0;
+            }
+            int end = writePosition + length;
+            while (!log.isEmpty()
+                    && log.peekFirst().offset() >= writePosition
+                    && log.peekFirst().offset() < end) {
+                evictOldest();
+            }
+            buffer.put(writePosition, value);
+            Slot slot = new Slot(key, writePosition, length, expiresAt);
+            index.put(key, slot);
+            log.addLast(slot);
+            usedBytes += length;
+            writePosition = end;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String key) {
+        lock.writeLock().lock();
+        try {
+            Slot slot = index.remove(key);
+            if (slot != null) {
+                usedBytes -= slot.length();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            index.clear();
+            log.clear();
+            writePosition = 0;
+            usedBytes = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Bytes held by live entries (excludes space of removed values not yet reclaimed). */
+    public long usedBytes() {
+        lock.readLock().lock();
+        try {
+            return usedBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    private void evictOldest() {
+        Slot oldest = log.pollFirst();
+        // The key may have been replaced or removed since this slot was written
+        if (oldest != null && index.get(oldest.key()) == oldest) {
+            index.remove(oldest.key());
+            usedBytes -= oldest.length();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.instagram.backend.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.StringJoiner;
+
+/**
+ * Version of a single resource representation, built from a cheap probe (a projection query
+ * or a cached document) rather than the full response. The ETag is weak because it names a
+ * semantic version of the representation, not its exact bytes.
+ *
+ * Controllers check {@link #matches} before building the body, so a 304 costs one probe.
+ */
+public record ResourceVersion(String etag) {
+
+    /**
+     * Every input that changes the representation must be among the parts: timestamps,
+     * counters, revision columns and, for personalized fields, the viewer id.
+     */
+    public static ResourceVersion of(String type, Object id, Object... parts) {
+        StringJoiner token = new StringJoiner(".", "W/\"" + type + "-" + id + "-", "\"");
+        for (Object part : parts) {
+            token.add(encode(part));
+        }
+        return new ResourceVersion(token.toString());
+    }
+
+    /** True when an If-None-Match header on the request lists this version. */
+    public boolean matches(WebRequest request) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if ("*".equals(trimmed) || opaque.equals(opaque(trimmed))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // If-None-Match uses weak comparison: W/ prefixes are ignored
+    private static String opaque(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private static String encode(Object part) {
+        if (part == null) {
+            return "-";
+        }
+        if (part instanceof LocalDateTime time) {
+            long micros = time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+            return Long.toString(micros, 36);
+        }
+        if (part instanceof Number number) {
+            return Long.toString(number.longValue(), 36);
+        }
+        return part.toString();
+    }
+}
@@ -0,0 +1,121 @@
+package com.instagram.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.instagram.backend.utils.TransactionUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Off-heap store of serialized JSON responses for public read endpoints, filled and served
+ * by {@link ResponseCacheFilter}.
+ *
+ * Entries expire after the TTL. Services call {@link #invalidate} with a tag (for example a
+ * campaign id) when data behind a cached response changes. Instead of tracking which keys
+ * carry a tag, the time of the last invalidation is kept per tag and any entry produced
+ * by a request that started before it is treated as a miss. Tag timestamps only need to
+ * outlive the TTL, so that map stays bounded as well.
+ */
+@Component
+public class ResponseCache {
+
+    public static final String CAMPAIGNS_TAG = "campaigns";
+
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final OffHeapStore store;
+    private final Cache<String, Long> invalidatedAt;
+    private final Counter hits;
+    private final Counter misses;
+
+    public ResponseCache(
+            @Value("${response-cache.enabled:true}") boolean enabled,
+            @Value("${response-cache.ttl-seconds:30}") long ttlSeconds,
+            @Value("${response-cache.size-mb:32}") int sizeMb,
+            MeterRegistry meterRegistry
+    ) {
+        this.enabled = enabled;
+        this.ttlMillis = Duration.ofSeconds(ttlSeconds).toMillis();
+        this.store = enabled ? new OffHeapStore(Math.multiplyExact(sizeMb, 1024 * 1024)) : null;
+        this.invalidatedAt = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .build();
+        this.hits = Counter.builder("cache.gets").tag("cache", "responses").tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", "responses").tag("result", "miss")
+                .register(meterRegistry);
+        if (store != null) {
+            Gauge.builder("cache.offheap.entries", store, OffHeapStore::size)
+                    .tag("cache", "responses")
+                    .register(meterRegistry);
+            Gauge.builder("cache.offheap.used", store, OffHeapStore::usedBytes)
+                    .tag("cache", "responses")
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+        }
+    }
+
+    public static String campaignTag(Long campaignId) {
+        return "campaign:" + campaignId;
+    }
+
+    public static String postCommentsTag(String postId) {
+        return "post-comments:" + postId;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public CachedResponse get(String key, Collection<String> tags) {
+        byte[] bytes = store.get(key);
+        CachedResponse response = bytes != null ? CachedResponse.decode(bytes) : null;
+        if (response == null || isInvalidated(response, tags)) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return response;
+    }
+
+    public void put(String key, Collection<String> tags, CachedResponse response) {
+        // An invalidation may have landed while the response was being built
+        if (!isInvalidated(response, tags)) {
+            store.put(key, response.encode(), ttlMillis);
+        }
+    }
+
+    /**
+     * Inside a transaction the invalidation is deferred until commit, so a request that
+     * starts in between cannot cache the old rows under a fresh timestamp.
+     */
+    public void invalidate(String... tags) {
+        if (!enabled) {
+            return;
+        }
+        TransactionUtil.afterCommit(() -> markInvalidated(tags));
+    }
+
+    private void markInvalidated(String[] tags) {
+        long now = System.currentTimeMillis();
+        for (String tag : tags) {
+            invalidatedAt.put(tag, now);
+        }
+    }
+
+    private boolean isInvalidated(CachedResponse response, Collection<String> tags) {
+        for (String tag : tags) {
+            Long at = invalidatedAt.getIfPresent(tag);
+            if (at != null && at >= response.createdAtMillis()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
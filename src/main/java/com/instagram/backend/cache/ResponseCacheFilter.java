@@ -0,0 +1,149 @@
+package com.instagram.backend.cache;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Serves GET requests for public, non-personalized endpoints from {@link ResponseCache}.
+ * Hits are written to the servlet output stream without reaching a controller or the JSON
+ * serializer. Every response on these routes carries an ETag, and a matching If-None-Match
+ * gets a 304 with no body.
+ *
+ * Runs after the security chain (default filter order), so access rules and CORS headers
+ * still apply to hits.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final String ROUTE_ATTRIBUTE = ResponseCacheFilter.class.getName() + ".route";
+
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+
+    /**
+     * Cached routes and the tags that invalidate them. A request carrying one of the
+     * bypass parameters is personalized (e.g. "liked" flags) and is never cached.
+     */
+    private static final List<Route> ROUTES = List.of(
+            new Route("/api/v1/campaigns/active",
+                    vars -> List.of(ResponseCache.CAMPAIGNS_TAG), "userId"),
+            new Route("/api/v1/campaigns/category/{category}",
+                    vars -> List.of(ResponseCache.CAMPAIGNS_TAG), "userId"),
+            new Route("/api/v1/campaigns/{campaignId}/progress",
+                    vars -> List.of(ResponseCache.campaignTag(Long.valueOf(vars.get("campaignId"))))),
+            new Route("/api/v1/comments/post/{postId}",
+                    vars -> List.of(ResponseCache.postCommentsTag(vars.get("postId")))),
+            new Route("/api/v1/comments/post/{postId}/threads",
+                    vars -> List.of(ResponseCache.postCommentsTag(vars.get("postId")))),
+            // Search results span every collection; they are bounded by the TTL alone
+            new Route("/api/v1/search", vars -> List.of())
+    );
+
+    private final ResponseCache responseCache;
+
+    private record Route(String pattern, Function<Map<String, String>, List<String>> tags, String... bypassParams) {
+
+        boolean matches(HttpServletRequest request) {
+            if (!MATCHER.match(pattern, request.getRequestURI())) {
+                return false;
+            }
+            return Arrays.stream(bypassParams).noneMatch(param -> request.getParameter(param) != null);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!responseCache.isEnabled() || !"GET".equals(request.getMethod())) {
+            return true;
+        }
+        for (Route route : ROUTES) {
+            if (route.matches(request)) {
+                request.setAttribute(ROUTE_ATTRIBUTE, route);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Route route = (Route) request.getAttribute(ROUTE_ATTRIBUTE);
+        List<String> tags;
+        try {
+            tags = route.tags().apply(MATCHER.extractUriTemplateVariables(route.pattern(), request.getRequestURI()));
+        } catch (NumberFormatException e) {
+            // Let the controller reject the malformed path variable
+            chain.doFilter(request, response);
+            return;
+        }
+        String key = cacheKey(request);
+
+        CachedResponse cached = responseCache.get(key, tags);
+        if (cached != null) {
+            // Keep the route template on http.server.requests for requests that skip the dispatcher
+            ServerHttpObservationFilter.findObservationContext(request)
+                    .ifPresent(context -> context.setPathPattern(route.pattern()));
+            response.setHeader("X-Cache", "HIT");
+            if (new ServletWebRequest(request, response).checkNotModified(cached.etag())) {
+                return;
+            }
+            response.setContentType(cached.contentType());
+            response.setContentLength(cached.body().length);
+            response.getOutputStream().write(cached.body());
+            return;
+        }
+
+        long startedAt = System.currentTimeMillis();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+
+        byte[] body = wrapper.getContentAsByteArray();
+        String contentType = wrapper.getContentType();
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK || contentType == null
+                || !MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType))) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        String etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+        responseCache.put(key, tags, new CachedResponse(contentType, etag, startedAt, body));
+        response.setHeader("X-Cache", "MISS");
+        // Adds the ETag header, or turns the response into a 304 and drops the buffered body
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    /** Path plus query parameters in a stable order, so parameter order does not split entries. */
+    private static String cacheKey(HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(request.getRequestURI());
+        char separator = '?';
+        for (Map.Entry<String, String[]> param : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            for (String value : param.getValue()) {
+                key.append(separator).append(param.getKey()).append('=').append(value);
+                separator = '&';
+            }
+        }
+        return key.toString();
+    }
+}
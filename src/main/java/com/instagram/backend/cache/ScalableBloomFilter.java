@@ -0,0 +1,158 @@
+package com.instagram.backend.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over string keys that grows instead of degrading: once a layer
+ * holds its capacity, a new layer twice as large with half the false positive rate is
+ * added (Almeida et al., "Scalable Bloom Filters"). The layer rates form a geometric
+ * series, so the overall rate stays under the configured one however many keys arrive.
+ *
+ * mightContain never returns false for a key that was put. Keys cannot be removed; a
+ * filter that has to forget keys is rebuilt (see {@link MembershipFilter}).
+ *
+ * Because the first layer targets half the rate, a right-sized filter at 1% costs about 11
+ * bits (1.4 bytes) per key and measures about 0.5%; one that grew from 100x too small
+ * costs about twice that (see BloomFilterBenchmark).
+ */
+public final class ScalableBloomFilter {
+
+    private static final int GROWTH = 2;
+    private static final double TIGHTENING = 0.5;
+    private static final double LN2 = Math.log(2);
+
+    private final List<Layer> layers = new CopyOnWriteArrayList<>();
+    private volatile Layer active;
+
+    public ScalableBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Expected insertions must be positive and the rate within (0, 1)");
+        }
+        // p0 / (1 - r) = p: the layers together stay within the requested rate
+        active = new Layer(expectedInsertions, falsePositiveRate * (1 - TIGHTENING));
+        layers.add(active);
+    }
+
+    public boolean mightContain(String key) {
+        long h1 = hash(key);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (Layer layer : layers) {
+            if (layer.mightContain(h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void put(String key) {
+        long h1 = hash(key);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (Layer layer : layers) {
+            if (layer.mightContain(h1, h2)) {
+                return; // present, or a false positive: either way it must not use up capacity
+            }
+        }
+        Layer layer = active;
+        if (layer.count.get() >= layer.capacity) {
+            layer = grow(layer);
+        }
+        layer.put(h1, h2);
+    }
+
+    /** Keys put so far, not counting repeats the filter recognised. */
+    public long approximateCount() {
+        return layers.stream().mapToLong(layer -> layer.count.get()).sum();
+    }
+
+    public long sizeInBytes() {
+        return layers.stream().mapToLong(layer -> layer.words.length() * 8L).sum();
+    }
+
+    public int layerCount() {
+        return layers.size();
+    }
+
+    /** Current false positive probability, from how full each layer is. */
+    public double expectedFalsePositiveRate() {
+        double allNegative = 1;
+        for (Layer layer : layers) {
+            double filled = 1 - Math.exp(-(double) layer.hashes * layer.count.get() / layer.bits);
+            allNegative *= 1 - Math.pow(filled, layer.hashes);
+        }
+        return 1 - allNegative;
+    }
+
+    private synchronized Layer grow(Layer full) {
+        if (active != full) {
+            return active; // another thread grew it already
+        }
+        Layer next = new Layer(full.capacity * GROWTH, full.falsePositiveRate * TIGHTENING);
+        layers.add(next);
+        active = next;
+        return next;
+    }
+
+    /** FNV-1a over the UTF-16 chars, finished with the SplitMix64 mixer for avalanche. */
+    private static long hash(String key) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class Layer {
+
+        private final long capacity;
+        private final double falsePositiveRate;
+        private final long bits;
+        private final int hashes;
+        private final AtomicLongArray words;
+        private final AtomicLong count = new AtomicLong();
+
+        private Layer(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (LN2 * LN2));
+            int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, (Math.max(64, optimalBits) + 63) >>> 6);
+            this.bits = wordCount * 64L;
+            this.hashes = Math.max(1, (int) Math.round((double) bits / capacity * LN2));
+            this.words = new AtomicLongArray(wordCount);
+        }
+
+        // Double hashing (Kirsch-Mitzenmacher): probe i is h1 + i * h2, mapped onto [0, bits)
+        // with a multiply-shift instead of a modulo
+
+        private boolean mightContain(long h1, long h2) {
+            long combined = h1;
+            for (int i = 0; i < hashes; i++) {
+                long index = Math.unsignedMultiplyHigh(combined, bits);
+                if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+                combined += h2;
+            }
+            return true;
+        }
+
+        private void put(long h1, long h2) {
+            long combined = h1;
+            for (int i = 0; i < hashes; i++) {
+                long index = Math.unsignedMultiplyHigh(combined, bits);
+                words.getAndAccumulate((int) (index >>> 6), 1L << index, (word, bit) -> word | bit);
+                combined += h2;
+            }
+            count.incrementAndGet();
+        }
+    }
+}
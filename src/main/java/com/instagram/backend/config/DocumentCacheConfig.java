@@ -0,0 +1,76 @@
+package com.instagram.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.instagram.backend.cache.DocumentCache;
+import com.instagram.backend.cache.OffHeapStore;
+import com.instagram.backend.model.document.Post;
+import com.instagram.backend.model.document.Reel;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Caches for hot Post and Reel documents. Each has its own on-heap tier; the optional
+ * off-heap tier is shared and split by key prefix. Hit rates are exported as cache.gets
+ * (tag cache=posts|reels), off-heap fill as cache.offheap.*.
+ */
+@Configuration
+public class DocumentCacheConfig {
+
+    @Value("${cache.documents.max-size:10000}")
+    private long maxSize;
+
+    @Value("${cache.documents.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Bean
+    @ConditionalOnProperty(name = "cache.documents.offheap.enabled", havingValue = "true")
+    public OffHeapStore documentOffHeapStore(
+            @Value("${cache.documents.offheap.size-mb:64}") int sizeMb,
+            MeterRegistry meterRegistry
+    ) {
+        OffHeapStore store = new OffHeapStore(Math.multiplyExact(sizeMb, 1024 * 1024));
+        Gauge.builder("cache.offheap.entries", store, OffHeapStore::size)
+                .tag("cache", "documents")
+                .register(meterRegistry);
+        Gauge.builder("cache.offheap.used", store, OffHeapStore::usedBytes)
+                .tag("cache", "documents")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        return store;
+    }
+
+    @Bean
+    public DocumentCache<Post> postCache(ObjectProvider<OffHeapStore> offHeapStore,
+                                         ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return documentCache("posts", Post.class, offHeapStore.getIfAvailable(), objectMapper, meterRegistry);
+    }
+
+    @Bean
+    public DocumentCache<Reel> reelCache(ObjectProvider<OffHeapStore> offHeapStore,
+                                         ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return documentCache("reels", Reel.class, offHeapStore.getIfAvailable(), objectMapper, meterRegistry);
+    }
+
+    private <T> DocumentCache<T> documentCache(String name, Class<T> type, OffHeapStore offHeap,
+                                               ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        // TTL bounds staleness for writes made outside this instance (other nodes, direct DB edits)
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        Cache<String, T> heap = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, heap, name);
+        return new DocumentCache<>(name, type, heap, ttl, offHeap, objectMapper);
+    }
+}
@@ -0,0 +1,23 @@
+package com.instagram.backend.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Micrometer setup. Most meters come from Spring Boot auto-configuration:
+ * http.server.requests (per controller route), spring.data.repository.invocations
+ * (JPA and Mongo repositories), hikaricp.*, mongodb.driver.*, executor.* and cache.*.
+ * This class only adds support for @Timed on service methods.
+ *
+ * Tags must stay bounded: use route templates, enum names or operation names, never ids.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
@@ -1,13 +1,39 @@
 package com.instagram.backend.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
 
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 @EnableMongoRepositories(basePackages = "com.instagram.backend.repository.mongo")
 @EnableMongoAuditing
 public class MongoConfig {
     // MongoDB configuration is in application.properties
-    // This class just enables MongoDB repositories
-}
\ No newline at end of file
+    // This class enables MongoDB repositories and sizes the driver connection pool
+
+    @Value("${mongo.pool.max-size:100}")
+    private int maxPoolSize;
+
+    @Value("${mongo.pool.min-size:0}")
+    private int minPoolSize;
+
+    @Value("${mongo.pool.max-wait-ms:2000}")
+    private long maxWaitMs;
+
+    /**
+     * With virtual threads the request count is no longer capped by Tomcat, so the
+     * pool is the real concurrency limit - keep waits short so overload fails fast.
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoPoolCustomizer() {
+        return builder -> builder.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxPoolSize)
+                .minSize(minPoolSize)
+                .maxWaitTime(maxWaitMs, TimeUnit.MILLISECONDS));
+    }
+}
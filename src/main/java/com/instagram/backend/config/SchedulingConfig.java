@@ -0,0 +1,19 @@
+package com.instagram.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled and @Async. The executors come from Spring Boot's auto-configuration
+ * (applicationTaskExecutor / taskScheduler), so spring.threads.virtual.enabled=true moves
+ * them onto virtual threads together with Tomcat request handling.
+ *
+ * Do not declare Executor beans here: any Executor bean switches off Boot's
+ * applicationTaskExecutor, which @Async and async MVC responses depend on.
+ */
+@Configuration
+@EnableScheduling
+@EnableAsync
+public class SchedulingConfig {
+}
@@ -2,6 +2,7 @@ package com.instagram.backend.config;
 
 import com.instagram.backend.security.JwtAuthenticationEntryPoint;
 import com.instagram.backend.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 
@@ -53,11 +54,18 @@ public class SecurityConfig {
                 .exceptionHandling(exception -> exception.authenticationEntryPoint(jwtAuthenticationEntryPoint))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authz -> authz
+                        // Completion of a stream the initial request was already authorized for: export
+                        // StreamingResponseBody and SSE both end with an ASYNC dispatch, which the JWT
+                        // filter does not authenticate again
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // Public endpoints
                         .requestMatchers("/api/v1/auth/**").permitAll()
                         .requestMatchers("/api/v1/campaigns/active", "/api/v1/campaigns/category/**").permitAll()
                         .requestMatchers("/api/v1/search/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
+                        // Only served on the internal management port (management.server.port)
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
 
                         // Admin endpoints - require ADMIN role
                         .requestMatchers(HttpMethod.POST, "/api/v1/campaigns/{id}/approve").hasRole("ADMIN")
@@ -71,6 +79,8 @@ public class SecurityConfig {
                         .requestMatchers("/api/v1/reports/pending", "/api/v1/reports/status/{status}").hasRole("ADMIN")
                         .requestMatchers("/api/v1/withdrawals/pending").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST, "/api/v1/donations/{id}/refund").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/v1/analytics/donations/rebuild").hasRole("ADMIN")
+                        .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
 
                         // User endpoints - require authentication
                         .requestMatchers(HttpMethod.POST, "/api/v1/campaigns").hasRole("USER")
@@ -0,0 +1,43 @@
+package com.instagram.backend.controller;
+
+import com.instagram.backend.dto.response.DonationAnalyticsResponse;
+import com.instagram.backend.model.entity.DonationRollup.Granularity;
+import com.instagram.backend.service.DonationAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/analytics")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class AnalyticsController {
+
+    private final DonationAnalyticsService donationAnalyticsService;
+
+    @GetMapping("/donations")
+    public ResponseEntity<List<DonationAnalyticsResponse>> getDonationAnalytics(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "DAY") Granularity granularity,
+            @RequestParam(required = false) Long campaignId,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String currency) {
+        List<DonationAnalyticsResponse> buckets = donationAnalyticsService.getDonationAnalytics(
+                granularity, from, to, campaignId, category, currency
+        );
+        return ResponseEntity.ok(buckets);
+    }
+
+    @PostMapping("/donations/rebuild")
+    public ResponseEntity<Integer> rebuildDonationRollups(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        int buckets = donationAnalyticsService.rebuildRollups(from, to);
+        return ResponseEntity.ok(buckets);
+    }
+}
@@ -1,6 +1,8 @@
 package com.instagram.backend.controller;
 
+import com.instagram.backend.cache.ResourceVersion;
 import com.instagram.backend.dto.request.CampaignRequest;
+import com.instagram.backend.dto.response.CampaignLedgerEntryResponse;
 import com.instagram.backend.dto.response.CampaignResponse;
 import com.instagram.backend.model.entity.Campaign;
 import com.instagram.backend.service.CampaignService;
@@ -12,6 +14,7 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 
@@ -32,9 +35,14 @@ public class CampaignController {
     @GetMapping("/{campaignId}")
     public ResponseEntity<CampaignResponse> getCampaign(
             @PathVariable Long campaignId,
-            @RequestParam(required = false) Long userId) {
+            @RequestParam(required = false) Long userId,
+            WebRequest webRequest) {
+        ResourceVersion version = campaignService.getCampaignVersion(campaignId, userId);
+        if (version.matches(webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(version.etag()).build();
+        }
         CampaignResponse campaign = campaignService.getCampaignById(campaignId, userId);
-        return ResponseEntity.ok(campaign);
+        return ResponseEntity.ok().eTag(version.etag()).body(campaign);
     }
 
     @PutMapping("/{campaignId}")
@@ -100,6 +108,15 @@ public class CampaignController {
         BigDecimal progress = campaignService.getCampaignProgress(campaignId);
         return ResponseEntity.ok(progress);
     }
+
+    @GetMapping("/{campaignId}/ledger")
+    public ResponseEntity<Page<CampaignLedgerEntryResponse>> getCampaignLedger(
+            @PathVariable Long campaignId,
+            @PageableDefault(size = 20) Pageable pageable) {
+        Page<CampaignLedgerEntryResponse> entries = campaignService.getCampaignLedger(campaignId, pageable);
+        return ResponseEntity.ok(entries);
+    }
+
     @PostMapping("/{campaignId}/approve")
     public ResponseEntity<Void> approveCampaign(
             @PathVariable Long campaignId,
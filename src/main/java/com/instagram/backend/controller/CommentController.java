@@ -2,6 +2,8 @@ package com.instagram.backend.controller;
 
 import com.instagram.backend.dto.request.CommentRequest;
 import com.instagram.backend.dto.response.CommentResponse;
+import com.instagram.backend.dto.response.CommentThreadResponse;
+import com.instagram.backend.monitoring.QueryBudget;
 import com.instagram.backend.service.CommentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -43,6 +45,7 @@ public class CommentController {
     }
 
     @GetMapping("/post/{postId}")
+    @QueryBudget(jdbc = 2, mongo = 4)
     public ResponseEntity<Page<CommentResponse>> getPostComments(
             @PathVariable String postId,
             @PageableDefault(size = 20) Pageable pageable) {
@@ -51,6 +54,7 @@ public class CommentController {
     }
 
     @GetMapping("/reel/{reelId}")
+    @QueryBudget(jdbc = 2, mongo = 4)
     public ResponseEntity<Page<CommentResponse>> getReelComments(
             @PathVariable String reelId,
             @PageableDefault(size = 20) Pageable pageable) {
@@ -59,6 +63,7 @@ public class CommentController {
     }
 
     @GetMapping("/campaign/{campaignId}")
+    @QueryBudget(jdbc = 2, mongo = 4)
     public ResponseEntity<Page<CommentResponse>> getCampaignComments(
             @PathVariable Long campaignId,
             @PageableDefault(size = 20) Pageable pageable) {
@@ -66,7 +71,35 @@ public class CommentController {
         return ResponseEntity.ok(comments);
     }
 
+    @GetMapping("/post/{postId}/threads")
+    @QueryBudget(jdbc = 2, mongo = 6)
+    public ResponseEntity<Page<CommentThreadResponse>> getPostCommentThreads(
+            @PathVariable String postId,
+            @RequestParam(defaultValue = "3") int replies,
+            @PageableDefault(size = 20) Pageable pageable) {
+        return ResponseEntity.ok(commentService.getPostCommentThreads(postId, pageable, replies));
+    }
+
+    @GetMapping("/reel/{reelId}/threads")
+    @QueryBudget(jdbc = 2, mongo = 6)
+    public ResponseEntity<Page<CommentThreadResponse>> getReelCommentThreads(
+            @PathVariable String reelId,
+            @RequestParam(defaultValue = "3") int replies,
+            @PageableDefault(size = 20) Pageable pageable) {
+        return ResponseEntity.ok(commentService.getReelCommentThreads(reelId, pageable, replies));
+    }
+
+    @GetMapping("/campaign/{campaignId}/threads")
+    @QueryBudget(jdbc = 2, mongo = 6)
+    public ResponseEntity<Page<CommentThreadResponse>> getCampaignCommentThreads(
+            @PathVariable Long campaignId,
+            @RequestParam(defaultValue = "3") int replies,
+            @PageableDefault(size = 20) Pageable pageable) {
+        return ResponseEntity.ok(commentService.getCampaignCommentThreads(campaignId, pageable, replies));
+    }
+
     @GetMapping("/{parentCommentId}/replies")
+    @QueryBudget(jdbc = 2, mongo = 4)
     public ResponseEntity<Page<CommentResponse>> getCommentReplies(
             @PathVariable String parentCommentId,
             @PageableDefault(size = 20) Pageable pageable) {
@@ -3,14 +3,18 @@ package com.instagram.backend.controller;
 import com.instagram.backend.dto.request.DonationRequest;
 import com.instagram.backend.dto.response.DonationResponse;
 import com.instagram.backend.service.DonationService;
+import com.instagram.backend.service.ExportService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 
@@ -21,6 +25,7 @@ import java.math.BigDecimal;
 public class DonationController {
 
     private final DonationService donationService;
+    private final ExportService exportService;
 
     @PostMapping
     public ResponseEntity<DonationResponse> createDonation(@Valid @RequestBody DonationRequest request) {
@@ -70,4 +75,18 @@ public class DonationController {
         Integer count = donationService.getUniqueDonorCount(campaignId);
         return ResponseEntity.ok(count);
     }
+
+    @GetMapping("/campaign/{campaignId}/export")
+    public ResponseEntity<StreamingResponseBody> exportCampaignDonations(
+            @PathVariable Long campaignId,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportService.ExportFormat exportFormat = ExportService.ExportFormat.from(format);
+        StreamingResponseBody body = exportService.exportCampaignDonations(campaignId, exportFormat, gzip);
+        String fileName = exportFormat.getFileName("campaign-" + campaignId + "-donations", gzip);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType(gzip)))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
 }
@@ -2,13 +2,20 @@ package com.instagram.backend.controller;
 
 import com.instagram.backend.dto.request.LikeRequest;
 import com.instagram.backend.dto.response.LikeResponse;
+import com.instagram.backend.dto.response.LikedContentResponse;
+import com.instagram.backend.dto.response.LikerPageResponse;
+import com.instagram.backend.monitoring.QueryBudget;
 import com.instagram.backend.service.LikeService;
+import com.instagram.backend.service.LikerListService;
+import com.instagram.backend.service.ViewerLikesService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/v1/likes")
 @RequiredArgsConstructor
@@ -16,6 +23,8 @@ import org.springframework.web.bind.annotation.*;
 public class LikeController {
 
     private final LikeService likeService;
+    private final ViewerLikesService viewerLikesService;
+    private final LikerListService likerListService;
 
     @PostMapping
     public ResponseEntity<LikeResponse> likeContent(@Valid @RequestBody LikeRequest request) {
@@ -70,4 +79,44 @@ public class LikeController {
         boolean liked = likeService.isCampaignLikedByUser(campaignId, userId);
         return ResponseEntity.ok(liked);
     }
+
+    @GetMapping("/post/{postId}/users")
+    @QueryBudget(jdbc = 3, mongo = 4)
+    public ResponseEntity<LikerPageResponse> getPostLikers(
+            @PathVariable String postId,
+            @RequestParam(required = false) Long viewerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(likerListService.getPostLikers(postId, viewerId, cursor, size));
+    }
+
+    @GetMapping("/reel/{reelId}/users")
+    @QueryBudget(jdbc = 3, mongo = 4)
+    public ResponseEntity<LikerPageResponse> getReelLikers(
+            @PathVariable String reelId,
+            @RequestParam(required = false) Long viewerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(likerListService.getReelLikers(reelId, viewerId, cursor, size));
+    }
+
+    @GetMapping("/campaign/{campaignId}/users")
+    @QueryBudget(jdbc = 7, mongo = 2)
+    public ResponseEntity<LikerPageResponse> getCampaignLikers(
+            @PathVariable Long campaignId,
+            @RequestParam(required = false) Long viewerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(likerListService.getCampaignLikers(campaignId, viewerId, cursor, size));
+    }
+
+    // Batch form of the three checks above, for rendering a feed or list page in one call
+    @GetMapping("/user/{userId}/liked")
+    public ResponseEntity<LikedContentResponse> getLikedContent(
+            @PathVariable Long userId,
+            @RequestParam(required = false) List<String> postIds,
+            @RequestParam(required = false) List<String> reelIds,
+            @RequestParam(required = false) List<Long> campaignIds) {
+        return ResponseEntity.ok(viewerLikesService.getLikedContent(userId, postIds, reelIds, campaignIds));
+    }
 }
@@ -1,13 +1,22 @@
 package com.instagram.backend.controller;
 
 import com.instagram.backend.dto.response.NotificationResponse;
+import com.instagram.backend.model.entity.Notification;
+import com.instagram.backend.monitoring.QueryBudget;
 import com.instagram.backend.service.NotificationService;
+import com.instagram.backend.service.NotificationStreamService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/notifications")
@@ -16,8 +25,10 @@ import org.springframework.web.bind.annotation.*;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final NotificationStreamService notificationStreamService;
 
     @GetMapping("/user/{userId}")
+    @QueryBudget(jdbc = 4, mongo = 2)
     public ResponseEntity<Page<NotificationResponse>> getUserNotifications(
             @PathVariable Long userId,
             @PageableDefault(size = 20) Pageable pageable) {
@@ -31,6 +42,15 @@ public class NotificationController {
         return ResponseEntity.ok(count);
     }
 
+    /**
+     * Event stream of new notifications ("notification") and unread counts ("unread-count"),
+     * starting with the current count. Replaces polling the unread count endpoint.
+     */
+    @GetMapping(value = "/user/{userId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(@PathVariable Long userId) {
+        return notificationStreamService.subscribe(userId);
+    }
+
     @PutMapping("/{notificationId}/read")
     public ResponseEntity<Void> markAsRead(
             @PathVariable Long notificationId,
@@ -40,9 +60,33 @@ public class NotificationController {
     }
 
     @PutMapping("/user/{userId}/read-all")
-    public ResponseEntity<Void> markAllAsRead(@PathVariable Long userId) {
-        notificationService.markAllAsRead(userId);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<Integer> markAllAsRead(@PathVariable Long userId) {
+        int updated = notificationService.markAllAsRead(userId);
+        return ResponseEntity.ok(updated);
+    }
+
+    @PutMapping("/user/{userId}/read")
+    public ResponseEntity<Integer> markAsRead(
+            @PathVariable Long userId,
+            @RequestBody List<Long> notificationIds) {
+        int updated = notificationService.markAsRead(userId, notificationIds);
+        return ResponseEntity.ok(updated);
+    }
+
+    @DeleteMapping("/user/{userId}")
+    public ResponseEntity<Integer> deleteNotificationsOlderThan(
+            @PathVariable Long userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before) {
+        int deleted = notificationService.deleteNotificationsOlderThan(userId, before);
+        return ResponseEntity.ok(deleted);
+    }
+
+    @DeleteMapping("/user/{userId}/type/{type}")
+    public ResponseEntity<Integer> deleteNotificationsByType(
+            @PathVariable Long userId,
+            @PathVariable Notification.NotificationType type) {
+        int deleted = notificationService.deleteNotificationsByType(userId, type);
+        return ResponseEntity.ok(deleted);
     }
 
     @DeleteMapping("/{notificationId}")
@@ -1,7 +1,9 @@
 package com.instagram.backend.controller;
 
+import com.instagram.backend.cache.ResourceVersion;
 import com.instagram.backend.dto.request.PostRequest;
 import com.instagram.backend.dto.response.PostResponse;
+import com.instagram.backend.monitoring.QueryBudget;
 import com.instagram.backend.service.PostService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -11,6 +13,7 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -31,9 +34,14 @@ public class PostController {
     @GetMapping("/{postId}")
     public ResponseEntity<PostResponse> getPost(
             @PathVariable String postId,
-            @RequestParam(required = false) Long userId) {
+            @RequestParam(required = false) Long userId,
+            WebRequest webRequest) {
+        ResourceVersion version = postService.getPostVersion(postId, userId);
+        if (version.matches(webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(version.etag()).build();
+        }
         PostResponse post = postService.getPostById(postId, userId);
-        return ResponseEntity.ok(post);
+        return ResponseEntity.ok().eTag(version.etag()).body(post);
     }
 
     @PutMapping("/{postId}")
@@ -62,6 +70,7 @@ public class PostController {
     }
 
     @GetMapping("/feed")
+    @QueryBudget(jdbc = 2, mongo = 5)
     public ResponseEntity<Page<PostResponse>> getFeedPosts(
             @RequestParam Long userId,
             @RequestParam List<Long> followingIds,
@@ -1,5 +1,6 @@
 package com.instagram.backend.controller;
 
+import com.instagram.backend.cache.ResourceVersion;
 import com.instagram.backend.dto.request.ProfileRequest;
 import com.instagram.backend.dto.request.ProfileUpdateRequest;
 import com.instagram.backend.dto.response.ProfileResponse;
@@ -10,6 +11,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/v1/profiles")
@@ -28,9 +30,13 @@ public class ProfileController {
 
 
     @GetMapping("/{userId}")
-    public ResponseEntity<ProfileResponse> getProfile(@PathVariable Long userId) {
+    public ResponseEntity<ProfileResponse> getProfile(@PathVariable Long userId, WebRequest webRequest) {
+        ResourceVersion version = profileService.getProfileVersion(userId);
+        if (version.matches(webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(version.etag()).build();
+        }
         ProfileResponse profile = profileService.getProfile(userId);
-        return ResponseEntity.ok(profile);
+        return ResponseEntity.ok().eTag(version.etag()).body(profile);
     }
 
     @PutMapping("/{userId}")
@@ -1,5 +1,6 @@
 package com.instagram.backend.controller;
 
+import com.instagram.backend.cache.ResourceVersion;
 import com.instagram.backend.dto.request.ReelRequest;
 import com.instagram.backend.dto.response.ReelResponse;
 import com.instagram.backend.service.ReelService;
@@ -11,6 +12,7 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/v1/reels")
@@ -29,9 +31,16 @@ public class ReelController {
     @GetMapping("/{reelId}")
     public ResponseEntity<ReelResponse> getReel(
             @PathVariable String reelId,
-            @RequestParam(required = false) Long userId) {
+            @RequestParam(required = false) Long userId,
+            WebRequest webRequest) {
+        ResourceVersion version = reelService.getReelVersion(reelId, userId);
+        if (version.matches(webRequest)) {
+            // A revalidated view is still a view
+            reelService.recordView(reelId);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(version.etag()).build();
+        }
         ReelResponse reel = reelService.getReelById(reelId, userId);
-        return ResponseEntity.ok(reel);
+        return ResponseEntity.ok().eTag(version.etag()).body(reel);
     }
 
     @PutMapping("/{reelId}")
@@ -0,0 +1,54 @@
+package com.instagram.backend.controller;
+
+import com.instagram.backend.dto.response.TraceProfileResponse;
+import com.instagram.backend.dto.response.TraceResponse;
+import com.instagram.backend.service.TracingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/admin/traces")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class TraceController {
+
+    private final TracingService tracingService;
+
+    @GetMapping
+    public ResponseEntity<List<TraceResponse>> getRecentTraces(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) Double minDurationMs,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(tracingService.getRecentTraces(name, minDurationMs, Math.min(limit, 500)));
+    }
+
+    @GetMapping("/{traceId}")
+    public ResponseEntity<TraceResponse> getTrace(@PathVariable Long traceId) {
+        return ResponseEntity.ok(tracingService.getTrace(traceId));
+    }
+
+    @GetMapping("/profile")
+    public ResponseEntity<List<TraceProfileResponse>> getProfile(@RequestParam(required = false) String name) {
+        return ResponseEntity.ok(tracingService.getProfile(name));
+    }
+
+    @GetMapping(value = "/profile/folded", produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<String> getFoldedStacks(@RequestParam(required = false) String name) {
+        return ResponseEntity.ok(tracingService.getFoldedStacks(name));
+    }
+
+    @GetMapping("/sampling")
+    public ResponseEntity<Double> getSampleRate() {
+        return ResponseEntity.ok(tracingService.getSampleRate());
+    }
+
+    @PutMapping("/sampling")
+    public ResponseEntity<Double> setSampleRate(@RequestParam double rate) {
+        tracingService.setSampleRate(rate);
+        return ResponseEntity.ok(rate);
+    }
+}
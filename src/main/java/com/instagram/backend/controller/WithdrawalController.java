@@ -2,15 +2,19 @@ package com.instagram.backend.controller;
 
 import com.instagram.backend.dto.request.WithdrawalRequest;
 import com.instagram.backend.dto.response.WithdrawalResponse;
+import com.instagram.backend.service.ExportService;
 import com.instagram.backend.service.WithdrawalService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 
@@ -21,6 +25,7 @@ import java.math.BigDecimal;
 public class WithdrawalController {
 
     private final WithdrawalService withdrawalService;
+    private final ExportService exportService;
 
     @PostMapping
     public ResponseEntity<WithdrawalResponse> requestWithdrawal(@Valid @RequestBody WithdrawalRequest request) {
@@ -80,4 +85,18 @@ public class WithdrawalController {
         BigDecimal total = withdrawalService.getTotalWithdrawnAmount(campaignId);
         return ResponseEntity.ok(total);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/campaign/{campaignId}/export")
+    public ResponseEntity<StreamingResponseBody> exportCampaignWithdrawals(
+            @PathVariable Long campaignId,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportService.ExportFormat exportFormat = ExportService.ExportFormat.from(format);
+        StreamingResponseBody body = exportService.exportCampaignWithdrawals(campaignId, exportFormat, gzip);
+        String fileName = exportFormat.getFileName("campaign-" + campaignId + "-withdrawals", gzip);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType(gzip)))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+}
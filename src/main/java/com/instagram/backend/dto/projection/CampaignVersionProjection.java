@@ -0,0 +1,17 @@
+package com.instagram.backend.dto.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Inputs of a campaign's representation version, read without hydrating the campaign.
+ * The creator's timestamp covers the embedded creator name and picture; the last ledger
+ * entry covers the live balance; viewerLikes covers the personalized "liked" flag.
+ */
+public interface CampaignVersionProjection {
+    Long getRevision();
+    LocalDateTime getUpdatedAt();
+    LocalDateTime getCreatorUpdatedAt();
+    Long getLastLedgerEntryId();
+    Long getLikesCount();
+    Long getViewerLikes();
+}
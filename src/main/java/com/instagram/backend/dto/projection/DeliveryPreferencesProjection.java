@@ -0,0 +1,14 @@
+package com.instagram.backend.dto.projection;
+
+/**
+ * Channel switches and contact details of a profile, for notification delivery.
+ */
+public interface DeliveryPreferencesProjection {
+    Long getProfileId();
+    String getUsername();
+    String getEmail();
+    Boolean getIsActive();
+    Boolean getEmailNotificationsEnabled();
+    Boolean getPushNotificationsEnabled();
+    Boolean getSmsNotificationsEnabled();
+}
@@ -0,0 +1,24 @@
+package com.instagram.backend.dto.projection;
+
+import com.instagram.backend.model.entity.Donation;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat, unmanaged donation row for exports - no entity graph is hydrated.
+ */
+public interface DonationProjection {
+    Long getId();
+    Long getCampaignId();
+    Long getDonorId();
+    String getDonorUsername();
+    Boolean getIsAnonymous();
+    BigDecimal getAmount();
+    String getCurrency();
+    Donation.PaymentStatus getPaymentStatus();
+    String getPaymentMethod();
+    String getTransactionId();
+    BigDecimal getRefundAmount();
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,14 @@
+package com.instagram.backend.dto.projection;
+
+import com.instagram.backend.model.entity.Like;
+
+/**
+ * Who liked what, for warming the duplicate-like filters.
+ */
+public interface LikeKeyProjection {
+    Long getUserId();
+    Like.ContentType getContentType();
+    String getPostId();
+    String getReelId();
+    Long getCampaignId();
+}
@@ -0,0 +1,12 @@
+package com.instagram.backend.dto.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * One like in a liker list: who, when, and the row id that breaks ties in the keyset.
+ */
+public interface LikerProjection {
+    Long getId();
+    Long getUserId();
+    LocalDateTime getCreatedAt();
+}
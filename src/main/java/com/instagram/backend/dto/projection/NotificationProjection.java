@@ -0,0 +1,30 @@
+package com.instagram.backend.dto.projection;
+
+import com.instagram.backend.model.entity.Notification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat inbox row read from the notifications table alone - actor and campaign display
+ * fields are the copies taken when the notification was written.
+ */
+public interface NotificationProjection {
+    Long getId();
+    Notification.NotificationType getType();
+    String getMessage();
+    Boolean getIsRead();
+    Long getActorId();
+    String getActorUsername();
+    String getActorProfilePictureUrl();
+    Integer getActorCount();
+    String getRecentActorIds();
+    String getPostId();
+    String getReelId();
+    String getCommentId();
+    Long getCampaignId();
+    String getCampaignTitle();
+    String getActionUrl();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getLastActivityAt();
+    LocalDateTime getReadAt();
+}
@@ -0,0 +1,12 @@
+package com.instagram.backend.dto.projection;
+
+/**
+ * What a list of people shows per profile: handle, display name, avatar and badge.
+ */
+public interface ProfileSummaryProjection {
+    Long getProfileId();
+    String getUsername();
+    String getName();
+    String getProfilePictureUrl();
+    Boolean getIsVerified();
+}
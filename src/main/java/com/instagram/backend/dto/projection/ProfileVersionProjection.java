@@ -0,0 +1,12 @@
+package com.instagram.backend.dto.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Inputs of a profile's representation version: its own timestamp plus the live follow counts.
+ */
+public interface ProfileVersionProjection {
+    LocalDateTime getUpdatedAt();
+    Long getFollowersCount();
+    Long getFollowingCount();
+}
@@ -0,0 +1,16 @@
+package com.instagram.backend.dto.projection;
+
+import com.instagram.backend.model.entity.Report;
+
+/**
+ * Who reported what, for warming the duplicate-report filter.
+ */
+public interface ReportKeyProjection {
+    Long getReportedById();
+    Report.ContentType getContentType();
+    String getPostId();
+    String getReelId();
+    String getCommentId();
+    Long getCampaignId();
+    Long getReportedUserId();
+}
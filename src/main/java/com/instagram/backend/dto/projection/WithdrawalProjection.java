@@ -0,0 +1,25 @@
+package com.instagram.backend.dto.projection;
+
+import com.instagram.backend.model.entity.Withdrawal;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat, unmanaged withdrawal row for exports - no entity graph is hydrated.
+ */
+public interface WithdrawalProjection {
+    Long getId();
+    Long getCampaignId();
+    Long getRequesterId();
+    BigDecimal getAmount();
+    BigDecimal getPlatformFee();
+    BigDecimal getPaymentGatewayFee();
+    BigDecimal getNetAmount();
+    String getCurrency();
+    Withdrawal.WithdrawalStatus getStatus();
+    String getTransactionReference();
+    LocalDateTime getApprovedAt();
+    LocalDateTime getProcessedAt();
+    LocalDateTime getCreatedAt();
+}
@@ -13,4 +13,9 @@ public class ProfileUpdateRequest {
     private String bio;
 
     private String profilePictureUrl;
+
+    // Notification channels; null leaves a switch unchanged
+    private Boolean emailNotificationsEnabled;
+    private Boolean pushNotificationsEnabled;
+    private Boolean smsNotificationsEnabled;
 }
\ No newline at end of file
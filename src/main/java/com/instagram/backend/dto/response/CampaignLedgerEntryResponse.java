@@ -0,0 +1,16 @@
+package com.instagram.backend.dto.response;
+
+import lombok.Data;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+public class CampaignLedgerEntryResponse {
+    private Long id;
+    private Long campaignId;
+    private String entryType;
+    private BigDecimal amount;
+    private String currency;
+    private Long referenceId;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,17 @@
+package com.instagram.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/** A top-level comment with its first replies, oldest first; the rest come from the replies endpoint. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentThreadResponse {
+    private CommentResponse comment;
+    private List<CommentResponse> replies;
+    private Boolean hasMoreReplies;
+}
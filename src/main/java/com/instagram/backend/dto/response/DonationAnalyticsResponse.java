@@ -0,0 +1,20 @@
+package com.instagram.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DonationAnalyticsResponse {
+    private LocalDateTime bucketStart;
+    private String currency;
+    private Long donationCount;
+    private BigDecimal donationAmount;
+    private Long uniqueDonorCount; // distinct donors in the bucket for the filtered campaigns
+    private Long refundCount;
+    private BigDecimal refundAmount;
+}
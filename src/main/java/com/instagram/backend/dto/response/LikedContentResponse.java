@@ -0,0 +1,17 @@
+package com.instagram.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+/** The subset of the requested ids the user has liked. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LikedContentResponse {
+    private Set<String> postIds;
+    private Set<String> reelIds;
+    private Set<Long> campaignIds;
+}
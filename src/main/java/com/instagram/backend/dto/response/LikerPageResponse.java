@@ -0,0 +1,16 @@
+package com.instagram.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/** One page of a liker list; pass nextCursor back for the next one, null when there is none. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LikerPageResponse {
+    private List<LikerResponse> likers;
+    private String nextCursor;
+}
@@ -0,0 +1,16 @@
+package com.instagram.backend.dto.response;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class LikerResponse {
+    private Long profileId;
+    private String username;
+    private String name;
+    private String profilePictureUrl;
+    private Boolean isVerified;
+    private Boolean followedByViewer;
+    private LocalDateTime likedAt;
+}
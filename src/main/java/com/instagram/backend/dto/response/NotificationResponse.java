@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -19,15 +20,20 @@ public class NotificationResponse {
     private Long actorId;
     private String actorUsername;
     private String actorProfilePicture;
+    // Aggregates: total distinct actors and the latest few, newest first
+    private Integer actorCount;
+    private List<Long> recentActorIds;
 
     // Content references
     private String postId;
     private String reelId;
     private String commentId;
     private Long campaignId;
+    private String campaignTitle;
 
     // Additional details
     private String actionUrl;
     private LocalDateTime createdAt;
+    private LocalDateTime lastActivityAt;
     private LocalDateTime readAt;
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.instagram.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One call path aggregated over the buffered traces, e.g.
+ * "GET /api/v1/posts/feed;PostController.getFeedPosts;PostService.getFeedPosts".
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TraceProfileResponse {
+    private String stack;
+    private String layer;
+    private Long calls;
+    private Double totalMs;
+    private Double selfMs;
+    private Double maxMs;
+}
@@ -0,0 +1,39 @@
+package com.instagram.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TraceResponse {
+    private Long id;
+    private String name;
+    private Integer status;
+    private LocalDateTime startedAt;
+    private Double durationMs;
+    private Integer spanCount;
+    private Integer droppedSpans;
+
+    // Waterfall, only filled for a single trace
+    private List<SpanResponse> spans;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SpanResponse {
+        private Integer id;
+        private Integer parentId;
+        private Integer depth;
+        private String name;
+        private String layer;
+        private String thread;
+        private Double offsetMs; // from trace start
+        private Double durationMs;
+        private Double selfMs; // duration minus direct children
+    }
+}
@@ -3,12 +3,19 @@ package com.instagram.backend.model.document;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
 @Document(collection = "comments")
+// Listings filter on the content and isDeleted and sort by createdAt; thread pages filter
+// parentCommentId: null on top of the content index (see MongoQueryPlanTest)
+@CompoundIndex(name = "idx_comment_post", def = "{'postId': 1, 'isDeleted': 1, 'createdAt': -1}")
+@CompoundIndex(name = "idx_comment_reel", def = "{'reelId': 1, 'isDeleted': 1, 'createdAt': -1}")
+@CompoundIndex(name = "idx_comment_campaign", def = "{'campaignId': 1, 'isDeleted': 1, 'createdAt': -1}")
+@CompoundIndex(name = "idx_comment_parent", def = "{'parentCommentId': 1, 'isDeleted': 1, 'createdAt': 1}")
 public class Comment {
     @Id
     private String id;
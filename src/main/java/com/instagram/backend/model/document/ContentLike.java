@@ -0,0 +1,47 @@
+package com.instagram.backend.model.document;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * A like on a post or reel, stored next to the content it is about so liking, unliking and
+ * counting never leave Mongo. Campaign likes stay in the likes table with their campaign.
+ *
+ * Post and reel ids are both ObjectIds, so one (contentId, userId) unique index covers
+ * both types. contentId leads it, which is what allows sharding on { contentId: 1 }: a
+ * sharded collection can only enforce uniqueness on indexes prefixed by the shard key,
+ * and every query here is for one piece of content or one page of them. The second index
+ * serves liker lists, newest first.
+ */
+@Data
+@NoArgsConstructor
+@Document(collection = "content_likes")
+@CompoundIndex(name = "uk_content_user", def = "{'contentId': 1, 'userId': 1}", unique = true)
+@CompoundIndex(name = "idx_content_created", def = "{'contentId': 1, 'createdAt': -1, '_id': -1}")
+public class ContentLike {
+
+    @Id
+    private String id;
+
+    private String contentId;
+    private ContentType contentType;
+    private Long userId;
+
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public ContentLike(ContentType contentType, String contentId, Long userId) {
+        this.contentType = contentType;
+        this.contentId = contentId;
+        this.userId = userId;
+    }
+
+    public enum ContentType {
+        POST,
+        REEL
+    }
+}
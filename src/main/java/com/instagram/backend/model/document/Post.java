@@ -3,6 +3,7 @@ package com.instagram.backend.model.document;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -11,6 +12,8 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @Document(collection = "posts")
+@CompoundIndex(name = "idx_post_user_created", def = "{'userId': 1, 'createdAt': -1}")
+@CompoundIndex(name = "idx_post_tags_created", def = "{'tags': 1, 'createdAt': -1}")
 public class Post {
 
     @Id
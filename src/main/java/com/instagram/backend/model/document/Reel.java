@@ -3,8 +3,10 @@ package com.instagram.backend.model.document;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.IndexDirection;
 import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -13,12 +15,12 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @Document(collection = "reels")
+@CompoundIndex(name = "idx_reel_user_created", def = "{'userId': 1, 'createdAt': -1}")
 public class Reel {
 
     @Id
     private String id;
 
-    @Indexed
     private Long userId;
 
     private String username;
@@ -39,10 +41,7 @@ public class Reel {
 
     private Boolean isPublic = true; // ADDED: Missing field
 
+    @Indexed(name = "idx_reel_created", direction = IndexDirection.DESCENDING)
     private LocalDateTime createdAt = LocalDateTime.now();
     private LocalDateTime updatedAt;
-
-    // ADDED: Indexed fields for better query performance
-    @Indexed
-    private LocalDateTime indexedCreatedAt = LocalDateTime.now();
 }
\ No newline at end of file
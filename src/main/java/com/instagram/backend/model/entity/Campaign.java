@@ -6,12 +6,14 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
 @Entity
+@DynamicUpdate
 @Table(name = "campaigns", indexes = {
         @Index(name = "idx_campaign_creator_id", columnList = "creator_id"),
         @Index(name = "idx_campaign_status", columnList = "status"),
@@ -40,7 +42,8 @@ public class Campaign {
     @Column(name = "goal_amount", nullable = false, precision = 15, scale = 2)
     private BigDecimal goalAmount;
 
-    @Column(name = "current_amount", nullable = false, precision = 15, scale = 2)
+    // Materialized from the campaign ledger - never written through the entity
+    @Column(name = "current_amount", nullable = false, precision = 15, scale = 2, updatable = false)
     private BigDecimal currentAmount = BigDecimal.ZERO;
 
     @Column(nullable = false, length = 3)
@@ -75,7 +78,8 @@ public class Campaign {
     @Column(name = "beneficiary_document_url")
     private String beneficiaryDocumentUrl;
 
-    @Column(name = "donor_count", nullable = false)
+    // Donations minus refunds, materialized from the ledger like currentAmount
+    @Column(name = "donor_count", nullable = false, updatable = false)
     private Integer donorCount = 0;
 
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -89,6 +93,11 @@ public class Campaign {
     @Column(name = "milestones_count", nullable = false)
     private Integer milestonesCount = 0;
 
+    // Bumped on every change to the campaign's representation, including snapshot refreshes
+    // and comment changes that do not touch the row otherwise. Backs conditional GET ETags.
+    @Column(name = "revision", nullable = false, columnDefinition = "bigint default 0")
+    private Long revision = 0L;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -98,6 +107,7 @@ public class Campaign {
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        revision = revision + 1;
     }
 
     public enum CampaignStatus {
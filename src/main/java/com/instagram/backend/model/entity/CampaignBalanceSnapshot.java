@@ -0,0 +1,37 @@
+package com.instagram.backend.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Materialized campaign balance: the sum of all ledger entries written by transactions
+ * below xminWatermark. Maintained only by CampaignLedgerService.materializeSnapshots.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "campaign_balance_snapshots",
+        indexes = @Index(name = "idx_snapshot_xmin_watermark", columnList = "xmin_watermark"))
+public class CampaignBalanceSnapshot {
+
+    @Id
+    @Column(name = "campaign_id")
+    private Long campaignId;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal balance = BigDecimal.ZERO;
+
+    @Column(name = "xmin_watermark", nullable = false)
+    private Long xminWatermark = 0L;
+
+    // Donations minus refunds folded by the run that last updated this row; that same run
+    // applies it to campaigns.donor_count
+    @Column(name = "donor_count_delta", nullable = false)
+    private Integer donorCountDelta = 0;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,70 @@
+package com.instagram.backend.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Append-only posting against a campaign balance. Credits are positive, debits negative;
+ * the entry type and reference id identify the counterparty (donation, refund, withdrawal).
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "campaign_ledger_entries",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_ledger_entry_reference", columnNames = {"entry_type", "reference_id"})
+        },
+        indexes = {
+                @Index(name = "idx_ledger_campaign_id_id", columnList = "campaign_id, id"),
+                @Index(name = "idx_ledger_campaign_xact_id", columnList = "campaign_id, xact_id"),
+                @Index(name = "idx_ledger_xact_id", columnList = "xact_id")
+        }
+)
+public class CampaignLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Plain column rather than an association - entries are written without touching the campaign row
+    @Column(name = "campaign_id", nullable = false, updatable = false)
+    private Long campaignId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false, length = 20, updatable = false)
+    private EntryType entryType;
+
+    @Column(nullable = false, precision = 15, scale = 2, updatable = false)
+    private BigDecimal amount;
+
+    @Column(nullable = false, length = 3, updatable = false)
+    private String currency = "USD";
+
+    // Donation id or withdrawal id, depending on entry type
+    @Column(name = "reference_id", updatable = false)
+    private Long referenceId;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Id of the writing transaction, filled in by Postgres. Unlike id or created_at it tells
+    // whether the entry is committed: every entry below pg_snapshot_xmin is visible
+    @Column(name = "xact_id", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint default cast(cast(pg_current_xact_id() as text) as bigint)")
+    private Long xactId;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public enum EntryType {
+        OPENING_BALANCE,
+        DONATION,
+        REFUND,
+        WITHDRAWAL
+    }
+}
@@ -0,0 +1,68 @@
+package com.instagram.backend.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Pre-aggregated donation totals per (granularity, bucket, campaign, currency).
+ * Written only through the upserts in DonationRollupRepository.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "donation_rollups",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_rollup_bucket",
+                        columnNames = {"granularity", "bucket_start", "campaign_id", "currency"})
+        },
+        indexes = {
+                @Index(name = "idx_rollup_campaign_bucket", columnList = "granularity, campaign_id, bucket_start"),
+                @Index(name = "idx_rollup_category_bucket", columnList = "granularity, category, bucket_start"),
+                @Index(name = "idx_rollup_bucket", columnList = "granularity, bucket_start")
+        }
+)
+public class DonationRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Granularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "campaign_id", nullable = false)
+    private Long campaignId;
+
+    @Column(nullable = false, length = 50)
+    private String category;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(name = "donation_count", nullable = false)
+    private Long donationCount = 0L;
+
+    @Column(name = "donation_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal donationAmount = BigDecimal.ZERO;
+
+    @Column(name = "unique_donor_count", nullable = false)
+    private Long uniqueDonorCount = 0L;
+
+    @Column(name = "refund_count", nullable = false)
+    private Long refundCount = 0L;
+
+    @Column(name = "refund_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal refundAmount = BigDecimal.ZERO;
+
+    public enum Granularity {
+        HOUR,
+        DAY
+    }
+}
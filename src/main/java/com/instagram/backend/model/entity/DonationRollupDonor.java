@@ -0,0 +1,42 @@
+package com.instagram.backend.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Donors already counted in a rollup bucket - lets unique_donor_count be kept
+ * exact with an insert-if-absent instead of a COUNT(DISTINCT) at read time.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "donation_rollup_donors",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_rollup_donor",
+                        columnNames = {"granularity", "bucket_start", "campaign_id", "currency", "donor_id"})
+        }
+)
+public class DonationRollupDonor {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private DonationRollup.Granularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "campaign_id", nullable = false)
+    private Long campaignId;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(name = "donor_id", nullable = false)
+    private Long donorId;
+}
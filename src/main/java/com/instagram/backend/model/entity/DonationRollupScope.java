@@ -0,0 +1,44 @@
+package com.instagram.backend.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Distinct donors per (granularity, bucket, scope, currency) for analytics that span
+ * campaigns. A donor giving to two campaigns in one category counts once here, which
+ * summing DonationRollup.uniqueDonorCount over the campaigns cannot give. The scope is
+ * "category:&lt;name&gt;" or "all". Written only through DonationRollupRepository.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "donation_rollup_scopes",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_rollup_scope",
+                        columnNames = {"granularity", "bucket_start", "scope", "currency"})
+        }
+)
+public class DonationRollupScope {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private DonationRollup.Granularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false, length = 60)
+    private String scope;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(name = "unique_donor_count", nullable = false)
+    private Long uniqueDonorCount = 0L;
+}
@@ -0,0 +1,42 @@
+package com.instagram.backend.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Donors already counted in a DonationRollupScope bucket, the cross-campaign
+ * counterpart of DonationRollupDonor.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "donation_rollup_scope_donors",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_rollup_scope_donor",
+                        columnNames = {"granularity", "bucket_start", "scope", "currency", "donor_id"})
+        }
+)
+public class DonationRollupScopeDonor {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private DonationRollup.Granularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false, length = 60)
+    private String scope;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(name = "donor_id", nullable = false)
+    private Long donorId;
+}
@@ -17,7 +17,7 @@ import java.time.LocalDateTime;
         indexes = {
                 @Index(name = "idx_like_post_id", columnList = "post_id"),
                 @Index(name = "idx_like_reel_id", columnList = "reel_id"),
-                @Index(name = "idx_like_campaign_id", columnList = "campaign_id"),
+                @Index(name = "idx_like_campaign_created", columnList = "campaign_id, created_at, id"),
                 @Index(name = "idx_like_user_id", columnList = "user_id")
         }
 )
@@ -31,7 +31,8 @@ public class Like {
     @JoinColumn(name = "user_id", nullable = false)
     private Profile user;
 
-    // References to MongoDB documents (stored as String IDs)
+    // References to MongoDB documents (stored as String IDs). New post and reel likes go to
+    // content_likes; these columns only hold rows the like store migration has not moved yet
     @Column(name = "post_id")
     private String postId;
 
@@ -4,11 +4,21 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        // Inbox page: WHERE recipient_id = ? ORDER BY last_activity_at DESC
+        @Index(name = "idx_notification_recipient_activity", columnList = "recipient_id, last_activity_at DESC"),
+        // Open aggregate lookup and per-recipient cleanup by age
+        @Index(name = "idx_notification_recipient_created", columnList = "recipient_id, created_at DESC"),
+        // Unread count and mark-all-read
+        @Index(name = "idx_notification_recipient_read", columnList = "recipient_id, is_read")
+})
 public class Notification {
 
     public enum NotificationType {
@@ -33,18 +43,30 @@ public class Notification {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "recipient_id", nullable = false)
     private Profile recipient;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "actor_id")
     private Profile actor;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "campaign_id")
     private Campaign campaign;
 
+    // Display fields copied from actor and campaign when they are set, so the inbox is read
+    // from this table alone (see NotificationProjection). Usernames never change; a new
+    // avatar or title shows on notifications created after the change.
+    @Column(name = "actor_username")
+    private String actorUsername;
+
+    @Column(name = "actor_profile_picture_url", columnDefinition = "TEXT")
+    private String actorProfilePictureUrl;
+
+    @Column(name = "campaign_title")
+    private String campaignTitle;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private NotificationType type;
@@ -70,6 +92,14 @@ public class Notification {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // When the notification last changed for its recipient: creation, or the latest actor
+    // folded into an aggregate. The inbox is ordered by it; created_at stays fixed because it
+    // is the partition key and opens the coalescing window. Rows written before the column
+    // existed start at the epoch and get created_at from the startup backfill.
+    @Column(name = "last_activity_at", nullable = false,
+            columnDefinition = "timestamp(6) not null default '1970-01-01 00:00:00'")
+    private LocalDateTime lastActivityAt;
+
     @Column(name = "read_at")
     private LocalDateTime readAt;
 
@@ -104,11 +134,37 @@ public class Notification {
     @Column(name = "suspension_days")
     private Integer suspensionDays;
 
+    // Coalescing: likes and comments on one target share a row per recipient while it is
+    // unread and inside the window. aggregate_key names the target, e.g. "post:<id>".
+    @Column(name = "aggregate_key")
+    private String aggregateKey;
+
+    @Column(name = "actor_count", nullable = false, columnDefinition = "integer default 1")
+    private Integer actorCount = 1;
+
+    // Newest first, comma-separated
+    @Column(name = "recent_actor_ids")
+    private String recentActorIds;
+
     @PrePersist
     protected void onCreate() {
         if (createdAt == null) {
             createdAt = LocalDateTime.now();
         }
+        if (lastActivityAt == null) {
+            lastActivityAt = createdAt;
+        }
+    }
+
+    public void setActor(Profile actor) {
+        this.actor = actor;
+        this.actorUsername = actor != null ? actor.getUser().getUsername() : null;
+        this.actorProfilePictureUrl = actor != null ? actor.getProfilePictureUrl() : null;
+    }
+
+    public void setCampaign(Campaign campaign) {
+        this.campaign = campaign;
+        this.campaignTitle = campaign != null ? campaign.getTitle() : null;
     }
 
     public void markAsRead() {
@@ -116,6 +172,26 @@ public class Notification {
         this.readAt = LocalDateTime.now();
     }
 
+    /**
+     * Folds another actor into an aggregate. The actor becomes the headline actor and moves
+     * to the front of the recent list; an actor still in that list is not counted again.
+     * The aggregate moves back to the top of the inbox.
+     */
+    public void addActor(Profile newActor, int maxRecentActors) {
+        String id = String.valueOf(newActor.getId());
+        List<String> recent = new ArrayList<>();
+        if (recentActorIds != null && !recentActorIds.isEmpty()) {
+            recent.addAll(Arrays.asList(recentActorIds.split(",")));
+        }
+        if (!recent.remove(id)) {
+            actorCount = actorCount + 1;
+        }
+        recent.add(0, id);
+        recentActorIds = String.join(",", recent.subList(0, Math.min(recent.size(), maxRecentActors)));
+        setActor(newActor);
+        lastActivityAt = LocalDateTime.now();
+    }
+
     public boolean getIsRead() {
         return isRead;
     }
@@ -8,11 +8,21 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @Entity
-@Table(name = "reports", indexes = {
-        @Index(name = "idx_report_status", columnList = "status"),
-        @Index(name = "idx_report_content_type", columnList = "content_type"),
-        @Index(name = "idx_report_created_at", columnList = "created_at")
-})
+@Table(name = "reports",
+        // One report per reporter and target; duplicate checks short-circuit on a filter and rely on these
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_report_user_post", columnNames = {"reported_by_id", "post_id"}),
+                @UniqueConstraint(name = "uk_report_user_reel", columnNames = {"reported_by_id", "reel_id"}),
+                @UniqueConstraint(name = "uk_report_user_comment", columnNames = {"reported_by_id", "comment_id"}),
+                @UniqueConstraint(name = "uk_report_user_campaign", columnNames = {"reported_by_id", "campaign_id"}),
+                @UniqueConstraint(name = "uk_report_user_profile", columnNames = {"reported_by_id", "reported_user_id"})
+        },
+        indexes = {
+                @Index(name = "idx_report_status", columnList = "status"),
+                @Index(name = "idx_report_content_type", columnList = "content_type"),
+                @Index(name = "idx_report_created_at", columnList = "created_at")
+        }
+)
 public class Report {
 
     @Id
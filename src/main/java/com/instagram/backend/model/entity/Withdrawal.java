@@ -76,6 +76,13 @@ public class Withdrawal {
     @Column(name = "processed_at")
     private LocalDateTime processedAt;
 
+    // Payout queue claim (set by the batch processor node that owns the transfer)
+    @Column(name = "payout_claimed_by", length = 100)
+    private String payoutClaimedBy;
+
+    @Column(name = "payout_claimed_at")
+    private LocalDateTime payoutClaimedAt;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
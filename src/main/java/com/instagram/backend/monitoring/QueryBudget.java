@@ -0,0 +1,19 @@
+package com.instagram.backend.monitoring;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides the default per-request query budget for a controller method or class.
+ * A negative value means unlimited.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    int jdbc() default -1;
+
+    int mongo() default -1;
+}
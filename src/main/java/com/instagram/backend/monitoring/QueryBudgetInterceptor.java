@@ -0,0 +1,95 @@
+package com.instagram.backend.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Opens a {@link QueryCounter} scope around each controller call, records the counts per
+ * route and warns when a request goes over its budget - the usual sign of an N+1 pattern.
+ *
+ * Streaming responses (exports, SSE) hand the request to an async dispatch. Their scope
+ * is closed and recorded when concurrent handling starts, because afterCompletion then
+ * runs on another thread. The async dispatch itself is not measured again.
+ */
+@Component
+@Slf4j
+public class QueryBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+    private final int defaultJdbcBudget;
+    private final int defaultMongoBudget;
+
+    public QueryBudgetInterceptor(
+            MeterRegistry meterRegistry,
+            @Value("${query.guard.jdbc-budget:25}") int defaultJdbcBudget,
+            @Value("${query.guard.mongo-budget:25}") int defaultMongoBudget
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.defaultJdbcBudget = defaultJdbcBudget;
+        this.defaultMongoBudget = defaultMongoBudget;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod && request.getDispatcherType() != DispatcherType.ASYNC) {
+            QueryCounter.start();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            record(request, handlerMethod, QueryCounter.stop());
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        if (handler instanceof HandlerMethod handlerMethod && request.getDispatcherType() != DispatcherType.ASYNC) {
+            record(request, handlerMethod, QueryCounter.stop());
+        }
+    }
+
+    private void record(HttpServletRequest request, HandlerMethod handlerMethod, QueryCount count) {
+        // Route template, never the raw path, to keep the tag bounded
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        summary(uri, "postgres").record(count.jdbcStatements());
+        summary(uri, "mongo").record(count.mongoCommands());
+
+        QueryBudget budget = findBudget(handlerMethod);
+        int jdbcBudget = budget != null ? budget.jdbc() : defaultJdbcBudget;
+        int mongoBudget = budget != null ? budget.mongo() : defaultMongoBudget;
+        if (count.exceeds(jdbcBudget, mongoBudget)) {
+            meterRegistry.counter("http.server.requests.query.budget.exceeded", "uri", uri).increment();
+            log.warn("Query budget exceeded: {} {} -> {} (budget jdbc={}, mongo={})",
+                    request.getMethod(), uri, count, jdbcBudget, mongoBudget);
+        }
+    }
+
+    private DistributionSummary summary(String uri, String db) {
+        return DistributionSummary.builder("http.server.requests.queries")
+                .tag("uri", uri)
+                .tag("db", db)
+                .register(meterRegistry);
+    }
+
+    private static QueryBudget findBudget(HandlerMethod handlerMethod) {
+        QueryBudget budget = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), QueryBudget.class);
+        return budget != null ? budget
+                : AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), QueryBudget.class);
+    }
+}
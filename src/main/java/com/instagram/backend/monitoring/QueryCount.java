@@ -0,0 +1,33 @@
+package com.instagram.backend.monitoring;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statements and commands issued within one {@link QueryCounter} scope.
+ */
+public record QueryCount(int jdbcStatements, int mongoCommands, long jdbcNanos, long mongoNanos) {
+
+    public static final QueryCount NONE = new QueryCount(0, 0, 0, 0);
+
+    public boolean exceeds(int jdbcBudget, int mongoBudget) {
+        return (jdbcBudget >= 0 && jdbcStatements > jdbcBudget)
+                || (mongoBudget >= 0 && mongoCommands > mongoBudget);
+    }
+
+    /**
+     * Test assertion; a negative budget means unlimited.
+     */
+    public QueryCount assertAtMost(int jdbcBudget, int mongoBudget) {
+        if (exceeds(jdbcBudget, mongoBudget)) {
+            throw new AssertionError("Query budget exceeded: " + this
+                    + " (budget jdbc=" + jdbcBudget + ", mongo=" + mongoBudget + ")");
+        }
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "jdbc=" + jdbcStatements + " (" + TimeUnit.NANOSECONDS.toMillis(jdbcNanos) + "ms)"
+                + ", mongo=" + mongoCommands + " (" + TimeUnit.NANOSECONDS.toMillis(mongoNanos) + "ms)";
+    }
+}
@@ -0,0 +1,102 @@
+package com.instagram.backend.monitoring;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Counts JDBC statements and Mongo commands issued by the current thread. A scope is opened
+ * per request by {@link QueryBudgetInterceptor}; tests can open their own with
+ * {@link #measure(Callable)} and assert on the result:
+ *
+ * <pre>
+ * QueryCounter.measure(() -> mockMvc.perform(get("/api/v1/posts/feed")...))
+ *         .assertAtMost(3, 2);
+ * </pre>
+ *
+ * Scopes nest: counts of an inner scope are added to the enclosing one when it closes.
+ * Work handed off to other threads is not attributed.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static void start() {
+        CURRENT.set(new Scope(CURRENT.get()));
+    }
+
+    /**
+     * Closes the innermost scope and returns its counts (zero if none was open).
+     */
+    public static QueryCount stop() {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            return QueryCount.NONE;
+        }
+        if (scope.parent != null) {
+            scope.parent.add(scope);
+        }
+        if (scope.parent == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(scope.parent);
+        }
+        return scope.snapshot();
+    }
+
+    public static <T> QueryCount measure(Callable<T> work) throws Exception {
+        QueryCount count;
+        start();
+        try {
+            work.call();
+        } finally {
+            count = stop();
+        }
+        return count;
+    }
+
+    public static QueryCount current() {
+        Scope scope = CURRENT.get();
+        return scope == null ? QueryCount.NONE : scope.snapshot();
+    }
+
+    static void recordJdbc(long nanos) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.jdbcStatements++;
+            scope.jdbcNanos += nanos;
+        }
+    }
+
+    static void recordMongo(long nanos) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.mongoCommands++;
+            scope.mongoNanos += nanos;
+        }
+    }
+
+    private static final class Scope {
+        private final Scope parent;
+        private int jdbcStatements;
+        private int mongoCommands;
+        private long jdbcNanos;
+        private long mongoNanos;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        private void add(Scope child) {
+            jdbcStatements += child.jdbcStatements;
+            mongoCommands += child.mongoCommands;
+            jdbcNanos += child.jdbcNanos;
+            mongoNanos += child.mongoNanos;
+        }
+
+        private QueryCount snapshot() {
+            return new QueryCount(jdbcStatements, mongoCommands, jdbcNanos, mongoNanos);
+        }
+    }
+}
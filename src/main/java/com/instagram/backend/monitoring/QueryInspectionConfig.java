@@ -0,0 +1,90 @@
+package com.instagram.backend.monitoring;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+import lombok.RequiredArgsConstructor;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wires statement inspection into both databases: the JDBC DataSource is wrapped with
+ * datasource-proxy and the Mongo driver gets a command listener. Both feed the per-request
+ * {@link QueryCounter} and the {@link SlowQueryLogger}.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class QueryInspectionConfig implements WebMvcConfigurer {
+
+    private final QueryBudgetInterceptor queryBudgetInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(queryBudgetInterceptor).addPathPatterns("/api/**");
+    }
+
+    // static: a BeanPostProcessor must not pull the configuration class in early
+    @Bean
+    public static BeanPostProcessor queryInspectingDataSourcePostProcessor(ObjectProvider<SlowQueryLogger> slowQueryLogger) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new JdbcListener(slowQueryLogger))
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoCommandInspector(SlowQueryLogger slowQueryLogger) {
+        return builder -> builder.addCommandListener(new CommandListener() {
+            @Override
+            public void commandSucceeded(CommandSucceededEvent event) {
+                long nanos = event.getElapsedTime(TimeUnit.NANOSECONDS);
+                QueryCounter.recordMongo(nanos);
+                slowQueryLogger.mongo(event.getCommandName(), event.getDatabaseName(), nanos);
+            }
+
+            @Override
+            public void commandFailed(CommandFailedEvent event) {
+                QueryCounter.recordMongo(event.getElapsedTime(TimeUnit.NANOSECONDS));
+            }
+        });
+    }
+
+    private record JdbcListener(ObjectProvider<SlowQueryLogger> slowQueryLogger) implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            // One round trip per execution, a JDBC batch counts once
+            long nanos = TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime());
+            QueryCounter.recordJdbc(nanos);
+            if (!queryInfoList.isEmpty()) {
+                slowQueryLogger.getObject().jdbc(queryInfoList.get(0).getQuery(), nanos);
+            }
+        }
+    }
+}
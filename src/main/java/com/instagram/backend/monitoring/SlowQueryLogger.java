@@ -0,0 +1,66 @@
+package com.instagram.backend.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts every statement over the threshold and logs a sample of them. Sampling keeps
+ * the log readable when the database is saturated and every statement turns slow.
+ */
+@Component
+@Slf4j
+public class SlowQueryLogger {
+
+    private static final int MAX_STATEMENT_LENGTH = 500;
+
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final Counter slowJdbc;
+    private final Counter slowMongo;
+
+    public SlowQueryLogger(
+            @Value("${query.guard.slow-threshold-ms:200}") long thresholdMs,
+            @Value("${query.guard.slow-log-sample-rate:0.1}") double sampleRate,
+            MeterRegistry meterRegistry
+    ) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        this.sampleRate = sampleRate;
+        this.slowJdbc = Counter.builder("db.queries.slow").tag("db", "postgres").register(meterRegistry);
+        this.slowMongo = Counter.builder("db.queries.slow").tag("db", "mongo").register(meterRegistry);
+    }
+
+    void jdbc(String sql, long nanos) {
+        if (nanos < thresholdNanos) {
+            return;
+        }
+        slowJdbc.increment();
+        if (sampled()) {
+            log.warn("Slow JDBC statement: {}ms, {}", TimeUnit.NANOSECONDS.toMillis(nanos), truncate(sql));
+        }
+    }
+
+    void mongo(String commandName, String database, long nanos) {
+        if (nanos < thresholdNanos) {
+            return;
+        }
+        slowMongo.increment();
+        if (sampled()) {
+            log.warn("Slow Mongo command: {}ms, {} on {}", TimeUnit.NANOSECONDS.toMillis(nanos), commandName, database);
+        }
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private static String truncate(String sql) {
+        // Statements are logged without bind parameters, so no donor or bank data leaks here
+        return sql.length() <= MAX_STATEMENT_LENGTH ? sql : sql.substring(0, MAX_STATEMENT_LENGTH) + "...";
+    }
+}
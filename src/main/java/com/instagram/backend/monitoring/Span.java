@@ -0,0 +1,39 @@
+package com.instagram.backend.monitoring;
+
+import lombok.Getter;
+
+/**
+ * A timed section within a {@link Trace}. Times are System.nanoTime values.
+ */
+@Getter
+public class Span {
+
+    private final int id;
+    private final int parentId;
+    private final String name;
+    private final String layer;
+    private final String thread;
+    private final long startNanos;
+    private volatile long endNanos;
+
+    Span(int id, int parentId, String name, String layer, String thread, long startNanos) {
+        this.id = id;
+        this.parentId = parentId;
+        this.name = name;
+        this.layer = layer;
+        this.thread = thread;
+        this.startNanos = startNanos;
+    }
+
+    void end(long nanos) {
+        this.endNanos = nanos;
+    }
+
+    public boolean isEnded() {
+        return endNanos != 0;
+    }
+
+    public long getDurationNanos() {
+        return isEnded() ? endNanos - startNanos : 0;
+    }
+}
@@ -0,0 +1,63 @@
+package com.instagram.backend.monitoring;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One sampled request. Spans may be added from executor threads while the request runs,
+ * so the span list is guarded by the trace itself.
+ */
+@Getter
+public class Trace {
+
+    private final long id;
+    private final long startEpochMillis;
+    private final long startNanos;
+    private final int maxSpans;
+    private final List<Span> spans = new ArrayList<>();
+    private final AtomicInteger droppedSpans = new AtomicInteger();
+    private volatile String name;
+    private volatile int status;
+
+    Trace(long id, String name, int maxSpans) {
+        this.id = id;
+        this.name = name;
+        this.maxSpans = maxSpans;
+        this.startEpochMillis = System.currentTimeMillis();
+        this.startNanos = System.nanoTime();
+    }
+
+    Span addSpan(Span parent, String spanName, String layer, long startNanos) {
+        synchronized (spans) {
+            if (spans.size() >= maxSpans) {
+                // Loops (N+1) can produce thousands of spans; keep the trace bounded
+                droppedSpans.incrementAndGet();
+                return null;
+            }
+            Span span = new Span(spans.size(), parent == null ? -1 : parent.getId(), spanName, layer,
+                    Thread.currentThread().getName(), startNanos);
+            spans.add(span);
+            return span;
+        }
+    }
+
+    public List<Span> getSpans() {
+        synchronized (spans) {
+            return List.copyOf(spans);
+        }
+    }
+
+    public Span getRoot() {
+        synchronized (spans) {
+            return spans.isEmpty() ? null : spans.get(0);
+        }
+    }
+
+    void complete(String finalName, int finalStatus) {
+        this.name = finalName;
+        this.status = finalStatus;
+    }
+}
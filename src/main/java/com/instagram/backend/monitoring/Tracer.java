@@ -0,0 +1,150 @@
+package com.instagram.backend.monitoring;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * In-process request tracing. Sampled requests get a {@link Trace}; spans are opened by
+ * {@link TracingAspect} and completed traces are kept in a fixed-size ring buffer.
+ *
+ * With sampling off, the only per-call cost is a ThreadLocal read in the aspect.
+ */
+@Component
+public class Tracer {
+
+    private static final ThreadLocal<Context> CURRENT = new ThreadLocal<>();
+
+    private final AtomicReferenceArray<Trace> buffer;
+    private final AtomicLong sequence = new AtomicLong();
+    private final int maxSpansPerTrace;
+
+    @Getter
+    private volatile double sampleRate;
+
+    public Tracer(
+            @Value("${tracing.sample-rate:0.0}") double sampleRate,
+            @Value("${tracing.buffer-size:500}") int bufferSize,
+            @Value("${tracing.max-spans-per-trace:2000}") int maxSpansPerTrace
+    ) {
+        this.buffer = new AtomicReferenceArray<>(bufferSize);
+        this.maxSpansPerTrace = maxSpansPerTrace;
+        setSampleRate(sampleRate);
+    }
+
+    public void setSampleRate(double sampleRate) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("Sample rate must be between 0 and 1");
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    public boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    // ===== TRACES =====
+
+    /**
+     * Starts a trace on the current thread if this request is sampled. Returns null otherwise.
+     */
+    Trace startTrace(String name) {
+        double rate = sampleRate;
+        if (rate <= 0 || (rate < 1 && ThreadLocalRandom.current().nextDouble() >= rate)) {
+            return null;
+        }
+        Trace trace = new Trace(sequence.incrementAndGet(), name, maxSpansPerTrace);
+        Span root = trace.addSpan(null, name, "request", trace.getStartNanos());
+        CURRENT.set(new Context(trace, root, null));
+        return trace;
+    }
+
+    void finishTrace(Trace trace, String name, int status) {
+        CURRENT.remove();
+        Span root = trace.getRoot();
+        root.end(System.nanoTime());
+        trace.complete(name, status);
+        buffer.set((int) (trace.getId() % buffer.length()), trace);
+    }
+
+    /**
+     * Completed traces, newest first.
+     */
+    public List<Trace> getTraces() {
+        List<Trace> traces = new ArrayList<>(buffer.length());
+        long newest = sequence.get();
+        for (long id = newest; id > newest - buffer.length() && id > 0; id--) {
+            Trace trace = buffer.get((int) (id % buffer.length()));
+            if (trace != null && trace.getId() == id) {
+                traces.add(trace);
+            }
+        }
+        return traces;
+    }
+
+    // ===== SPANS =====
+
+    Span startSpan(String name, String layer) {
+        Context context = CURRENT.get();
+        if (context == null) {
+            return null;
+        }
+        Span span = context.trace().addSpan(context.span(), name, layer, System.nanoTime());
+        if (span != null) {
+            CURRENT.set(new Context(context.trace(), span, context));
+        }
+        return span;
+    }
+
+    void endSpan(Span span) {
+        span.end(System.nanoTime());
+        Context context = CURRENT.get();
+        if (context != null && context.span() == span && context.parent() != null) {
+            CURRENT.set(context.parent());
+        }
+    }
+
+    /**
+     * Records an already finished section, e.g. response serialization measured by the filter.
+     */
+    void recordSpan(Trace trace, String name, String layer, long startNanos, long endNanos) {
+        Span span = trace.addSpan(trace.getRoot(), name, layer, startNanos);
+        if (span != null) {
+            span.end(endNanos);
+        }
+    }
+
+    // ===== PROPAGATION =====
+
+    /**
+     * Carries the current trace over to another thread; used by the executor TaskDecorator.
+     */
+    public Runnable wrap(Runnable task) {
+        Context captured = CURRENT.get();
+        if (captured == null) {
+            return task;
+        }
+        return () -> {
+            Context previous = CURRENT.get();
+            CURRENT.set(captured);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    private record Context(Trace trace, Span span, Context parent) {
+    }
+}
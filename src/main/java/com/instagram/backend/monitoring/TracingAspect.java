@@ -0,0 +1,92 @@
+package com.instagram.backend.monitoring;
+
+import com.instagram.backend.service.PaymentService;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opens spans around controller, service, repository and payment gateway calls.
+ * Span names are only built when the current request is being traced.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class TracingAspect {
+
+    private static final String REPOSITORY_PACKAGE = "com.instagram.backend.repository";
+
+    private final Tracer tracer;
+
+    // Repository proxies are JDK proxies; resolve the declared interface once per proxy class
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Pointcut("within(com.instagram.backend.controller..*)")
+    void controllers() {
+    }
+
+    @Pointcut("within(com.instagram.backend.service..*)")
+    void services() {
+    }
+
+    @Pointcut("execution(* org.springframework.data.repository.Repository+.*(..))")
+    void repositories() {
+    }
+
+    @Around("controllers()")
+    public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!tracer.isActive()) {
+            return joinPoint.proceed();
+        }
+        return proceed(joinPoint, typeName(joinPoint), "controller");
+    }
+
+    @Around("services()")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!tracer.isActive()) {
+            return joinPoint.proceed();
+        }
+        String layer = joinPoint.getTarget() instanceof PaymentService ? "gateway" : "service";
+        return proceed(joinPoint, typeName(joinPoint), layer);
+    }
+
+    @Around("repositories()")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!tracer.isActive()) {
+            return joinPoint.proceed();
+        }
+        String type = repositoryNames.computeIfAbsent(joinPoint.getThis().getClass(), TracingAspect::repositoryName);
+        return proceed(joinPoint, type, "repository");
+    }
+
+    private Object proceed(ProceedingJoinPoint joinPoint, String type, String layer) throws Throwable {
+        Span span = tracer.startSpan(type + "." + joinPoint.getSignature().getName(), layer);
+        if (span == null) {
+            return joinPoint.proceed();
+        }
+        try {
+            return joinPoint.proceed();
+        } finally {
+            tracer.endSpan(span);
+        }
+    }
+
+    private static String typeName(ProceedingJoinPoint joinPoint) {
+        return joinPoint.getSignature().getDeclaringType().getSimpleName();
+    }
+
+    private static String repositoryName(Class<?> proxyClass) {
+        for (Class<?> candidate : proxyClass.getInterfaces()) {
+            if (candidate.getName().startsWith(REPOSITORY_PACKAGE)) {
+                return candidate.getSimpleName();
+            }
+        }
+        return proxyClass.getSimpleName();
+    }
+}
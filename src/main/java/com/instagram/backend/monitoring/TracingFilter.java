@@ -0,0 +1,66 @@
+package com.instagram.backend.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Starts a trace for sampled API requests. Runs ahead of the security chain so JWT
+ * validation shows up in the waterfall. Time between the controller returning and the
+ * response being written is recorded as a serialization span.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class TracingFilter extends OncePerRequestFilter {
+
+    private final Tracer tracer;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Trace trace = tracer.startTrace(request.getMethod() + " " + request.getRequestURI());
+        if (trace == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long now = System.nanoTime();
+            long controllerEnd = lastControllerEnd(trace);
+            if (controllerEnd > 0) {
+                tracer.recordSpan(trace, "response.write", "serialization", controllerEnd, now);
+            }
+
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String name = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+            tracer.finishTrace(trace, name, response.getStatus());
+        }
+    }
+
+    private static long lastControllerEnd(Trace trace) {
+        long end = 0;
+        for (Span span : trace.getSpans()) {
+            if ("controller".equals(span.getLayer()) && span.getEndNanos() > end) {
+                end = span.getEndNanos();
+            }
+        }
+        return end;
+    }
+}
@@ -0,0 +1,21 @@
+package com.instagram.backend.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Picked up by Spring Boot's task executor auto-configuration, so @Async methods and async
+ * MVC responses (e.g. streaming exports) stay attached to the request's trace.
+ */
+@Component
+@RequiredArgsConstructor
+public class TracingTaskDecorator implements TaskDecorator {
+
+    private final Tracer tracer;
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return tracer.wrap(runnable);
+    }
+}
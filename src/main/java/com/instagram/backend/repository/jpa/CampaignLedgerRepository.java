@@ -0,0 +1,90 @@
+package com.instagram.backend.repository.jpa;
+
+import com.instagram.backend.model.entity.CampaignLedgerEntry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Repository
+public interface CampaignLedgerRepository extends JpaRepository<CampaignLedgerEntry, Long> {
+
+    Page<CampaignLedgerEntry> findByCampaignIdOrderByIdDesc(Long campaignId, Pageable pageable);
+
+    /**
+     * Snapshot balance plus the sum of entries its watermark has not covered - a PK lookup
+     * and a short index range scan on (campaign_id, xact_id), independent of total ledger size.
+     */
+    @Query(value = "SELECT COALESCE(s.balance, 0) + COALESCE((" +
+            "SELECT SUM(e.amount) FROM campaign_ledger_entries e " +
+            "WHERE e.campaign_id = :campaignId AND e.xact_id >= COALESCE(s.xmin_watermark, 0)), 0) " +
+            "FROM (SELECT 1) AS one " +
+            "LEFT JOIN campaign_balance_snapshots s ON s.campaign_id = :campaignId", nativeQuery = true)
+    BigDecimal getBalance(@Param("campaignId") Long campaignId);
+
+    /**
+     * Oldest transaction still running: every entry written below it is committed and visible.
+     */
+    @Query(value = "SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint)", nativeQuery = true)
+    long findVisibleXmin();
+
+    /**
+     * Watermark of the last run; entries below it are in the snapshots.
+     */
+    @Query(value = "SELECT COALESCE(MAX(xmin_watermark), 0) FROM campaign_balance_snapshots", nativeQuery = true)
+    long findMaterializedWatermark();
+
+    /**
+     * Single-node guard for snapshot materialization (released at transaction end).
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:lockKey)", nativeQuery = true)
+    boolean tryAdvisoryLock(@Param("lockKey") long lockKey);
+
+    /**
+     * Fold entries written by transactions in [fromXid, toXid) into the snapshots, creating them
+     * if needed. Reads only that range of idx_ledger_xact_id.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO campaign_balance_snapshots " +
+            "(campaign_id, balance, donor_count_delta, xmin_watermark, updated_at) " +
+            "SELECT e.campaign_id, SUM(e.amount), " +
+            "SUM(CASE e.entry_type WHEN 'DONATION' THEN 1 WHEN 'REFUND' THEN -1 ELSE 0 END), :toXid, :now " +
+            "FROM campaign_ledger_entries e " +
+            "WHERE e.xact_id >= :fromXid AND e.xact_id < :toXid " +
+            "GROUP BY e.campaign_id " +
+            "ON CONFLICT (campaign_id) DO UPDATE SET " +
+            "balance = campaign_balance_snapshots.balance + EXCLUDED.balance, " +
+            "donor_count_delta = EXCLUDED.donor_count_delta, " +
+            "xmin_watermark = EXCLUDED.xmin_watermark, " +
+            "updated_at = EXCLUDED.updated_at", nativeQuery = true)
+    int materializeSnapshots(@Param("fromXid") long fromXid, @Param("toXid") long toXid,
+                             @Param("now") LocalDateTime now);
+
+    /**
+     * Copy freshly materialized balances and donor counts onto campaigns for list and sort
+     * queries - one row write per campaign per run rather than per donation.
+     */
+    @Modifying
+    @Query(value = "UPDATE campaigns c SET current_amount = s.balance, " +
+            "donor_count = GREATEST(c.donor_count + s.donor_count_delta, 0), revision = c.revision + 1 " +
+            "FROM campaign_balance_snapshots s " +
+            "WHERE s.campaign_id = c.id AND s.updated_at = :now", nativeQuery = true)
+    int refreshCampaignAmounts(@Param("now") LocalDateTime now);
+
+    /**
+     * One-time opening balance for campaigns that predate the ledger.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO campaign_ledger_entries (campaign_id, entry_type, amount, currency, reference_id, created_at) " +
+            "SELECT c.id, 'OPENING_BALANCE', c.current_amount, c.currency, c.id, :now FROM campaigns c " +
+            "WHERE c.current_amount <> 0 " +
+            "AND NOT EXISTS (SELECT 1 FROM campaign_ledger_entries e WHERE e.campaign_id = c.id) " +
+            "ON CONFLICT (entry_type, reference_id) DO NOTHING", nativeQuery = true)
+    int insertOpeningBalances(@Param("now") LocalDateTime now);
+}
@@ -1,16 +1,19 @@
 package com.instagram.backend.repository.jpa;
 
+import com.instagram.backend.dto.projection.CampaignVersionProjection;
 import com.instagram.backend.model.entity.Campaign;
 import com.instagram.backend.model.entity.Campaign.CampaignStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CampaignRepository extends JpaRepository<Campaign, Long> {
@@ -31,4 +34,20 @@ public interface CampaignRepository extends JpaRepository<Campaign, Long> {
     Page<Campaign> findTrendingCampaigns(Pageable pageable);
 
     long countByCreatorIdAndStatus(Long creatorId, CampaignStatus status);
+
+    @Modifying
+    @Query("UPDATE Campaign c SET c.revision = c.revision + 1 WHERE c.id = :campaignId")
+    int incrementRevision(@Param("campaignId") Long campaignId);
+
+    /**
+     * Version probe for conditional GETs. Likes and the live ledger balance are read here
+     * rather than bumping the revision, so liking or donating to a hot campaign never writes its row.
+     */
+    @Query("SELECT c.revision AS revision, c.updatedAt AS updatedAt, p.updatedAt AS creatorUpdatedAt, " +
+            "(SELECT MAX(e.id) FROM CampaignLedgerEntry e WHERE e.campaignId = c.id) AS lastLedgerEntryId, " +
+            "(SELECT COUNT(l) FROM Like l WHERE l.campaign.id = c.id) AS likesCount, " +
+            "(SELECT COUNT(l) FROM Like l WHERE l.campaign.id = c.id AND l.user.id = :viewerId) AS viewerLikes " +
+            "FROM Campaign c JOIN c.creator p WHERE c.id = :campaignId")
+    Optional<CampaignVersionProjection> findVersionById(@Param("campaignId") Long campaignId,
+                                                        @Param("viewerId") Long viewerId);
 }
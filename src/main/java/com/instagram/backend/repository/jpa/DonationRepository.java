@@ -1,17 +1,25 @@
 package com.instagram.backend.repository.jpa;
 
+import com.instagram.backend.dto.projection.DonationProjection;
 import com.instagram.backend.model.entity.Donation;
 import com.instagram.backend.model.entity.Donation.PaymentStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface DonationRepository extends JpaRepository<Donation, Long> {
@@ -46,4 +54,20 @@ public interface DonationRepository extends JpaRepository<Donation, Long> {
 
     // FIXED: Added method to find completed donations by campaign
     List<Donation> findByCampaignIdAndPaymentStatus(Long campaignId, PaymentStatus paymentStatus);
-}
\ No newline at end of file
+
+    /**
+     * Cursor over a campaign's donations for streaming export. Must be consumed
+     * inside a transaction so the driver honours the fetch size.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT d.id AS id, d.campaign.id AS campaignId, p.id AS donorId, u.username AS donorUsername, " +
+            "d.isAnonymous AS isAnonymous, d.amount AS amount, d.currency AS currency, " +
+            "d.paymentStatus AS paymentStatus, d.paymentMethod AS paymentMethod, " +
+            "d.transactionId AS transactionId, d.refundAmount AS refundAmount, d.createdAt AS createdAt " +
+            "FROM Donation d JOIN d.donor p JOIN p.user u " +
+            "WHERE d.campaign.id = :campaignId ORDER BY d.id")
+    Stream<DonationProjection> streamByCampaignId(@Param("campaignId") Long campaignId);
+}
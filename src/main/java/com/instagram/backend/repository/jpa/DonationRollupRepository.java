@@ -0,0 +1,224 @@
+package com.instagram.backend.repository.jpa;
+
+import com.instagram.backend.dto.response.DonationAnalyticsResponse;
+import com.instagram.backend.model.entity.DonationRollup;
+import com.instagram.backend.model.entity.DonationRollup.Granularity;
+import com.instagram.backend.model.entity.DonationRollupScope;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DonationRollupRepository extends JpaRepository<DonationRollup, Long> {
+
+    /**
+     * Totals per bucket and currency. uniqueDonorCount is exact for a single campaign only:
+     * summed over several it counts a donor once per campaign, so cross-campaign reads take
+     * it from {@link #findScopeDonorCounts} instead.
+     */
+    @Query("SELECT new com.instagram.backend.dto.response.DonationAnalyticsResponse(" +
+            "r.bucketStart, r.currency, SUM(r.donationCount), SUM(r.donationAmount), " +
+            "SUM(r.uniqueDonorCount), SUM(r.refundCount), SUM(r.refundAmount)) " +
+            "FROM DonationRollup r " +
+            "WHERE r.granularity = :granularity " +
+            "AND r.bucketStart >= :from AND r.bucketStart < :to " +
+            "AND (:campaignId IS NULL OR r.campaignId = :campaignId) " +
+            "AND (:category IS NULL OR r.category = :category) " +
+            "AND (:currency IS NULL OR r.currency = :currency) " +
+            "GROUP BY r.bucketStart, r.currency " +
+            "ORDER BY r.bucketStart ASC, r.currency ASC")
+    List<DonationAnalyticsResponse> aggregate(
+            @Param("granularity") Granularity granularity,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("campaignId") Long campaignId,
+            @Param("category") String category,
+            @Param("currency") String currency
+    );
+
+    @Query("SELECT s FROM DonationRollupScope s WHERE s.granularity = :granularity AND s.scope = :scope " +
+            "AND s.bucketStart >= :from AND s.bucketStart < :to " +
+            "AND (:currency IS NULL OR s.currency = :currency)")
+    List<DonationRollupScope> findScopeDonorCounts(
+            @Param("granularity") Granularity granularity,
+            @Param("scope") String scope,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("currency") String currency
+    );
+
+    // ==================== INCREMENTAL UPSERTS ====================
+
+    /**
+     * Returns 1 the first time a donor is seen in a bucket, 0 afterwards.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO donation_rollup_donors (granularity, bucket_start, campaign_id, currency, donor_id) " +
+            "VALUES (:granularity, :bucketStart, :campaignId, :currency, :donorId) " +
+            "ON CONFLICT ON CONSTRAINT uk_rollup_donor DO NOTHING", nativeQuery = true)
+    int markDonorSeen(
+            @Param("granularity") String granularity,
+            @Param("bucketStart") LocalDateTime bucketStart,
+            @Param("campaignId") Long campaignId,
+            @Param("currency") String currency,
+            @Param("donorId") Long donorId
+    );
+
+    /** Same as {@link #markDonorSeen} for a cross-campaign scope. */
+    @Modifying
+    @Query(value = "INSERT INTO donation_rollup_scope_donors (granularity, bucket_start, scope, currency, donor_id) " +
+            "VALUES (:granularity, :bucketStart, :scope, :currency, :donorId) " +
+            "ON CONFLICT ON CONSTRAINT uk_rollup_scope_donor DO NOTHING", nativeQuery = true)
+    int markScopeDonorSeen(
+            @Param("granularity") String granularity,
+            @Param("bucketStart") LocalDateTime bucketStart,
+            @Param("scope") String scope,
+            @Param("currency") String currency,
+            @Param("donorId") Long donorId
+    );
+
+    @Modifying
+    @Query(value = "INSERT INTO donation_rollup_scopes (granularity, bucket_start, scope, currency, unique_donor_count) " +
+            "VALUES (:granularity, :bucketStart, :scope, :currency, 1) " +
+            "ON CONFLICT ON CONSTRAINT uk_rollup_scope DO UPDATE SET " +
+            "unique_donor_count = donation_rollup_scopes.unique_donor_count + 1", nativeQuery = true)
+    int addScopeDonor(
+            @Param("granularity") String granularity,
+            @Param("bucketStart") LocalDateTime bucketStart,
+            @Param("scope") String scope,
+            @Param("currency") String currency
+    );
+
+    @Modifying
+    @Query(value = "INSERT INTO donation_rollups (granularity, bucket_start, campaign_id, category, currency, " +
+            "donation_count, donation_amount, unique_donor_count, refund_count, refund_amount) " +
+            "VALUES (:granularity, :bucketStart, :campaignId, :category, :currency, 1, :amount, :newDonors, 0, 0) " +
+            "ON CONFLICT ON CONSTRAINT uk_rollup_bucket DO UPDATE SET " +
+            "donation_count = donation_rollups.donation_count + 1, " +
+            "donation_amount = donation_rollups.donation_amount + EXCLUDED.donation_amount, " +
+            "unique_donor_count = donation_rollups.unique_donor_count + EXCLUDED.unique_donor_count", nativeQuery = true)
+    int addDonation(
+            @Param("granularity") String granularity,
+            @Param("bucketStart") LocalDateTime bucketStart,
+            @Param("campaignId") Long campaignId,
+            @Param("category") String category,
+            @Param("currency") String currency,
+            @Param("amount") BigDecimal amount,
+            @Param("newDonors") int newDonors
+    );
+
+    @Modifying
+    @Query(value = "INSERT INTO donation_rollups (granularity, bucket_start, campaign_id, category, currency, " +
+            "donation_count, donation_amount, unique_donor_count, refund_count, refund_amount) " +
+            "VALUES (:granularity, :bucketStart, :campaignId, :category, :currency, 0, 0, 0, 1, :amount) " +
+            "ON CONFLICT ON CONSTRAINT uk_rollup_bucket DO UPDATE SET " +
+            "refund_count = donation_rollups.refund_count + 1, " +
+            "refund_amount = donation_rollups.refund_amount + EXCLUDED.refund_amount", nativeQuery = true)
+    int addRefund(
+            @Param("granularity") String granularity,
+            @Param("bucketStart") LocalDateTime bucketStart,
+            @Param("campaignId") Long campaignId,
+            @Param("category") String category,
+            @Param("currency") String currency,
+            @Param("amount") BigDecimal amount
+    );
+
+    // ==================== REBUILD ====================
+
+    @Modifying
+    @Query(value = "DELETE FROM donation_rollups WHERE granularity = :granularity " +
+            "AND bucket_start >= :from AND bucket_start < :to", nativeQuery = true)
+    int deleteRollups(@Param("granularity") String granularity, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query(value = "DELETE FROM donation_rollup_donors WHERE granularity = :granularity " +
+            "AND bucket_start >= :from AND bucket_start < :to", nativeQuery = true)
+    int deleteRollupDonors(@Param("granularity") String granularity, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query(value = "DELETE FROM donation_rollup_scopes WHERE granularity = :granularity " +
+            "AND bucket_start >= :from AND bucket_start < :to", nativeQuery = true)
+    int deleteRollupScopes(@Param("granularity") String granularity, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query(value = "DELETE FROM donation_rollup_scope_donors WHERE granularity = :granularity " +
+            "AND bucket_start >= :from AND bucket_start < :to", nativeQuery = true)
+    int deleteRollupScopeDonors(@Param("granularity") String granularity, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Recompute rollups for [from, to) from the donations table. The range must be aligned
+     * to the granularity so no bucket is half rebuilt. Refunds are bucketed by updated_at,
+     * the time the refund was recorded.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO donation_rollups (granularity, bucket_start, campaign_id, category, currency, " +
+            "donation_count, donation_amount, unique_donor_count, refund_count, refund_amount) " +
+            "SELECT :granularity, b.bucket_start, b.campaign_id, c.category, b.currency, " +
+            "SUM(b.donation_count), SUM(b.donation_amount), SUM(b.unique_donor_count), " +
+            "SUM(b.refund_count), SUM(b.refund_amount) " +
+            "FROM (" +
+            "  SELECT date_trunc(:truncUnit, d.created_at) AS bucket_start, d.campaign_id, d.currency, " +
+            "  COUNT(*) AS donation_count, SUM(d.amount) AS donation_amount, " +
+            "  COUNT(DISTINCT d.donor_id) AS unique_donor_count, 0 AS refund_count, 0 AS refund_amount " +
+            "  FROM donations d WHERE d.payment_status IN ('COMPLETED', 'REFUNDED', 'PARTIALLY_REFUNDED') " +
+            "  AND d.created_at >= :from AND d.created_at < :to " +
+            "  GROUP BY 1, d.campaign_id, d.currency " +
+            "  UNION ALL " +
+            "  SELECT date_trunc(:truncUnit, d.updated_at), d.campaign_id, d.currency, " +
+            "  0, 0, 0, COUNT(*), SUM(COALESCE(d.refund_amount, d.amount)) " +
+            "  FROM donations d WHERE d.payment_status IN ('REFUNDED', 'PARTIALLY_REFUNDED') " +
+            "  AND d.updated_at >= :from AND d.updated_at < :to " +
+            "  GROUP BY 1, d.campaign_id, d.currency" +
+            ") b JOIN campaigns c ON c.id = b.campaign_id " +
+            "GROUP BY b.bucket_start, b.campaign_id, c.category, b.currency", nativeQuery = true)
+    int rebuildRollups(
+            @Param("granularity") String granularity,
+            @Param("truncUnit") String truncUnit,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    @Modifying
+    @Query(value = "INSERT INTO donation_rollup_donors (granularity, bucket_start, campaign_id, currency, donor_id) " +
+            "SELECT DISTINCT :granularity, date_trunc(:truncUnit, d.created_at), d.campaign_id, d.currency, d.donor_id " +
+            "FROM donations d WHERE d.payment_status IN ('COMPLETED', 'REFUNDED', 'PARTIALLY_REFUNDED') " +
+            "AND d.created_at >= :from AND d.created_at < :to", nativeQuery = true)
+    int rebuildRollupDonors(
+            @Param("granularity") String granularity,
+            @Param("truncUnit") String truncUnit,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    /** Each donor once per category and once overall; scopes must be rebuilt from these after. */
+    @Modifying
+    @Query(value = "INSERT INTO donation_rollup_scope_donors (granularity, bucket_start, scope, currency, donor_id) " +
+            "SELECT DISTINCT :granularity, date_trunc(:truncUnit, d.created_at), s.scope, d.currency, d.donor_id " +
+            "FROM donations d JOIN campaigns c ON c.id = d.campaign_id " +
+            "CROSS JOIN LATERAL (VALUES ('category:' || c.category), ('all')) AS s(scope) " +
+            "WHERE d.payment_status IN ('COMPLETED', 'REFUNDED', 'PARTIALLY_REFUNDED') " +
+            "AND d.created_at >= :from AND d.created_at < :to", nativeQuery = true)
+    int rebuildRollupScopeDonors(
+            @Param("granularity") String granularity,
+            @Param("truncUnit") String truncUnit,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    @Modifying
+    @Query(value = "INSERT INTO donation_rollup_scopes (granularity, bucket_start, scope, currency, unique_donor_count) " +
+            "SELECT granularity, bucket_start, scope, currency, COUNT(*) FROM donation_rollup_scope_donors " +
+            "WHERE granularity = :granularity AND bucket_start >= :from AND bucket_start < :to " +
+            "GROUP BY granularity, bucket_start, scope, currency", nativeQuery = true)
+    int rebuildRollupScopes(
+            @Param("granularity") String granularity,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+}
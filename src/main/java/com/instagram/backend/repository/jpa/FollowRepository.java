@@ -3,7 +3,10 @@ package com.instagram.backend.repository.jpa;
 import com.instagram.backend.model.entity.Follow;
 import com.instagram.backend.model.entity.Profile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,6 +34,10 @@ public interface FollowRepository extends JpaRepository<Follow, Long> {
             Long followerId, Long followingId, Follow.FollowStatus status
     );
 
+    @Query("SELECT f.following.id FROM Follow f WHERE f.follower.id = :followerId AND f.status IN :statuses")
+    List<Long> findFollowingIds(@Param("followerId") Long followerId,
+                                @Param("statuses") Collection<Follow.FollowStatus> statuses);
+
     // For counts
     int countByFollowingIdAndStatus(Long followingId, Follow.FollowStatus status);
     int countByFollowerIdAndStatus(Long followerId, Follow.FollowStatus status);
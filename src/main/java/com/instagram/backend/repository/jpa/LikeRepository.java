@@ -1,39 +1,86 @@
 package com.instagram.backend.repository.jpa;
 
+import com.instagram.backend.dto.projection.LikeKeyProjection;
+import com.instagram.backend.dto.projection.LikerProjection;
 import com.instagram.backend.model.entity.Like;
 import com.instagram.backend.model.entity.Like.ContentType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+/**
+ * Campaign likes. Post and reel likes live in content_likes (ContentLikeRepository); rows of
+ * those types left here are only read by the like store migration and the filter rebuild.
+ */
 @Repository
 public interface LikeRepository extends JpaRepository<Like, Long> {
 
-    Optional<Like> findByUserIdAndPostId(Long userId, String postId);
-
-    Optional<Like> findByUserIdAndReelId(Long userId, String reelId);
-
     Optional<Like> findByUserIdAndCampaignId(Long userId, Long campaignId);
 
-    long countByPostId(String postId);
+    long countByCampaignId(Long campaignId);
+
+    boolean existsByUserIdAndCampaignId(Long userId, Long campaignId);
 
-    long countByReelId(String reelId);
+    // Which of a page of campaigns the viewer liked, answered by the (user_id, campaign_id) unique index
+    @Query("SELECT l.campaign.id FROM Like l WHERE l.user.id = :userId AND l.campaign.id IN :campaignIds")
+    List<Long> findLikedCampaignIds(@Param("userId") Long userId, @Param("campaignIds") Collection<Long> campaignIds);
 
-    long countByCampaignId(Long campaignId);
+    // Keyset pages of a campaign's likers, newest first, on idx_like_campaign_created. The first
+    // page starts from a cursor past every row
 
-    boolean existsByUserIdAndPostId(Long userId, String postId);
+    @Query("SELECT l.id AS id, l.user.id AS userId, l.createdAt AS createdAt FROM Like l " +
+            "WHERE l.campaign.id = :campaignId " +
+            "AND (l.createdAt < :createdAt OR (l.createdAt = :createdAt AND l.id < :id)) " +
+            "ORDER BY l.createdAt DESC, l.id DESC")
+    List<LikerProjection> findCampaignLikers(@Param("campaignId") Long campaignId,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
 
-    boolean existsByUserIdAndReelId(Long userId, String reelId);
+    @Query("SELECT l.id AS id, l.user.id AS userId, l.createdAt AS createdAt FROM Like l " +
+            "WHERE l.campaign.id = :campaignId AND l.user.id IN :userIds " +
+            "AND (l.createdAt < :createdAt OR (l.createdAt = :createdAt AND l.id < :id)) " +
+            "ORDER BY l.createdAt DESC, l.id DESC")
+    List<LikerProjection> findCampaignLikersAmong(@Param("campaignId") Long campaignId,
+                                                  @Param("userIds") Collection<Long> userIds,
+                                                  @Param("createdAt") LocalDateTime createdAt,
+                                                  @Param("id") Long id,
+                                                  Pageable pageable);
 
-    boolean existsByUserIdAndCampaignId(Long userId, Long campaignId);
+    @Query("SELECT l.id AS id, l.user.id AS userId, l.createdAt AS createdAt FROM Like l " +
+            "WHERE l.campaign.id = :campaignId AND l.user.id NOT IN :userIds " +
+            "AND (l.createdAt < :createdAt OR (l.createdAt = :createdAt AND l.id < :id)) " +
+            "ORDER BY l.createdAt DESC, l.id DESC")
+    List<LikerProjection> findCampaignLikersExcept(@Param("campaignId") Long campaignId,
+                                                   @Param("userIds") Collection<Long> userIds,
+                                                   @Param("createdAt") LocalDateTime createdAt,
+                                                   @Param("id") Long id,
+                                                   Pageable pageable);
 
-    @Query("SELECT l.user.id FROM Like l WHERE l.postId = :postId")
-    List<Long> findUserIdsByPostId(@Param("postId") String postId);
+    long countByContentType(ContentType contentType);
 
-    @Query("SELECT l.user.id FROM Like l WHERE l.reelId = :reelId")
-    List<Long> findUserIdsByReelId(@Param("reelId") String reelId);
+    /**
+     * Every like as a flat key row, for rebuilding the duplicate-like filters. Must be
+     * consumed inside a transaction so the driver honours the fetch size.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "10000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT l.user.id AS userId, l.contentType AS contentType, l.postId AS postId, " +
+            "l.reelId AS reelId, l.campaign.id AS campaignId FROM Like l")
+    Stream<LikeKeyProjection> streamAllKeys();
 }
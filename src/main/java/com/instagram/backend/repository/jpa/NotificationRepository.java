@@ -1,20 +1,74 @@
 package com.instagram.backend.repository.jpa;
 
+import com.instagram.backend.dto.projection.NotificationProjection;
 import com.instagram.backend.model.entity.Notification;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import java.util.List;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
-    Page<Notification> findByRecipientIdOrderByCreatedAtDesc(
-            Long recipientId, Pageable pageable
-    );
+    /**
+     * Inbox page as flat rows, most recently active first: a range scan of
+     * idx_notification_recipient_activity with no joins. actor.id and campaign.id resolve to the foreign key columns.
+     */
+    @Query(value = "SELECT n.id AS id, n.type AS type, n.message AS message, n.isRead AS isRead, " +
+            "n.actor.id AS actorId, n.actorUsername AS actorUsername, " +
+            "n.actorProfilePictureUrl AS actorProfilePictureUrl, n.actorCount AS actorCount, " +
+            "n.recentActorIds AS recentActorIds, n.postId AS postId, n.reelId AS reelId, " +
+            "n.commentId AS commentId, n.campaign.id AS campaignId, n.campaignTitle AS campaignTitle, " +
+            "n.actionUrl AS actionUrl, n.createdAt AS createdAt, n.lastActivityAt AS lastActivityAt, " +
+            "n.readAt AS readAt " +
+            "FROM Notification n WHERE n.recipient.id = :recipientId ORDER BY n.lastActivityAt DESC",
+            countQuery = "SELECT count(n) FROM Notification n WHERE n.recipient.id = :recipientId")
+    Page<NotificationProjection> findInboxByRecipientId(@Param("recipientId") Long recipientId, Pageable pageable);
 
     long countByRecipientIdAndIsReadFalse(Long recipientId);
 
-    List<Notification> findByRecipientIdAndIsReadFalse(Long recipientId);
+    /**
+     * Newest unread aggregate for the target started since the window opened, row-locked so
+     * concurrent events for it are applied one after another.
+     */
+    @Query(value = "SELECT id FROM notifications WHERE recipient_id = :recipientId AND type = :type " +
+            "AND aggregate_key = :aggregateKey AND is_read = false AND created_at >= :since " +
+            "ORDER BY created_at DESC LIMIT 1 FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockOpenAggregate(@Param("recipientId") Long recipientId, @Param("type") String type,
+                                     @Param("aggregateKey") String aggregateKey, @Param("since") LocalDateTime since);
+
+    // Bulk operations run as single statements and bypass the persistence context.
+    // Each returns the number of rows it touched, which callers use to adjust unread counts.
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :readAt " +
+            "WHERE n.recipient.id = :recipientId AND n.isRead = false")
+    int markAllAsRead(@Param("recipientId") Long recipientId, @Param("readAt") LocalDateTime readAt);
+
+    /** Ids that belong to another recipient or are already read are skipped. */
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :readAt " +
+            "WHERE n.recipient.id = :recipientId AND n.id IN :ids AND n.isRead = false")
+    int markAsRead(@Param("recipientId") Long recipientId, @Param("ids") Collection<Long> ids,
+                   @Param("readAt") LocalDateTime readAt);
+
+    /** Split by read state so the caller knows how many unread notifications went away. */
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.recipient.id = :recipientId " +
+            "AND n.createdAt < :before AND n.isRead = :read")
+    int deleteOlderThan(@Param("recipientId") Long recipientId, @Param("before") LocalDateTime before,
+                        @Param("read") boolean read);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.recipient.id = :recipientId " +
+            "AND n.type = :type AND n.isRead = :read")
+    int deleteByType(@Param("recipientId") Long recipientId, @Param("type") Notification.NotificationType type,
+                     @Param("read") boolean read);
 }
@@ -1,5 +1,8 @@
 package com.instagram.backend.repository.jpa;
 
+import com.instagram.backend.dto.projection.DeliveryPreferencesProjection;
+import com.instagram.backend.dto.projection.ProfileSummaryProjection;
+import com.instagram.backend.dto.projection.ProfileVersionProjection;
 import com.instagram.backend.model.entity.Profile;
 import com.instagram.backend.model.entity.User;
 import org.springframework.data.domain.Page;
@@ -10,6 +13,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -102,6 +106,21 @@ public interface ProfileRepository extends JpaRepository<Profile, Long> {
     @Query("SELECT p FROM Profile p JOIN p.user u WHERE u.isActive = true AND p.emailNotificationsEnabled = true")
     List<Profile> findProfilesWithEmailNotifications();
 
+    /**
+     * Delivery preferences for many profiles in one query, without loading entities
+     */
+    @Query("SELECT p.id AS profileId, u.username AS username, u.email AS email, u.isActive AS isActive, " +
+            "p.emailNotificationsEnabled AS emailNotificationsEnabled, " +
+            "p.pushNotificationsEnabled AS pushNotificationsEnabled, " +
+            "p.smsNotificationsEnabled AS smsNotificationsEnabled " +
+            "FROM Profile p JOIN p.user u WHERE p.id IN :ids")
+    List<DeliveryPreferencesProjection> findDeliveryPreferences(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id AS profileId, u.username AS username, p.name AS name, " +
+            "p.profilePictureUrl AS profilePictureUrl, u.isVerified AS isVerified " +
+            "FROM Profile p JOIN p.user u WHERE p.id IN :ids")
+    List<ProfileSummaryProjection> findSummaries(@Param("ids") Collection<Long> ids);
+
     /**
      * Find verified profiles with pagination
      */
@@ -155,4 +174,13 @@ public interface ProfileRepository extends JpaRepository<Profile, Long> {
     Optional<Profile> findByUserId(@Param("userId") Long userId);
     boolean existsByUser(User user);
 
+    /**
+     * Version probe for conditional GETs - one round trip, no entity or user hydration
+     */
+    @Query("SELECT p.updatedAt AS updatedAt, " +
+            "(SELECT COUNT(f) FROM Follow f WHERE f.following.id = p.id AND f.status = 'ACTIVE') AS followersCount, " +
+            "(SELECT COUNT(f) FROM Follow f WHERE f.follower.id = p.id AND f.status = 'ACTIVE') AS followingCount " +
+            "FROM Profile p WHERE p.id = :id")
+    Optional<ProfileVersionProjection> findVersionById(@Param("id") Long id);
+
 }
\ No newline at end of file
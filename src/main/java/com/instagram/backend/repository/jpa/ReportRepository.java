@@ -1,11 +1,20 @@
 package com.instagram.backend.repository.jpa;
 
+import com.instagram.backend.dto.projection.ReportKeyProjection;
 import com.instagram.backend.model.entity.Report;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 @Repository
 public interface ReportRepository extends JpaRepository<Report, Long> {
 
@@ -31,4 +40,17 @@ public interface ReportRepository extends JpaRepository<Report, Long> {
     long countByPostIdAndStatus(String postId, Report.ReportStatus status);
     long countByReelIdAndStatus(String reelId, Report.ReportStatus status);
     long countByCommentIdAndStatus(String commentId, Report.ReportStatus status);
+
+    /**
+     * Every report as a flat key row, for rebuilding the duplicate-report filter. Must be
+     * consumed inside a transaction so the driver honours the fetch size.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "10000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r.reportedBy.id AS reportedById, r.contentType AS contentType, r.postId AS postId, " +
+            "r.reelId AS reelId, r.commentId AS commentId, r.campaign.id AS campaignId, " +
+            "r.reportedUser.id AS reportedUserId FROM Report r")
+    Stream<ReportKeyProjection> streamAllKeys();
 }
\ No newline at end of file
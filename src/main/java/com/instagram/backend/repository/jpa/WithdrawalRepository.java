@@ -1,16 +1,26 @@
 package com.instagram.backend.repository.jpa;
 
+import com.instagram.backend.dto.projection.WithdrawalProjection;
 import com.instagram.backend.model.entity.Withdrawal;
 import com.instagram.backend.model.entity.Withdrawal.WithdrawalStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface WithdrawalRepository extends JpaRepository<Withdrawal, Long> {
@@ -31,4 +41,47 @@ public interface WithdrawalRepository extends JpaRepository<Withdrawal, Long> {
     Page<Withdrawal> findByStatusOrderByCreatedAtAsc(@Param("status") WithdrawalStatus status, Pageable pageable);
 
     boolean existsByCampaignIdAndStatusIn(Long campaignId, List<WithdrawalStatus> statuses);
+
+    @Query("SELECT COALESCE(SUM(w.amount), 0) FROM Withdrawal w WHERE w.campaign.id = :campaignId AND w.status IN ('PENDING', 'UNDER_REVIEW', 'APPROVED', 'PROCESSING')")
+    BigDecimal getTotalOutstandingByCampaign(@Param("campaignId") Long campaignId);
+
+    /**
+     * Cursor over a campaign's withdrawals for streaming export. Must be consumed
+     * inside a transaction so the driver honours the fetch size.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT w.id AS id, w.campaign.id AS campaignId, w.requester.id AS requesterId, " +
+            "w.amount AS amount, w.platformFee AS platformFee, w.paymentGatewayFee AS paymentGatewayFee, " +
+            "w.netAmount AS netAmount, w.currency AS currency, w.status AS status, " +
+            "w.transactionReference AS transactionReference, w.approvedAt AS approvedAt, " +
+            "w.processedAt AS processedAt, w.createdAt AS createdAt " +
+            "FROM Withdrawal w WHERE w.campaign.id = :campaignId ORDER BY w.id")
+    Stream<WithdrawalProjection> streamByCampaignId(@Param("campaignId") Long campaignId);
+
+    // ==================== PAYOUT QUEUE ====================
+
+    /**
+     * Lock the next batch of queued payouts. Rows locked by another node are skipped,
+     * and claims older than staleBefore are picked up again (node crashed mid-batch).
+     */
+    @Query(value = "SELECT w.id FROM withdrawals w " +
+            "WHERE w.status = 'PROCESSING' " +
+            "AND (w.payout_claimed_at IS NULL OR w.payout_claimed_at < :staleBefore) " +
+            "ORDER BY w.approved_at ASC " +
+            "LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockNextPayoutBatch(@Param("staleBefore") LocalDateTime staleBefore, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE Withdrawal w SET w.payoutClaimedBy = :nodeId, w.payoutClaimedAt = :claimedAt WHERE w.id IN :ids")
+    int claimPayouts(@Param("ids") List<Long> ids, @Param("nodeId") String nodeId, @Param("claimedAt") LocalDateTime claimedAt);
+
+    @Query("SELECT w FROM Withdrawal w JOIN FETCH w.bankAccount WHERE w.id IN :ids")
+    List<Withdrawal> findAllWithBankAccountByIdIn(@Param("ids") List<Long> ids);
+
+    @Query("SELECT w FROM Withdrawal w JOIN FETCH w.campaign JOIN FETCH w.requester " +
+            "WHERE w.id IN :ids AND w.status = 'PROCESSING' AND w.payoutClaimedBy = :nodeId")
+    List<Withdrawal> findClaimedPayouts(@Param("ids") List<Long> ids, @Param("nodeId") String nodeId);
 }
@@ -29,6 +29,17 @@ public interface CommentRepository extends MongoRepository<Comment, String> {
             Long campaignId, Pageable pageable
     );
 
+    // Top-level comments only, for thread pages
+    Page<Comment> findByPostIdAndParentCommentIdIsNullAndIsDeletedFalseOrderByCreatedAtDesc(
+            String postId, Pageable pageable
+    );
+    Page<Comment> findByReelIdAndParentCommentIdIsNullAndIsDeletedFalseOrderByCreatedAtDesc(
+            String reelId, Pageable pageable
+    );
+    Page<Comment> findByCampaignIdAndParentCommentIdIsNullAndIsDeletedFalseOrderByCreatedAtDesc(
+            Long campaignId, Pageable pageable
+    );
+
     // For replies
     Page<Comment> findByParentCommentIdAndIsDeletedFalseOrderByCreatedAtAsc(
             String parentCommentId, Pageable pageable
@@ -0,0 +1,30 @@
+package com.instagram.backend.repository.mongo;
+
+import com.instagram.backend.model.document.ContentLike;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface ContentLikeRepository extends MongoRepository<ContentLike, String> {
+
+    boolean existsByContentIdAndUserId(String contentId, Long userId);
+
+    long deleteByContentIdAndUserId(String contentId, Long userId);
+
+    long countByContentId(String contentId);
+
+    long countByContentType(ContentLike.ContentType contentType);
+
+    // Which of a page of items the viewer liked; only the ids come back
+    @Query(value = "{ 'userId': ?0, 'contentId': { $in: ?1 } }", fields = "{ 'contentId': 1 }")
+    List<ContentLike> findLikedContentIds(Long userId, Collection<String> contentIds);
+
+    /** Every like as a key, for rebuilding the duplicate-like filters. */
+    @Query(value = "{}", fields = "{ 'contentId': 1, 'contentType': 1, 'userId': 1 }")
+    Stream<ContentLike> streamAllKeys();
+}
@@ -0,0 +1,123 @@
+package com.instagram.backend.service;
+
+import com.instagram.backend.model.entity.CampaignLedgerEntry;
+import com.instagram.backend.model.entity.CampaignLedgerEntry.EntryType;
+import com.instagram.backend.repository.jpa.CampaignLedgerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Campaign balances as an append-only ledger. Writers only insert entries, so concurrent
+ * donations, refunds and payouts never contend on the campaign row. Reads are the
+ * materialized snapshot plus the short tail of entries written since; current_amount and
+ * donor_count on the campaign row are refreshed from the snapshots once per run.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CampaignLedgerService {
+
+    private static final long SNAPSHOT_LOCK_KEY = 0x4C45444745524C4BL;
+    private static final long OPENING_BALANCE_LOCK_KEY = 0x4C45444745524F42L;
+
+    private final CampaignLedgerRepository ledgerRepository;
+
+    // ==================== WRITES ====================
+
+    @Transactional
+    public CampaignLedgerEntry recordDonation(Long campaignId, Long donationId, BigDecimal amount, String currency) {
+        return append(campaignId, EntryType.DONATION, amount, currency, donationId);
+    }
+
+    @Transactional
+    public CampaignLedgerEntry recordRefund(Long campaignId, Long donationId, BigDecimal amount, String currency) {
+        return append(campaignId, EntryType.REFUND, amount.negate(), currency, donationId);
+    }
+
+    @Transactional
+    public CampaignLedgerEntry recordWithdrawal(Long campaignId, Long withdrawalId, BigDecimal amount, String currency) {
+        return append(campaignId, EntryType.WITHDRAWAL, amount.negate(), currency, withdrawalId);
+    }
+
+    // ==================== READS ====================
+
+    public BigDecimal getBalance(Long campaignId) {
+        BigDecimal balance = ledgerRepository.getBalance(campaignId);
+        return balance != null ? balance : BigDecimal.ZERO;
+    }
+
+    public Page<CampaignLedgerEntry> getEntries(Long campaignId, Pageable pageable) {
+        return ledgerRepository.findByCampaignIdOrderByIdDesc(campaignId, pageable);
+    }
+
+    // ==================== MATERIALIZATION ====================
+
+    /**
+     * Fold entries into the snapshots by writing transaction rather than by id or clock: a
+     * run takes every entry whose transaction is below the oldest one still running, so an
+     * entry that commits late, or comes from a node with a skewed clock, is folded by a
+     * later run instead of being skipped.
+     */
+    @Scheduled(
+            fixedDelayString = "${ledger.snapshot.interval-ms:60000}",
+            initialDelayString = "${ledger.snapshot.interval-ms:60000}"
+    )
+    @Transactional
+    public void materializeSnapshots() {
+        if (!ledgerRepository.tryAdvisoryLock(SNAPSHOT_LOCK_KEY)) {
+            return; // another node is materializing
+        }
+
+        long fromXid = ledgerRepository.findMaterializedWatermark();
+        long toXid = ledgerRepository.findVisibleXmin();
+        if (toXid <= fromXid) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        int snapshots = ledgerRepository.materializeSnapshots(fromXid, toXid, now);
+        if (snapshots > 0) {
+            ledgerRepository.refreshCampaignAmounts(now);
+            log.debug("Materialized {} campaign balance snapshots below transaction {}", snapshots, toXid);
+        }
+    }
+
+    /**
+     * Seed an opening entry for campaigns whose balance predates the ledger. Nodes starting
+     * together would both pass the NOT EXISTS check, so only the lock holder seeds.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillOpeningBalances() {
+        if (!ledgerRepository.tryAdvisoryLock(OPENING_BALANCE_LOCK_KEY)) {
+            return; // another node is seeding
+        }
+        int seeded = ledgerRepository.insertOpeningBalances(LocalDateTime.now());
+        if (seeded > 0) {
+            log.info("Seeded opening ledger balances for {} campaigns", seeded);
+        }
+    }
+
+    private CampaignLedgerEntry append(
+            Long campaignId, EntryType type, BigDecimal amount, String currency, Long referenceId
+    ) {
+        CampaignLedgerEntry entry = new CampaignLedgerEntry();
+        entry.setCampaignId(campaignId);
+        entry.setEntryType(type);
+        entry.setAmount(amount);
+        entry.setCurrency(currency != null ? currency : "USD");
+        entry.setReferenceId(referenceId);
+        return ledgerRepository.save(entry);
+    }
+}
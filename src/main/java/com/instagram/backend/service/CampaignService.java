@@ -1,9 +1,14 @@
 package com.instagram.backend.service;
 
+import com.instagram.backend.cache.ResourceVersion;
+import com.instagram.backend.cache.ResponseCache;
+import com.instagram.backend.dto.projection.CampaignVersionProjection;
 import com.instagram.backend.dto.request.CampaignRequest;
+import com.instagram.backend.dto.response.CampaignLedgerEntryResponse;
 import com.instagram.backend.dto.response.CampaignResponse;
 import com.instagram.backend.exception.ResourceNotFoundException;
 import com.instagram.backend.model.entity.Campaign;
+import com.instagram.backend.model.entity.CampaignLedgerEntry;
 import com.instagram.backend.model.entity.Profile;
 import com.instagram.backend.repository.jpa.CampaignRepository;
 import com.instagram.backend.repository.jpa.DonationRepository;
@@ -19,6 +24,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -28,9 +34,12 @@ public class CampaignService {
     private final ProfileRepository profileRepository;
     private final DonationRepository donationRepository;
     private final NotificationService notificationService;
+    private final CampaignLedgerService ledgerService;
     // REPLACED: LikeService and CommentService with repositories to break circular dependency
     private final LikeRepository likeRepository;
+    private final ViewerLikesService viewerLikesService;
     private final CommentRepository commentRepository;
+    private final ResponseCache responseCache;
 
     @Transactional
     public CampaignResponse createCampaign(CampaignRequest request) {
@@ -81,6 +90,7 @@ public class CampaignService {
         campaign.setVideoUrl(request.getVideoUrl());
 
         Campaign updated = campaignRepository.save(campaign);
+        responseCache.invalidate(ResponseCache.CAMPAIGNS_TAG, ResponseCache.campaignTag(campaignId));
         return mapToCampaignResponse(updated, request.getCreatorId());
     }
 
@@ -114,6 +124,7 @@ public class CampaignService {
         campaign.setIsVerified(true);
         campaign.setStartDate(LocalDateTime.now());
         campaignRepository.save(campaign);
+        responseCache.invalidate(ResponseCache.CAMPAIGNS_TAG, ResponseCache.campaignTag(campaignId));
 
         // Notify creator
         notificationService.createCampaignApprovedNotification(
@@ -128,6 +139,7 @@ public class CampaignService {
 
         campaign.setStatus(Campaign.CampaignStatus.CANCELLED);
         campaignRepository.save(campaign);
+        responseCache.invalidate(ResponseCache.CAMPAIGNS_TAG, ResponseCache.campaignTag(campaignId));
 
         // Notify creator with reason
         notificationService.createCampaignRejectedNotification(
@@ -150,6 +162,7 @@ public class CampaignService {
 
         campaign.setStatus(Campaign.CampaignStatus.PAUSED);
         campaignRepository.save(campaign);
+        responseCache.invalidate(ResponseCache.CAMPAIGNS_TAG, ResponseCache.campaignTag(campaignId));
     }
 
     @Transactional
@@ -167,26 +180,29 @@ public class CampaignService {
 
         campaign.setStatus(Campaign.CampaignStatus.ACTIVE);
         campaignRepository.save(campaign);
+        responseCache.invalidate(ResponseCache.CAMPAIGNS_TAG, ResponseCache.campaignTag(campaignId));
     }
 
     @Transactional
-    public void updateCampaignProgress(Long campaignId, BigDecimal amount) {
+    public void updateCampaignProgress(Long campaignId, Long donationId, BigDecimal amount) {
         Campaign campaign = campaignRepository.findById(campaignId)
                 .orElseThrow(() -> new ResourceNotFoundException("Campaign not found"));
 
-        BigDecimal newAmount = campaign.getCurrentAmount().add(amount);
-        campaign.setCurrentAmount(newAmount);
-        campaign.setDonorCount(campaign.getDonorCount() + 1);
+        // donor_count follows from the ledger in the snapshot job, so the campaign row is not written here
+        ledgerService.recordDonation(campaignId, donationId, amount, campaign.getCurrency());
+        responseCache.invalidate(ResponseCache.campaignTag(campaignId));
 
         // Check if goal reached
-        if (newAmount.compareTo(campaign.getGoalAmount()) >= 0) {
+        BigDecimal newAmount = ledgerService.getBalance(campaignId);
+        if (campaign.getStatus() == Campaign.CampaignStatus.ACTIVE &&
+                newAmount.compareTo(campaign.getGoalAmount()) >= 0) {
             campaign.setStatus(Campaign.CampaignStatus.COMPLETED);
+            campaignRepository.save(campaign);
+            responseCache.invalidate(ResponseCache.CAMPAIGNS_TAG);
             notificationService.createCampaignGoalReachedNotification(
                     campaign.getCreator().getId(), campaignId
             );
         }
-
-        campaignRepository.save(campaign);
     }
 
     public CampaignResponse getCampaignById(Long campaignId, Long userId) {
@@ -195,25 +211,33 @@ public class CampaignService {
         return mapToCampaignResponse(campaign, userId);
     }
 
+    public ResourceVersion getCampaignVersion(Long campaignId, Long viewerId) {
+        CampaignVersionProjection version = campaignRepository.findVersionById(campaignId, viewerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Campaign not found"));
+        return ResourceVersion.of("campaign", campaignId,
+                version.getRevision(), version.getUpdatedAt(), version.getCreatorUpdatedAt(),
+                version.getLastLedgerEntryId(), version.getLikesCount(), version.getViewerLikes());
+    }
+
     public Page<CampaignResponse> getActiveCampaigns(Long userId, Pageable pageable) {
         Page<Campaign> campaigns = campaignRepository.findByStatus(
                 Campaign.CampaignStatus.ACTIVE, pageable
         );
-        return campaigns.map(c -> mapToCampaignResponse(c, userId));
+        return mapToCampaignResponses(campaigns, userId);
     }
 
     public Page<CampaignResponse> getCampaignsByCategory(
             String category, Long userId, Pageable pageable
     ) {
         Page<Campaign> campaigns = campaignRepository.findByCategory(category, pageable);
-        return campaigns.map(c -> mapToCampaignResponse(c, userId));
+        return mapToCampaignResponses(campaigns, userId);
     }
 
     public Page<CampaignResponse> getUserCampaigns(
             Long creatorId, Long viewerId, Pageable pageable
     ) {
         Page<Campaign> campaigns = campaignRepository.findByCreatorId(creatorId, pageable);
-        return campaigns.map(c -> mapToCampaignResponse(c, viewerId));
+        return mapToCampaignResponses(campaigns, viewerId);
     }
 
     public Page<CampaignResponse> getTrendingCampaigns(Long userId, Pageable pageable) {
@@ -226,12 +250,23 @@ public class CampaignService {
         Campaign campaign = campaignRepository.findById(campaignId)
                 .orElseThrow(() -> new ResourceNotFoundException("Campaign not found"));
 
-        if (campaign.getGoalAmount().compareTo(BigDecimal.ZERO) == 0) {
+        return calculateProgress(ledgerService.getBalance(campaignId), campaign.getGoalAmount());
+    }
+
+    public Page<CampaignLedgerEntryResponse> getCampaignLedger(Long campaignId, Pageable pageable) {
+        if (!campaignRepository.existsById(campaignId)) {
+            throw new ResourceNotFoundException("Campaign not found");
+        }
+        return ledgerService.getEntries(campaignId, pageable).map(this::mapToLedgerEntryResponse);
+    }
+
+    private BigDecimal calculateProgress(BigDecimal currentAmount, BigDecimal goalAmount) {
+        if (goalAmount.compareTo(BigDecimal.ZERO) == 0) {
             return BigDecimal.ZERO;
         }
 
-        return campaign.getCurrentAmount()
-                .divide(campaign.getGoalAmount(), 4, BigDecimal.ROUND_HALF_UP)
+        return currentAmount
+                .divide(goalAmount, 4, BigDecimal.ROUND_HALF_UP)
                 .multiply(new BigDecimal("100"));
     }
 
@@ -255,7 +290,23 @@ public class CampaignService {
         }
     }
 
+    // One liked-by-viewer lookup for the whole page; amounts are the materialized
+    // current_amount (at most a snapshot interval behind) rather than a ledger read per row
+    private Page<CampaignResponse> mapToCampaignResponses(Page<Campaign> campaigns, Long viewerId) {
+        Set<Long> liked = viewerLikesService.likedCampaignIds(viewerId,
+                campaigns.map(Campaign::getId).getContent());
+        return campaigns.map(c -> mapToCampaignResponse(c, liked.contains(c.getId()),
+                c.getCurrentAmount() != null ? c.getCurrentAmount() : BigDecimal.ZERO));
+    }
+
+    // Single-campaign reads show the live ledger balance
     private CampaignResponse mapToCampaignResponse(Campaign campaign, Long viewerId) {
+        return mapToCampaignResponse(campaign,
+                viewerLikesService.likedCampaignIds(viewerId, List.of(campaign.getId())).contains(campaign.getId()),
+                ledgerService.getBalance(campaign.getId()));
+    }
+
+    private CampaignResponse mapToCampaignResponse(Campaign campaign, boolean liked, BigDecimal currentAmount) {
         CampaignResponse response = new CampaignResponse();
         response.setId(campaign.getId());
         response.setCreatorId(campaign.getCreator().getId());
@@ -265,7 +316,7 @@ public class CampaignService {
         response.setTitle(campaign.getTitle());
         response.setDescription(campaign.getDescription());
         response.setGoalAmount(campaign.getGoalAmount());
-        response.setCurrentAmount(campaign.getCurrentAmount());
+        response.setCurrentAmount(currentAmount);
         response.setCurrency(campaign.getCurrency());
         response.setCategory(campaign.getCategory());
         response.setStatus(campaign.getStatus().name());
@@ -280,11 +331,23 @@ public class CampaignService {
         // Use repositories directly instead of service calls to avoid circular dependency
         response.setLikesCount(likeRepository.countByCampaignId(campaign.getId()));
         response.setCommentsCount(commentRepository.countByCampaignIdAndIsDeletedFalse(campaign.getId()));
-        response.setLiked(viewerId != null && likeRepository.existsByUserIdAndCampaignId(viewerId, campaign.getId()));
+        response.setLiked(liked);
 
-        response.setProgressPercentage(getCampaignProgress(campaign.getId()));
+        response.setProgressPercentage(calculateProgress(currentAmount, campaign.getGoalAmount()));
         response.setCreatedAt(campaign.getCreatedAt());
         response.setUpdatedAt(campaign.getUpdatedAt());
         return response;
     }
+
+    private CampaignLedgerEntryResponse mapToLedgerEntryResponse(CampaignLedgerEntry entry) {
+        CampaignLedgerEntryResponse response = new CampaignLedgerEntryResponse();
+        response.setId(entry.getId());
+        response.setCampaignId(entry.getCampaignId());
+        response.setEntryType(entry.getEntryType().name());
+        response.setAmount(entry.getAmount());
+        response.setCurrency(entry.getCurrency());
+        response.setReferenceId(entry.getReferenceId());
+        response.setCreatedAt(entry.getCreatedAt());
+        return response;
+    }
 }
\ No newline at end of file
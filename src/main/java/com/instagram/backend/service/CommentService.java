@@ -1,28 +1,45 @@
 package com.instagram.backend.service;
 
+import com.instagram.backend.cache.ResponseCache;
 import com.instagram.backend.dto.request.CommentRequest;
 import com.instagram.backend.dto.response.CommentResponse;
+import com.instagram.backend.dto.response.CommentThreadResponse;
 import com.instagram.backend.exception.ResourceNotFoundException;
 import com.instagram.backend.model.document.Comment;
 import com.instagram.backend.model.entity.Profile;
+import com.instagram.backend.repository.jpa.CampaignRepository;
 import com.instagram.backend.repository.jpa.ProfileRepository;
 import com.instagram.backend.repository.mongo.CommentRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class CommentService {
 
+    /** Replies embedded per thread at most; the rest are paged through the replies endpoint. */
+    public static final int MAX_REPLIES_PER_THREAD = 20;
+
     private final CommentRepository commentRepository;
     private final ProfileRepository profileRepository;
+    private final CampaignRepository campaignRepository;
     private final NotificationService notificationService;
     private final PostService postService;
+    private final ResponseCache responseCache;
+    private final CommentThreadLoader commentThreadLoader;
+    private final MongoTemplate mongoTemplate;
 
 
     @Transactional
@@ -48,9 +65,11 @@ public class CommentService {
         }
 
         Comment savedComment = commentRepository.save(comment);
-        postService.incrementCommentCount(request.getPostId());
-
-
+        if (savedComment.getPostId() != null) {
+            postService.incrementCommentCount(savedComment.getPostId());
+        }
+        invalidateCachedListing(savedComment);
+        touchCampaign(savedComment);
 
         // Update reply count for parent comment if this is a reply
         if (request.getParentCommentId() != null) {
@@ -87,6 +106,7 @@ public class CommentService {
         comment.setUpdatedAt(LocalDateTime.now());
 
         Comment updatedComment = commentRepository.save(comment);
+        invalidateCachedListing(updatedComment);
         return mapToCommentResponse(updatedComment);
     }
 
@@ -103,6 +123,8 @@ public class CommentService {
         comment.setIsDeleted(true);
         comment.setUpdatedAt(LocalDateTime.now());
         commentRepository.save(comment);
+        invalidateCachedListing(comment);
+        touchCampaign(comment);
 
         // Update reply count for parent if this was a reply
         if (comment.getParentCommentId() != null) {
@@ -128,6 +150,41 @@ public class CommentService {
         return comments.map(this::mapToCommentResponse);
     }
 
+    public Page<CommentThreadResponse> getPostCommentThreads(String postId, Pageable pageable, int replies) {
+        return toThreads(commentRepository
+                .findByPostIdAndParentCommentIdIsNullAndIsDeletedFalseOrderByCreatedAtDesc(postId, pageable), replies);
+    }
+
+    public Page<CommentThreadResponse> getReelCommentThreads(String reelId, Pageable pageable, int replies) {
+        return toThreads(commentRepository
+                .findByReelIdAndParentCommentIdIsNullAndIsDeletedFalseOrderByCreatedAtDesc(reelId, pageable), replies);
+    }
+
+    public Page<CommentThreadResponse> getCampaignCommentThreads(Long campaignId, Pageable pageable, int replies) {
+        return toThreads(commentRepository
+                .findByCampaignIdAndParentCommentIdIsNullAndIsDeletedFalseOrderByCreatedAtDesc(campaignId, pageable),
+                replies);
+    }
+
+    // Two queries per page however many threads it holds: the top-level comments, then their first replies
+    private Page<CommentThreadResponse> toThreads(Page<Comment> comments, int replies) {
+        if (replies < 0 || replies > MAX_REPLIES_PER_THREAD) {
+            throw new IllegalArgumentException("Replies per thread must be between 0 and " + MAX_REPLIES_PER_THREAD);
+        }
+        List<String> withReplies = comments.stream()
+                .filter(comment -> comment.getReplyCount() != null && comment.getReplyCount() > 0)
+                .map(Comment::getId)
+                .toList();
+        Map<String, List<Comment>> firstReplies = commentThreadLoader.firstReplies(withReplies, replies);
+        return comments.map(comment -> {
+            List<Comment> loaded = firstReplies.getOrDefault(comment.getId(), List.of());
+            return new CommentThreadResponse(
+                    mapToCommentResponse(comment),
+                    loaded.stream().map(this::mapToCommentResponse).toList(),
+                    comment.getReplyCount() != null && comment.getReplyCount() > loaded.size());
+        });
+    }
+
     public Page<CommentResponse> getCommentReplies(String parentCommentId, Pageable pageable) {
         // FIXED: Check if parent comment exists and is not deleted
         Comment parent = commentRepository.findById(parentCommentId)
@@ -154,45 +211,61 @@ public class CommentService {
         return commentRepository.countByCampaignIdAndIsDeletedFalse(campaignId);
     }
 
+    // Counters are updated in place with $inc: a read-then-save loses increments that race
+
     @Transactional
     public void incrementLikeCount(String commentId) {
-        Comment comment = commentRepository.findById(commentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Comment not found"));
-
-        // FIXED: Null-safe like count increment
-        Integer currentLikes = comment.getLikeCount();
-        comment.setLikeCount(currentLikes != null ? currentLikes + 1 : 1);
-        commentRepository.save(comment);
+        Comment comment = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("id").is(commentId)),
+                new Update().inc("likeCount", 1),
+                FindAndModifyOptions.options().returnNew(true),
+                Comment.class);
+        if (comment == null) {
+            throw new ResourceNotFoundException("Comment not found");
+        }
+        invalidateCachedListing(comment);
     }
 
     @Transactional
     public void decrementLikeCount(String commentId) {
-        Comment comment = commentRepository.findById(commentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Comment not found"));
-
-        // FIXED: Null-safe like count decrement
-        Integer currentLikes = comment.getLikeCount();
-        comment.setLikeCount(Math.max(0, currentLikes != null ? currentLikes - 1 : 0));
-        commentRepository.save(comment);
+        Comment comment = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("id").is(commentId).and("likeCount").gt(0)),
+                new Update().inc("likeCount", -1),
+                FindAndModifyOptions.options().returnNew(true),
+                Comment.class);
+        if (comment == null) {
+            // Already at zero, or no such comment
+            comment = commentRepository.findById(commentId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Comment not found"));
+        }
+        invalidateCachedListing(comment);
     }
 
     private void incrementReplyCount(String parentCommentId) {
-        Comment parent = commentRepository.findById(parentCommentId).orElse(null);
-        if (parent != null) {
-            // FIXED: Null-safe reply count increment
-            Integer currentReplies = parent.getReplyCount();
-            parent.setReplyCount(currentReplies != null ? currentReplies + 1 : 1);
-            commentRepository.save(parent);
-        }
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("id").is(parentCommentId)),
+                new Update().inc("replyCount", 1),
+                Comment.class);
     }
 
     private void decrementReplyCount(String parentCommentId) {
-        Comment parent = commentRepository.findById(parentCommentId).orElse(null);
-        if (parent != null) {
-            // FIXED: Null-safe reply count decrement
-            Integer currentReplies = parent.getReplyCount();
-            parent.setReplyCount(Math.max(0, currentReplies != null ? currentReplies - 1 : 0));
-            commentRepository.save(parent);
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("id").is(parentCommentId).and("replyCount").gt(0)),
+                new Update().inc("replyCount", -1),
+                Comment.class);
+    }
+
+    // Post comment pages are served from the response cache
+    private void invalidateCachedListing(Comment comment) {
+        if (comment.getPostId() != null) {
+            responseCache.invalidate(ResponseCache.postCommentsTag(comment.getPostId()));
+        }
+    }
+
+    // Campaign responses carry a comment count, so their ETag revision must move with it
+    private void touchCampaign(Comment comment) {
+        if (comment.getCampaignId() != null) {
+            campaignRepository.incrementRevision(comment.getCampaignId());
         }
     }
 
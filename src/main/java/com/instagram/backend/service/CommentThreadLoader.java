@@ -0,0 +1,78 @@
+package com.instagram.backend.service;
+
+import com.instagram.backend.model.document.Comment;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The first replies of many comments in one aggregation, for rendering a page of threads
+ * without a query per comment: $match on the parent ids, then $group with $topN keeping
+ * the oldest replies of each parent.
+ *
+ * $topN needs MongoDB 5.2. Older servers (and the load test's in-memory stand-in) get a
+ * $sort/$push/$slice pipeline with the same result, which holds every reply of the page's
+ * comments in the group stage rather than just the first few.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CommentThreadLoader {
+
+    private final MongoTemplate mongoTemplate;
+    private volatile Boolean topNSupported;
+
+    /** Up to limit replies per parent, oldest first; parents without replies are absent. */
+    public Map<String, List<Comment>> firstReplies(Collection<String> parentIds, int limit) {
+        if (parentIds.isEmpty() || limit < 1) {
+            return Map.of();
+        }
+        Document match = new Document("$match", new Document("parentCommentId", new Document("$in", parentIds))
+                .append("isDeleted", false));
+        List<Document> pipeline = supportsTopN()
+                ? List.of(match,
+                        new Document("$group", new Document("_id", "$parentCommentId")
+                                .append("replies", new Document("$topN", new Document("n", limit)
+                                        .append("sortBy", new Document("createdAt", 1).append("_id", 1))
+                                        .append("output", "$$ROOT")))))
+                : List.of(match,
+                        new Document("$sort", new Document("createdAt", 1).append("_id", 1)),
+                        new Document("$group", new Document("_id", "$parentCommentId")
+                                .append("replies", new Document("$push", "$$ROOT"))),
+                        new Document("$project", new Document("replies", new Document("$slice",
+                                List.of("$replies", limit)))));
+
+        Map<String, List<Comment>> replies = new HashMap<>();
+        for (Document group : mongoTemplate.getCollection(mongoTemplate.getCollectionName(Comment.class))
+                .aggregate(pipeline)) {
+            List<Comment> comments = new ArrayList<>();
+            for (Document reply : group.getList("replies", Document.class)) {
+                comments.add(mongoTemplate.getConverter().read(Comment.class, reply));
+            }
+            replies.put(group.getString("_id"), comments);
+        }
+        return replies;
+    }
+
+    private boolean supportsTopN() {
+        Boolean supported = topNSupported;
+        if (supported == null) {
+            List<Integer> version = mongoTemplate.executeCommand(new Document("buildInfo", 1))
+                    .getList("versionArray", Integer.class);
+            supported = version.get(0) > 5 || (version.get(0) == 5 && version.get(1) >= 2);
+            if (!supported) {
+                log.info("MongoDB {} has no $topN; reply prefetch uses $push/$slice", version);
+            }
+            topNSupported = supported;
+        }
+        return supported;
+    }
+}
@@ -0,0 +1,140 @@
+package com.instagram.backend.service;
+
+import com.instagram.backend.cache.DocumentCache;
+import com.instagram.backend.exception.AlreadyExistsException;
+import com.instagram.backend.exception.ResourceNotFoundException;
+import com.instagram.backend.model.document.ContentLike;
+import com.instagram.backend.model.document.Post;
+import com.instagram.backend.model.document.Reel;
+import com.instagram.backend.repository.mongo.ContentLikeRepository;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Likes on posts and reels, kept in Mongo with the content (see {@link ContentLike}). A
+ * like is one insert into content_likes plus an $inc of the document's likesCount, so
+ * the content document is never read and rewritten just to count.
+ *
+ * The two writes are not one transaction: a failure in between leaves the counter one
+ * off until the content is recounted (the like store migration recounts what it moves).
+ * A second like is rejected by uk_content_user, which MongoIndexManager creates at startup.
+ */
+@Component
+@RequiredArgsConstructor
+public class ContentLikeStore {
+
+    private final ContentLikeRepository contentLikeRepository;
+    private final MongoTemplate mongoTemplate;
+    private final DocumentCache<Post> postCache;
+    private final DocumentCache<Reel> reelCache;
+    private final DuplicateFilters duplicateFilters;
+
+    public boolean exists(String contentId, Long userId) {
+        return contentLikeRepository.existsByContentIdAndUserId(contentId, userId);
+    }
+
+    /**
+     * Duplicate check before add(): a filter miss skips the query, and the unique index
+     * catches what this instance's filter has not seen. Not for "is liked" reads.
+     */
+    public boolean isDuplicate(ContentLike.ContentType type, String contentId, Long userId) {
+        return duplicateFilters.exists(filterKind(type), DuplicateFilters.likeKey(userId, contentId),
+                () -> exists(contentId, userId));
+    }
+
+    public ContentLike add(ContentLike.ContentType type, String contentId, Long userId) {
+        ContentLike saved;
+        try {
+            saved = contentLikeRepository.insert(new ContentLike(type, contentId, userId));
+        } catch (DataIntegrityViolationException e) {
+            // The unique index decides when the duplicate filter had not seen an earlier like
+            throw new AlreadyExistsException(displayName(type) + " already liked");
+        }
+        duplicateFilters.recordInsert(filterKind(type), DuplicateFilters.likeKey(userId, contentId));
+        adjustLikesCount(type, contentId, 1);
+        return saved;
+    }
+
+    public void remove(ContentLike.ContentType type, String contentId, Long userId) {
+        if (contentLikeRepository.deleteByContentIdAndUserId(contentId, userId) == 0) {
+            throw new ResourceNotFoundException("Like not found");
+        }
+        adjustLikesCount(type, contentId, -1);
+    }
+
+    public long count(String contentId) {
+        return contentLikeRepository.countByContentId(contentId);
+    }
+
+    /**
+     * A keyset page of the content's likers, newest first, on idx_content_created: likes
+     * strictly after (createdAt, id), or from the start when createdAt is null; limited to
+     * onlyUsers, or leaving out exceptUsers, when given.
+     */
+    public List<ContentLike> findLikers(String contentId, LocalDateTime createdAt, String id,
+                                        Collection<Long> onlyUsers, Collection<Long> exceptUsers, int limit) {
+        Criteria criteria = where("contentId").is(contentId);
+        if (onlyUsers != null) {
+            criteria.and("userId").in(onlyUsers);
+        } else if (exceptUsers != null && !exceptUsers.isEmpty()) {
+            criteria.and("userId").nin(exceptUsers);
+        }
+        if (createdAt != null) {
+            criteria.orOperator(where("createdAt").lt(createdAt),
+                    where("createdAt").is(createdAt).and("_id").lt(new ObjectId(id)));
+        }
+        Query page = query(criteria)
+                .with(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("_id")))
+                .limit(limit);
+        page.fields().include("userId", "createdAt");
+        return mongoTemplate.find(page, ContentLike.class);
+    }
+
+    /** Sets likesCount from the stored likes. */
+    public void recount(ContentLike.ContentType type, String contentId) {
+        mongoTemplate.updateFirst(query(where("_id").is(contentId)),
+                new Update().set("likesCount", (int) count(contentId)), documentType(type));
+        evict(type, contentId);
+    }
+
+    private void adjustLikesCount(ContentLike.ContentType type, String contentId, int delta) {
+        // Never below zero, even if an earlier increment was lost
+        mongoTemplate.updateFirst(
+                query(delta < 0 ? where("_id").is(contentId).and("likesCount").gt(0) : where("_id").is(contentId)),
+                new Update().inc("likesCount", delta), documentType(type));
+        evict(type, contentId);
+    }
+
+    private void evict(ContentLike.ContentType type, String contentId) {
+        switch (type) {
+            case POST -> postCache.evict(contentId);
+            case REEL -> reelCache.evict(contentId);
+        }
+    }
+
+    private static Class<?> documentType(ContentLike.ContentType type) {
+        return type == ContentLike.ContentType.POST ? Post.class : Reel.class;
+    }
+
+    static DuplicateFilters.Kind filterKind(ContentLike.ContentType type) {
+        return type == ContentLike.ContentType.POST ? DuplicateFilters.Kind.POST_LIKE : DuplicateFilters.Kind.REEL_LIKE;
+    }
+
+    private static String displayName(ContentLike.ContentType type) {
+        return type == ContentLike.ContentType.POST ? "Post" : "Reel";
+    }
+}
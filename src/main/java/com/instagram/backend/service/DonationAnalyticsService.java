@@ -0,0 +1,144 @@
+package com.instagram.backend.service;
+
+import com.instagram.backend.dto.response.DonationAnalyticsResponse;
+import com.instagram.backend.model.entity.Campaign;
+import com.instagram.backend.model.entity.Donation;
+import com.instagram.backend.model.entity.DonationRollup.Granularity;
+import com.instagram.backend.model.entity.DonationRollupScope;
+import com.instagram.backend.repository.jpa.DonationRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hourly and daily donation rollups per campaign, category and currency. Fed inline
+ * from donation completions and refunds; reads never touch the donations table.
+ *
+ * Distinct donors are kept per campaign in the rollups and, for reads spanning campaigns,
+ * per category and overall in DonationRollupScope, so a donor is counted once per bucket
+ * whichever filter is applied.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DonationAnalyticsService {
+
+    private static final Duration MAX_HOURLY_RANGE = Duration.ofDays(31);
+    private static final Duration MAX_DAILY_RANGE = Duration.ofDays(366 * 5);
+    private static final String ALL_SCOPE = "all";
+
+    private final DonationRollupRepository rollupRepository;
+
+    // ==================== INCREMENTAL FEED ====================
+
+    @Transactional
+    public void recordDonation(Donation donation, Campaign campaign) {
+        for (Granularity granularity : Granularity.values()) {
+            LocalDateTime bucket = bucketStart(donation.getCreatedAt(), granularity);
+            int newDonors = rollupRepository.markDonorSeen(
+                    granularity.name(), bucket, campaign.getId(),
+                    donation.getCurrency(), donation.getDonor().getId()
+            );
+            rollupRepository.addDonation(
+                    granularity.name(), bucket, campaign.getId(), campaign.getCategory(),
+                    donation.getCurrency(), donation.getAmount(), newDonors
+            );
+            for (String scope : List.of(categoryScope(campaign.getCategory()), ALL_SCOPE)) {
+                if (rollupRepository.markScopeDonorSeen(granularity.name(), bucket, scope,
+                        donation.getCurrency(), donation.getDonor().getId()) > 0) {
+                    rollupRepository.addScopeDonor(granularity.name(), bucket, scope, donation.getCurrency());
+                }
+            }
+        }
+    }
+
+    @Transactional
+    public void recordRefund(Donation donation, BigDecimal refundAmount) {
+        Campaign campaign = donation.getCampaign();
+        LocalDateTime refundedAt = LocalDateTime.now();
+        for (Granularity granularity : Granularity.values()) {
+            rollupRepository.addRefund(
+                    granularity.name(), bucketStart(refundedAt, granularity), campaign.getId(),
+                    campaign.getCategory(), donation.getCurrency(), refundAmount
+            );
+        }
+    }
+
+    // ==================== QUERIES ====================
+
+    public List<DonationAnalyticsResponse> getDonationAnalytics(
+            Granularity granularity, LocalDateTime from, LocalDateTime to,
+            Long campaignId, String category, String currency
+    ) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+
+        Duration maxRange = granularity == Granularity.HOUR ? MAX_HOURLY_RANGE : MAX_DAILY_RANGE;
+        if (Duration.between(from, to).compareTo(maxRange) > 0) {
+            throw new IllegalArgumentException(
+                    "Range too large for " + granularity + " buckets (max " + maxRange.toDays() + " days)"
+            );
+        }
+
+        LocalDateTime start = bucketStart(from, granularity);
+        List<DonationAnalyticsResponse> buckets = rollupRepository.aggregate(
+                granularity, start, to, campaignId, category, currency
+        );
+        if (campaignId == null) {
+            // Summed per-campaign counts would count a donor once per campaign
+            String scope = category != null ? categoryScope(category) : ALL_SCOPE;
+            Map<String, Long> donors = new HashMap<>();
+            for (DonationRollupScope row : rollupRepository.findScopeDonorCounts(granularity, scope, start, to, currency)) {
+                donors.put(row.getBucketStart() + "|" + row.getCurrency(), row.getUniqueDonorCount());
+            }
+            for (DonationAnalyticsResponse bucket : buckets) {
+                bucket.setUniqueDonorCount(donors.getOrDefault(bucket.getBucketStart() + "|" + bucket.getCurrency(), 0L));
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * Recompute both granularities for whole days in [from, to) from the donations table.
+     * Used to backfill history and to repair drift.
+     */
+    @Transactional
+    public int rebuildRollups(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = from.truncatedTo(ChronoUnit.DAYS);
+        LocalDateTime end = to.truncatedTo(ChronoUnit.DAYS).plusDays(1);
+
+        int buckets = 0;
+        for (Granularity granularity : Granularity.values()) {
+            String unit = granularity.name().toLowerCase();
+            rollupRepository.deleteRollups(granularity.name(), start, end);
+            rollupRepository.deleteRollupDonors(granularity.name(), start, end);
+            rollupRepository.deleteRollupScopes(granularity.name(), start, end);
+            rollupRepository.deleteRollupScopeDonors(granularity.name(), start, end);
+            buckets += rollupRepository.rebuildRollups(granularity.name(), unit, start, end);
+            rollupRepository.rebuildRollupDonors(granularity.name(), unit, start, end);
+            rollupRepository.rebuildRollupScopeDonors(granularity.name(), unit, start, end);
+            rollupRepository.rebuildRollupScopes(granularity.name(), start, end);
+        }
+
+        log.info("Rebuilt donation rollups: from={}, to={}, buckets={}", start, end, buckets);
+        return buckets;
+    }
+
+    private static String categoryScope(String category) {
+        return "category:" + category;
+    }
+
+    private static LocalDateTime bucketStart(LocalDateTime time, Granularity granularity) {
+        return time.truncatedTo(granularity == Granularity.HOUR ? ChronoUnit.HOURS : ChronoUnit.DAYS);
+    }
+}
@@ -1,5 +1,6 @@
 package com.instagram.backend.service;
 
+import com.instagram.backend.cache.ResponseCache;
 import com.instagram.backend.dto.request.DonationRequest;
 import com.instagram.backend.dto.response.DonationResponse;
 import com.instagram.backend.exception.ResourceNotFoundException;
@@ -28,10 +29,12 @@ public class DonationService {
     private final CampaignService campaignService;
     private final NotificationService notificationService;
     private final PaymentService paymentService;
+    private final CampaignLedgerService ledgerService;
+    private final DonationAnalyticsService donationAnalyticsService;
+    private final ResponseCache responseCache;
 
     @Transactional
     public DonationResponse createDonation(DonationRequest request) {
-        System.out.println("hi");
         Campaign campaign = campaignRepository.findById(request.getCampaignId())
                 .orElseThrow(() -> new ResourceNotFoundException("Campaign not found"));
 
@@ -80,7 +83,10 @@ public class DonationService {
             savedDonation = donationRepository.save(savedDonation);
 
             // Update campaign progress
-            campaignService.updateCampaignProgress(campaign.getId(), request.getAmount());
+            campaignService.updateCampaignProgress(
+                    campaign.getId(), savedDonation.getId(), request.getAmount()
+            );
+            donationAnalyticsService.recordDonation(savedDonation, campaign);
 
             // Send notification to campaign creator
             if (!Boolean.TRUE.equals(request.getIsAnonymous())) {
@@ -130,17 +136,13 @@ public class DonationService {
 
             Donation refunded = donationRepository.save(donation);
 
-            // Update campaign amount - FIXED: Use null-safe subtraction
-            Campaign campaign = donation.getCampaign();
-            BigDecimal currentAmount = campaign.getCurrentAmount();
-            if (currentAmount != null) {
-                campaign.setCurrentAmount(currentAmount.subtract(donation.getAmount()));
-            }
-
-            // FIXED: Null-safe donor count decrement
-            Integer donorCount = campaign.getDonorCount();
-            campaign.setDonorCount(Math.max(0, donorCount != null ? donorCount - 1 : 0));
-            campaignRepository.save(campaign);
+            // Update campaign balance through the ledger
+            Long campaignId = donation.getCampaign().getId();
+            ledgerService.recordRefund(
+                    campaignId, donationId, donation.getAmount(), donation.getCurrency()
+            );
+            responseCache.invalidate(ResponseCache.campaignTag(campaignId));
+            donationAnalyticsService.recordRefund(donation, donation.getAmount());
 
             // Notify donor
             notificationService.createRefundNotification(
@@ -0,0 +1,187 @@
+package com.instagram.backend.service;
+
+import com.instagram.backend.cache.MembershipFilter;
+import com.instagram.backend.cache.ScalableBloomFilter;
+import com.instagram.backend.dto.projection.LikeKeyProjection;
+import com.instagram.backend.dto.projection.ReportKeyProjection;
+import com.instagram.backend.model.document.ContentLike;
+import com.instagram.backend.model.entity.Like;
+import com.instagram.backend.model.entity.Report;
+import com.instagram.backend.repository.jpa.LikeRepository;
+import com.instagram.backend.repository.jpa.ReportRepository;
+import com.instagram.backend.repository.mongo.ContentLikeRepository;
+import com.instagram.backend.utils.TransactionUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filters in front of the "already liked" and "already reported" queries, one per
+ * kind of like plus one for reports. Nearly every check is for a pair that does not
+ * exist, and those are answered from memory; the rest still query the database.
+ *
+ * The filters are built from content_likes and the likes and reports tables in the background after
+ * startup and rebuilt on a schedule, which forgets unlikes and resizes them. Writes from
+ * other instances are only seen after the next rebuild, so the unique constraints on
+ * likes and reports remain what actually prevents duplicates, and the filters only guard
+ * inserts: a read such as "has this user liked it" must not trust a miss.
+ */
+@Component
+@Slf4j
+public class DuplicateFilters {
+
+    public enum Kind {
+        POST_LIKE, REEL_LIKE, CAMPAIGN_LIKE, REPORT
+    }
+
+    private final LikeRepository likeRepository;
+    private final ContentLikeRepository contentLikeRepository;
+    private final ReportRepository reportRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final Map<Kind, MembershipFilter> filters = new EnumMap<>(Kind.class);
+
+    public DuplicateFilters(
+            LikeRepository likeRepository,
+            ContentLikeRepository contentLikeRepository,
+            ReportRepository reportRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${duplicate-filter.enabled:true}") boolean enabled,
+            @Value("${duplicate-filter.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${duplicate-filter.false-positive-rate:0.01}") double falsePositiveRate,
+            MeterRegistry meterRegistry
+    ) {
+        this.likeRepository = likeRepository;
+        this.contentLikeRepository = contentLikeRepository;
+        this.reportRepository = reportRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        for (Kind kind : Kind.values()) {
+            filters.put(kind, new MembershipFilter(kind.name().toLowerCase(), expectedInsertions,
+                    falsePositiveRate, meterRegistry));
+        }
+    }
+
+    public static String likeKey(Long userId, Object contentId) {
+        return userId + ":" + contentId;
+    }
+
+    public static String reportKey(Report.ContentType type, Long reporterId, Object targetId) {
+        return type + ":" + reporterId + ":" + targetId;
+    }
+
+    /** The database check runs only when the filter cannot rule the key out. */
+    public boolean exists(Kind kind, String key, BooleanSupplier database) {
+        if (!enabled) {
+            return database.getAsBoolean();
+        }
+        return filters.get(kind).exists(key, database);
+    }
+
+    /** Call right after the row is saved, inside its transaction. */
+    public void recordInsert(Kind kind, String key) {
+        if (!enabled) {
+            return;
+        }
+        MembershipFilter filter = filters.get(kind);
+        filter.add(key);
+        TransactionUtil.afterCommit(() -> filter.add(key));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (enabled) {
+            // Checks go to the database until this finishes; startup does not wait for it
+            Thread.ofVirtual().name("duplicate-filter-warmup").start(this::rebuild);
+        }
+    }
+
+    @Scheduled(cron = "${duplicate-filter.rebuild-cron:0 0 4 * * *}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        rebuildLikes();
+        rebuildReports();
+    }
+
+    private void rebuildLikes() {
+        Map<Kind, ScalableBloomFilter> fresh = new EnumMap<>(Kind.class);
+        // Post and reel likes not yet moved to content_likes are still real likes, so both stores count
+        fresh.put(Kind.POST_LIKE, filters.get(Kind.POST_LIKE).beginRebuild(
+                contentLikeRepository.countByContentType(ContentLike.ContentType.POST)
+                        + likeRepository.countByContentType(Like.ContentType.POST)));
+        fresh.put(Kind.REEL_LIKE, filters.get(Kind.REEL_LIKE).beginRebuild(
+                contentLikeRepository.countByContentType(ContentLike.ContentType.REEL)
+                        + likeRepository.countByContentType(Like.ContentType.REEL)));
+        fresh.put(Kind.CAMPAIGN_LIKE, filters.get(Kind.CAMPAIGN_LIKE)
+                .beginRebuild(likeRepository.countByContentType(Like.ContentType.CAMPAIGN)));
+        try {
+            try (Stream<ContentLike> likes = contentLikeRepository.streamAllKeys()) {
+                likes.forEach(like -> fresh.get(like.getContentType() == ContentLike.ContentType.POST
+                        ? Kind.POST_LIKE : Kind.REEL_LIKE).put(likeKey(like.getUserId(), like.getContentId())));
+            }
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<LikeKeyProjection> likes = likeRepository.streamAllKeys()) {
+                    likes.forEach(like -> {
+                        switch (like.getContentType()) {
+                            case POST -> fresh.get(Kind.POST_LIKE).put(likeKey(like.getUserId(), like.getPostId()));
+                            case REEL -> fresh.get(Kind.REEL_LIKE).put(likeKey(like.getUserId(), like.getReelId()));
+                            case CAMPAIGN -> fresh.get(Kind.CAMPAIGN_LIKE)
+                                    .put(likeKey(like.getUserId(), like.getCampaignId()));
+                        }
+                    });
+                }
+            });
+            fresh.forEach((kind, filter) -> filters.get(kind).completeRebuild(filter));
+            log.info("Duplicate-like filters rebuilt: {} post, {} reel, {} campaign likes",
+                    fresh.get(Kind.POST_LIKE).approximateCount(), fresh.get(Kind.REEL_LIKE).approximateCount(),
+                    fresh.get(Kind.CAMPAIGN_LIKE).approximateCount());
+        } catch (RuntimeException e) {
+            fresh.keySet().forEach(kind -> filters.get(kind).abortRebuild());
+            log.warn("Duplicate-like filter rebuild failed; keeping the previous filters", e);
+        }
+    }
+
+    private void rebuildReports() {
+        MembershipFilter filter = filters.get(Kind.REPORT);
+        ScalableBloomFilter fresh = filter.beginRebuild(reportRepository.count());
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<ReportKeyProjection> reports = reportRepository.streamAllKeys()) {
+                    reports.forEach(report -> fresh.put(reportKey(report.getContentType(), report.getReportedById(),
+                            reportTarget(report.getContentType(), report.getPostId(), report.getReelId(),
+                                    report.getCommentId(), report.getCampaignId(), report.getReportedUserId()))));
+                }
+            });
+            filter.completeRebuild(fresh);
+        } catch (RuntimeException e) {
+            filter.abortRebuild();
+            log.warn("Duplicate-report filter rebuild failed; keeping the previous filter", e);
+        }
+    }
+
+    /** The id a report of this type is about, as used in {@link #reportKey}. */
+    public static Object reportTarget(Report.ContentType type, String postId, String reelId, String commentId,
+                                      Long campaignId, Long reportedUserId) {
+        return switch (type) {
+            case POST -> postId;
+            case REEL -> reelId;
+            case COMMENT -> commentId;
+            case CAMPAIGN -> campaignId;
+            case PROFILE -> reportedUserId;
+        };
+    }
+}
@@ -0,0 +1,284 @@
+package com.instagram.backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.instagram.backend.dto.projection.DonationProjection;
+import com.instagram.backend.dto.projection.WithdrawalProjection;
+import com.instagram.backend.exception.ResourceNotFoundException;
+import com.instagram.backend.repository.jpa.CampaignRepository;
+import com.instagram.backend.repository.jpa.DonationRepository;
+import com.instagram.backend.repository.jpa.WithdrawalRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams campaign donations and withdrawals as CSV or NDJSON. Rows come from a
+ * database cursor and are written as they arrive, so memory stays flat regardless
+ * of how many rows a campaign has.
+ */
+@Service
+@Slf4j
+public class ExportService {
+
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private static final List<ExportColumn<DonationProjection>> DONATION_COLUMNS = List.of(
+            new ExportColumn<>("id", DonationProjection::getId),
+            new ExportColumn<>("campaignId", DonationProjection::getCampaignId),
+            new ExportColumn<>("donorId", d -> isAnonymous(d) ? null : d.getDonorId()),
+            new ExportColumn<>("donorUsername", d -> isAnonymous(d) ? "Anonymous" : d.getDonorUsername()),
+            new ExportColumn<>("amount", DonationProjection::getAmount),
+            new ExportColumn<>("currency", DonationProjection::getCurrency),
+            new ExportColumn<>("paymentStatus", DonationProjection::getPaymentStatus),
+            new ExportColumn<>("paymentMethod", DonationProjection::getPaymentMethod),
+            new ExportColumn<>("transactionId", DonationProjection::getTransactionId),
+            new ExportColumn<>("refundAmount", DonationProjection::getRefundAmount),
+            new ExportColumn<>("createdAt", DonationProjection::getCreatedAt)
+    );
+
+    private static final List<ExportColumn<WithdrawalProjection>> WITHDRAWAL_COLUMNS = List.of(
+            new ExportColumn<>("id", WithdrawalProjection::getId),
+            new ExportColumn<>("campaignId", WithdrawalProjection::getCampaignId),
+            new ExportColumn<>("requesterId", WithdrawalProjection::getRequesterId),
+            new ExportColumn<>("amount", WithdrawalProjection::getAmount),
+            new ExportColumn<>("platformFee", WithdrawalProjection::getPlatformFee),
+            new ExportColumn<>("paymentGatewayFee", WithdrawalProjection::getPaymentGatewayFee),
+            new ExportColumn<>("netAmount", WithdrawalProjection::getNetAmount),
+            new ExportColumn<>("currency", WithdrawalProjection::getCurrency),
+            new ExportColumn<>("status", WithdrawalProjection::getStatus),
+            new ExportColumn<>("transactionReference", WithdrawalProjection::getTransactionReference),
+            new ExportColumn<>("approvedAt", WithdrawalProjection::getApprovedAt),
+            new ExportColumn<>("processedAt", WithdrawalProjection::getProcessedAt),
+            new ExportColumn<>("createdAt", WithdrawalProjection::getCreatedAt)
+    );
+
+    private final DonationRepository donationRepository;
+    private final WithdrawalRepository withdrawalRepository;
+    private final CampaignRepository campaignRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ExportService(
+            DonationRepository donationRepository,
+            WithdrawalRepository withdrawalRepository,
+            CampaignRepository campaignRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.donationRepository = donationRepository;
+        this.withdrawalRepository = withdrawalRepository;
+        this.campaignRepository = campaignRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public StreamingResponseBody exportCampaignDonations(Long campaignId, ExportFormat format, boolean gzip) {
+        verifyCampaignExists(campaignId);
+        return out -> writeExport(
+                () -> donationRepository.streamByCampaignId(campaignId), DONATION_COLUMNS, format, gzip, out
+        );
+    }
+
+    public StreamingResponseBody exportCampaignWithdrawals(Long campaignId, ExportFormat format, boolean gzip) {
+        verifyCampaignExists(campaignId);
+        return out -> writeExport(
+                () -> withdrawalRepository.streamByCampaignId(campaignId), WITHDRAWAL_COLUMNS, format, gzip, out
+        );
+    }
+
+    // Checked before the response is committed so a bad id still gets a 404
+    private void verifyCampaignExists(Long campaignId) {
+        if (!campaignRepository.existsById(campaignId)) {
+            throw new ResourceNotFoundException("Campaign not found");
+        }
+    }
+
+    private <T> void writeExport(
+            Supplier<Stream<T>> rows, List<ExportColumn<T>> columns,
+            ExportFormat format, boolean gzip, OutputStream out
+    ) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(out, 8192) : out;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8));
+        RowWriter<T> rowWriter = format == ExportFormat.NDJSON
+                ? new NdjsonRowWriter<>(writer, columns)
+                : new CsvRowWriter<>(writer, columns);
+
+        try {
+            rowWriter.writeHeader();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<T> stream = rows.get()) {
+                    int[] written = {0};
+                    stream.forEach(row -> {
+                        try {
+                            rowWriter.writeRow(row);
+                            if (++written[0] % FLUSH_EVERY_ROWS == 0) {
+                                rowWriter.flush();
+                                writer.flush();
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Client went away mid-download
+            log.debug("Export aborted: {}", e.getMessage());
+            throw e.getCause();
+        }
+
+        rowWriter.flush();
+        writer.flush();
+        if (target instanceof GZIPOutputStream gzipStream) {
+            gzipStream.finish();
+        }
+    }
+
+    private static boolean isAnonymous(DonationProjection donation) {
+        return Boolean.TRUE.equals(donation.getIsAnonymous());
+    }
+
+    public enum ExportFormat {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        ExportFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType(boolean gzip) {
+            return gzip ? "application/gzip" : contentType;
+        }
+
+        public String getFileName(String baseName, boolean gzip) {
+            return baseName + "." + extension + (gzip ? ".gz" : "");
+        }
+
+        public static ExportFormat from(String value) {
+            for (ExportFormat format : values()) {
+                if (format.name().equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported export format: " + value);
+        }
+    }
+
+    private record ExportColumn<T>(String name, Function<T, Object> extractor) {
+    }
+
+    private interface RowWriter<T> {
+        void writeHeader() throws IOException;
+
+        void writeRow(T row) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    private static final class CsvRowWriter<T> implements RowWriter<T> {
+        private final Writer writer;
+        private final List<ExportColumn<T>> columns;
+
+        private CsvRowWriter(Writer writer, List<ExportColumn<T>> columns) {
+            this.writer = writer;
+            this.columns = columns;
+        }
+
+        @Override
+        public void writeHeader() throws IOException {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) writer.write(',');
+                writer.write(columns.get(i).name());
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void writeRow(T row) throws IOException {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) writer.write(',');
+                writeValue(columns.get(i).extractor().apply(row));
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        private void writeValue(Object value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                    || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(text.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(text);
+            }
+        }
+    }
+
+    private final class NdjsonRowWriter<T> implements RowWriter<T> {
+        private final JsonGenerator generator;
+        private final ObjectWriter valueWriter;
+        private final List<ExportColumn<T>> columns;
+
+        private NdjsonRowWriter(Writer writer, List<ExportColumn<T>> columns) throws IOException {
+            // Flushing after every value would push each field through gzip and the socket
+            this.valueWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Rows are separated by the newline written after each one, not Jackson's default space
+            this.generator.setRootValueSeparator(null);
+            this.columns = columns;
+        }
+
+        @Override
+        public void writeHeader() {
+        }
+
+        @Override
+        public void writeRow(T row) throws IOException {
+            generator.writeStartObject();
+            for (ExportColumn<T> column : columns) {
+                generator.writeFieldName(column.name());
+                valueWriter.writeValue(generator, column.extractor().apply(row));
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+}
@@ -8,6 +8,7 @@ import com.instagram.backend.model.entity.Follow;
 import com.instagram.backend.model.entity.Profile;
 import com.instagram.backend.repository.jpa.FollowRepository;
 import com.instagram.backend.repository.jpa.ProfileRepository;
+import com.instagram.backend.utils.TransactionUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,6 +23,7 @@ public class FollowService {
     private final FollowRepository followRepository;
     private final ProfileRepository profileRepository;
     private final NotificationService notificationService;
+    private final FollowingSetCache followingSetCache;
 
     @Transactional
     public void followUser(Long followerId, Long followingId) {
@@ -52,6 +54,7 @@ public class FollowService {
         } else {
             follow.setStatus(Follow.FollowStatus.ACTIVE);
             followRepository.save(follow);
+            TransactionUtil.afterCommit(() -> followingSetCache.invalidate(followerId));
             // Notify the user about new follower
             notificationService.createFollowNotification(followingId, followerId);
         }
@@ -73,6 +76,7 @@ public class FollowService {
 
         follow.setStatus(Follow.FollowStatus.ACTIVE);
         followRepository.save(follow);
+        TransactionUtil.afterCommit(() -> followingSetCache.invalidate(followerId));
 
         // Notify follower that request was accepted
         notificationService.createFollowAcceptedNotification(followerId, followingId);
@@ -101,6 +105,7 @@ public class FollowService {
                 .orElseThrow(() -> new ResourceNotFoundException("Follow relationship not found"));
 
         followRepository.delete(follow);
+        TransactionUtil.afterCommit(() -> followingSetCache.invalidate(followerId));
     }
 
     @Transactional
@@ -126,6 +131,10 @@ public class FollowService {
         block.setFollowing(blocked);
         block.setStatus(Follow.FollowStatus.BLOCKED);
         followRepository.save(block);
+        TransactionUtil.afterCommit(() -> {
+            followingSetCache.invalidate(blockerId);
+            followingSetCache.invalidate(blockedId);
+        });
     }
 
     @Transactional
@@ -1,9 +1,13 @@
 package com.instagram.backend.service;
 
+import com.instagram.backend.cache.DocumentCache;
 import com.instagram.backend.dto.request.LikeRequest;
 import com.instagram.backend.dto.response.LikeResponse;
 import com.instagram.backend.exception.AlreadyExistsException;
 import com.instagram.backend.exception.ResourceNotFoundException;
+import com.instagram.backend.model.document.ContentLike;
+import com.instagram.backend.model.document.Post;
+import com.instagram.backend.model.document.Reel;
 import com.instagram.backend.model.entity.Campaign;
 import com.instagram.backend.model.entity.Like;
 import com.instagram.backend.model.entity.Profile;
@@ -13,6 +17,7 @@ import com.instagram.backend.repository.jpa.ProfileRepository;
 import com.instagram.backend.repository.mongo.PostRepository;
 import com.instagram.backend.repository.mongo.ReelRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,6 +31,10 @@ public class LikeService {
     private final NotificationService notificationService;
     private final PostRepository postRepository;
     private final ReelRepository reelRepository;
+    private final DocumentCache<Post> postCache;
+    private final DocumentCache<Reel> reelCache;
+    private final DuplicateFilters duplicateFilters;
+    private final ContentLikeStore contentLikeStore;
 
     @Transactional
     public LikeResponse likeContent(LikeRequest request) {
@@ -33,7 +42,6 @@ public class LikeService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         // Validate exactly one content ID is provided
-        System.out.println(request.getPostId() + " " + request.getReelId() + " " + request.getCampaignId() );
         int contentCount = 0;
         if (request.getPostId() != null) contentCount++;
         if (request.getReelId() != null) contentCount++;
@@ -45,13 +53,10 @@ public class LikeService {
             );
         }
 
-        Like like = new Like();
-        like.setUser(user);
-
         // Handle Post Like
         if (request.getPostId() != null) {
-            // Find the post directly from its repository to avoid circular dependency
-            com.instagram.backend.model.document.Post post = postRepository.findById(request.getPostId())
+            // Validate against the cached post; it is read-only, the count is incremented in place
+            Post post = postCache.get(request.getPostId(), postRepository::findById)
                     .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
 
             // Prevent self-like by checking the post's userId
@@ -59,16 +64,11 @@ public class LikeService {
                 throw new IllegalArgumentException("Cannot like your own post");
             }
 
-            if (likeRepository.existsByUserIdAndPostId(user.getId(), request.getPostId())) {
+            if (contentLikeStore.isDuplicate(ContentLike.ContentType.POST, request.getPostId(), user.getId())) {
                 throw new AlreadyExistsException("Post already liked");
             }
 
-            like.setPostId(request.getPostId());
-            like.setContentType(Like.ContentType.POST);
-
-            Like saved = likeRepository.save(like);
-            post.setLikesCount(post.getLikesCount() + 1);
-            postRepository.save(post);
+            ContentLike saved = contentLikeStore.add(ContentLike.ContentType.POST, request.getPostId(), user.getId());
 
             notificationService.createLikeNotification(
                     request.getPostId(), null, null, request.getUserId()
@@ -79,8 +79,7 @@ public class LikeService {
 
         // Handle Reel Like
         else if (request.getReelId() != null) {
-            // Find the reel directly from its repository to avoid circular dependency
-            com.instagram.backend.model.document.Reel reel = reelRepository.findById(request.getReelId())
+            Reel reel = reelCache.get(request.getReelId(), reelRepository::findById)
                     .orElseThrow(() -> new ResourceNotFoundException("Reel not found"));
 
             // Prevent self-like by checking the reel's userId
@@ -88,13 +87,11 @@ public class LikeService {
                 throw new IllegalArgumentException("Cannot like your own reel");
             }
 
-            if (likeRepository.existsByUserIdAndReelId(user.getId(), request.getReelId())) {
+            if (contentLikeStore.isDuplicate(ContentLike.ContentType.REEL, request.getReelId(), user.getId())) {
                 throw new AlreadyExistsException("Reel already liked");
             }
 
-            like.setReelId(request.getReelId());
-            like.setContentType(Like.ContentType.REEL);
-            Like saved = likeRepository.save(like);
+            ContentLike saved = contentLikeStore.add(ContentLike.ContentType.REEL, request.getReelId(), user.getId());
 
             notificationService.createLikeNotification(
                     null, request.getReelId(), null, request.getUserId()
@@ -113,15 +110,19 @@ public class LikeService {
                 throw new IllegalArgumentException("Cannot like your own campaign");
             }
 
-            if (likeRepository.existsByUserIdAndCampaignId(
-                    user.getId(), request.getCampaignId()
-            )) {
+            if (duplicateFilters.exists(DuplicateFilters.Kind.CAMPAIGN_LIKE,
+                    DuplicateFilters.likeKey(user.getId(), request.getCampaignId()),
+                    () -> isCampaignLikedByUser(request.getCampaignId(), user.getId()))) {
                 throw new AlreadyExistsException("Campaign already liked");
             }
 
+            Like like = new Like();
+            like.setUser(user);
             like.setCampaign(campaign);
             like.setContentType(Like.ContentType.CAMPAIGN);
-            Like saved = likeRepository.save(like);
+            Like saved = saveLike(like, "Campaign already liked");
+            duplicateFilters.recordInsert(DuplicateFilters.Kind.CAMPAIGN_LIKE,
+                    DuplicateFilters.likeKey(user.getId(), request.getCampaignId()));
 
             notificationService.createLikeNotification(
                     null, null, request.getCampaignId(), request.getUserId()
@@ -149,14 +150,10 @@ public class LikeService {
         }
 
         if (request.getPostId() != null) {
-            Like like = likeRepository.findByUserIdAndPostId(user.getId(), request.getPostId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Like not found"));
-            likeRepository.delete(like);
+            contentLikeStore.remove(ContentLike.ContentType.POST, request.getPostId(), user.getId());
         }
         else if (request.getReelId() != null) {
-            Like like = likeRepository.findByUserIdAndReelId(user.getId(), request.getReelId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Like not found"));
-            likeRepository.delete(like);
+            contentLikeStore.remove(ContentLike.ContentType.REEL, request.getReelId(), user.getId());
         }
         else {
             Like like = likeRepository.findByUserIdAndCampaignId(
@@ -167,29 +164,39 @@ public class LikeService {
     }
 
     public long getPostLikesCount(String postId) {
-        return likeRepository.countByPostId(postId);
+        return contentLikeStore.count(postId);
     }
 
     public long getReelLikesCount(String reelId) {
-        return likeRepository.countByReelId(reelId);
+        return contentLikeStore.count(reelId);
     }
 
     public long getCampaignLikesCount(Long campaignId) {
         return likeRepository.countByCampaignId(campaignId);
     }
 
+    // Reads go to the database: the duplicate filters only know this instance's likes
     public boolean isPostLikedByUser(String postId, Long userId) {
-        return likeRepository.existsByUserIdAndPostId(userId, postId);
+        return contentLikeStore.exists(postId, userId);
     }
 
     public boolean isReelLikedByUser(String reelId, Long userId) {
-        return likeRepository.existsByUserIdAndReelId(userId, reelId);
+        return contentLikeStore.exists(reelId, userId);
     }
 
     public boolean isCampaignLikedByUser(Long campaignId, Long userId) {
         return likeRepository.existsByUserIdAndCampaignId(userId, campaignId);
     }
 
+    /** The unique constraints decide when the duplicate filter had not seen an earlier like. */
+    private Like saveLike(Like like, String duplicateMessage) {
+        try {
+            return likeRepository.save(like);
+        } catch (DataIntegrityViolationException e) {
+            throw new AlreadyExistsException(duplicateMessage);
+        }
+    }
+
     private LikeResponse mapToLikeResponse(Like like) {
         LikeResponse response = new LikeResponse();
         response.setId(like.getId());
@@ -201,4 +208,18 @@ public class LikeService {
         response.setCreatedAt(like.getCreatedAt().toString());
         return response;
     }
+
+    // Mongo likes have ObjectIds, which do not fit the numeric id; clients key likes by content anyway
+    private LikeResponse mapToLikeResponse(ContentLike like) {
+        LikeResponse response = new LikeResponse();
+        response.setUserId(like.getUserId());
+        if (like.getContentType() == ContentLike.ContentType.POST) {
+            response.setPostId(like.getContentId());
+        } else {
+            response.setReelId(like.getContentId());
+        }
+        response.setContentType(like.getContentType().name());
+        response.setCreatedAt(like.getCreatedAt().toString());
+        return response;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,146 @@
+package com.instagram.backend.service;
+
+import com.instagram.backend.model.document.ContentLike;
+import com.mongodb.bulk.BulkWriteError;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves post and reel likes from the likes table into content_likes (see ContentLikeStore),
+ * in the background after startup. New likes already go to Mongo, so only the rows written
+ * before the switch are left to move.
+ *
+ * Each batch is copied, then deleted from Postgres in the same transaction, and the
+ * affected posts and reels are recounted. Copies that already exist are skipped, so a batch
+ * interrupted between the two stores is simply moved again on the next start. The work
+ * holds an advisory lock, so only one instance migrates.
+ */
+@Service
+@Slf4j
+public class LikeStoreMigration {
+
+    private static final long MIGRATION_LOCK_KEY = 0x4C494B4553544F52L;
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MongoTemplate mongoTemplate;
+    private final ContentLikeStore contentLikeStore;
+    private final DuplicateFilters duplicateFilters;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public LikeStoreMigration(
+            JdbcTemplate jdbcTemplate,
+            MongoTemplate mongoTemplate,
+            ContentLikeStore contentLikeStore,
+            DuplicateFilters duplicateFilters,
+            PlatformTransactionManager transactionManager,
+            @Value("${likes.migration.enabled:true}") boolean enabled,
+            @Value("${likes.migration.batch-size:1000}") int batchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.mongoTemplate = mongoTemplate;
+        this.contentLikeStore = contentLikeStore;
+        this.duplicateFilters = duplicateFilters;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            Thread.ofVirtual().name("like-store-migration").start(this::migrate);
+        }
+    }
+
+    /** Moves every remaining post and reel like; returns how many were moved. */
+    public long migrate() {
+        long moved = 0;
+        try {
+            int batch;
+            do {
+                Integer result = transactionTemplate.execute(status -> tryLock() ? moveBatch() : -1);
+                batch = result != null ? result : 0;
+                if (batch > 0) {
+                    moved += batch;
+                }
+            } while (batch == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Like store migration stopped after {} likes; it resumes on the next start", moved, e);
+            return moved;
+        }
+        if (moved > 0) {
+            log.info("Moved {} post and reel likes to content_likes", moved);
+        }
+        return moved;
+    }
+
+    private int moveBatch() {
+        List<LegacyLike> rows = jdbcTemplate.query(
+                "SELECT id, user_id, content_type, post_id, reel_id, created_at FROM likes "
+                        + "WHERE content_type IN ('POST', 'REEL') ORDER BY id LIMIT ?",
+                (rs, i) -> {
+                    ContentLike.ContentType type = ContentLike.ContentType.valueOf(rs.getString("content_type"));
+                    ContentLike like = new ContentLike(type,
+                            rs.getString(type == ContentLike.ContentType.POST ? "post_id" : "reel_id"),
+                            rs.getLong("user_id"));
+                    like.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+                    return new LegacyLike(rs.getLong("id"), like);
+                },
+                batchSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        insertSkippingExisting(rows.stream().map(LegacyLike::like).toList());
+        // Only the copied rows: an older node may still commit a like with a lower id meanwhile
+        jdbcTemplate.update("DELETE FROM likes WHERE id = ANY (?)",
+                (Object) rows.stream().map(LegacyLike::id).toArray(Long[]::new));
+
+        Map<String, ContentLike.ContentType> touched = new LinkedHashMap<>();
+        for (LegacyLike row : rows) {
+            ContentLike like = row.like();
+            touched.put(like.getContentId(), like.getContentType());
+            duplicateFilters.recordInsert(ContentLikeStore.filterKind(like.getContentType()),
+                    DuplicateFilters.likeKey(like.getUserId(), like.getContentId()));
+        }
+        // Reel likes were never counted on the reel, so the counts are rebuilt rather than adjusted
+        touched.forEach((contentId, type) -> contentLikeStore.recount(type, contentId));
+        return rows.size();
+    }
+
+    private void insertSkippingExisting(List<ContentLike> likes) {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ContentLike.class).insert(likes).execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private boolean tryLock() {
+        return Boolean.TRUE.equals(
+                jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, MIGRATION_LOCK_KEY));
+    }
+
+    private record LegacyLike(long id, ContentLike like) {
+    }
+}
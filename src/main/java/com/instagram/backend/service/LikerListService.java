@@ -0,0 +1,190 @@
+package com.instagram.backend.service;
+
+import com.instagram.backend.cache.DocumentCache;
+import com.instagram.backend.dto.response.LikerPageResponse;
+import com.instagram.backend.dto.response.LikerResponse;
+import com.instagram.backend.exception.ResourceNotFoundException;
+import com.instagram.backend.model.document.Post;
+import com.instagram.backend.model.document.Reel;
+import com.instagram.backend.repository.jpa.CampaignRepository;
+import com.instagram.backend.repository.jpa.LikeRepository;
+import com.instagram.backend.repository.mongo.PostRepository;
+import com.instagram.backend.repository.mongo.ReelRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * "Liked by" lists, newest first, with the likers the viewer follows ahead of everyone
+ * else. Pages are keyset queries on (content, created_at, id), so each request reads about
+ * one page of rows however many likes there are.
+ *
+ * A list is walked in two phases: first the likes by followed accounts (the viewer's
+ * follow set from {@link FollowingSetCache}, as an IN filter), then all other likes (the
+ * same set as a NOT IN filter), one query per phase. The cursor records the phase and the
+ * last like passed.
+ * Profiles come from {@link ProfileSummaryCache}, one lookup per page.
+ */
+@Service
+@RequiredArgsConstructor
+public class LikerListService {
+
+    public static final int MAX_PAGE_SIZE = 50;
+
+    // Above this the IN filter gets unwieldy, so the list falls back to plain recency
+    private static final int MAX_FOLLOWED_FIRST = 10_000;
+    // Before every real like, for the campaign query's first page
+    private static final LocalDateTime BEFORE_ALL = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private final ContentLikeStore contentLikeStore;
+    private final LikeRepository likeRepository;
+    private final CampaignRepository campaignRepository;
+    private final PostRepository postRepository;
+    private final ReelRepository reelRepository;
+    private final DocumentCache<Post> postCache;
+    private final DocumentCache<Reel> reelCache;
+    private final ProfileSummaryCache profileSummaryCache;
+    private final FollowingSetCache followingSetCache;
+
+    public LikerPageResponse getPostLikers(String postId, Long viewerId, String cursor, int size) {
+        postCache.get(postId, postRepository::findById)
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
+        return page(contentLikers(postId), viewerId, cursor, size);
+    }
+
+    public LikerPageResponse getReelLikers(String reelId, Long viewerId, String cursor, int size) {
+        reelCache.get(reelId, reelRepository::findById)
+                .orElseThrow(() -> new ResourceNotFoundException("Reel not found"));
+        return page(contentLikers(reelId), viewerId, cursor, size);
+    }
+
+    public LikerPageResponse getCampaignLikers(Long campaignId, Long viewerId, String cursor, int size) {
+        if (!campaignRepository.existsById(campaignId)) {
+            throw new ResourceNotFoundException("Campaign not found");
+        }
+        return page((createdAt, id, onlyUsers, exceptUsers, limit) -> {
+            LocalDateTime from = createdAt != null ? createdAt : BEFORE_ALL;
+            long fromId = id != null ? Long.parseLong(id) : Long.MAX_VALUE;
+            PageRequest first = PageRequest.of(0, limit);
+            return (onlyUsers != null
+                    ? likeRepository.findCampaignLikersAmong(campaignId, onlyUsers, from, fromId, first)
+                    : !exceptUsers.isEmpty()
+                    ? likeRepository.findCampaignLikersExcept(campaignId, exceptUsers, from, fromId, first)
+                    : likeRepository.findCampaignLikers(campaignId, from, fromId, first))
+                    .stream()
+                    .map(like -> new Liker(like.getId().toString(), like.getUserId(), like.getCreatedAt()))
+                    .toList();
+        }, viewerId, cursor, size);
+    }
+
+    private LikerSource contentLikers(String contentId) {
+        return (createdAt, id, onlyUsers, exceptUsers, limit) -> contentLikeStore
+                .findLikers(contentId, createdAt, id, onlyUsers, exceptUsers, limit).stream()
+                .map(like -> new Liker(like.getId(), like.getUserId(), like.getCreatedAt()))
+                .toList();
+    }
+
+    private LikerPageResponse page(LikerSource source, Long viewerId, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Set<Long> followed = viewerId != null ? followingSetCache.get(viewerId) : Set.of();
+        if (followed.size() > MAX_FOLLOWED_FIRST) {
+            followed = Set.of();
+        }
+        Cursor position = cursor != null ? Cursor.decode(cursor)
+                : new Cursor(followed.isEmpty() ? Phase.ALL : Phase.FOLLOWED, null, null);
+
+        List<Liker> page = new ArrayList<>(size);
+        if (position.phase() == Phase.FOLLOWED) {
+            List<Liker> rows = source.page(position.createdAt(), position.id(), followed, null, size + 1);
+            page.addAll(rows.subList(0, Math.min(size, rows.size())));
+            if (rows.size() > size) {
+                return toResponse(page, followed, Cursor.after(Phase.FOLLOWED, page.get(size - 1)));
+            }
+            position = new Cursor(Phase.ALL, null, null);
+        }
+
+        // Followed likers were listed in the first phase, so the query leaves them out
+        int remaining = size - page.size();
+        List<Liker> rows = source.page(position.createdAt(), position.id(), null, followed, remaining + 1);
+        List<Liker> taken = rows.subList(0, Math.min(remaining, rows.size()));
+        page.addAll(taken);
+        Cursor next = rows.size() <= remaining ? null
+                : taken.isEmpty() ? position
+                : Cursor.after(Phase.ALL, taken.get(taken.size() - 1));
+        return toResponse(page, followed, next);
+    }
+
+    private LikerPageResponse toResponse(List<Liker> page, Set<Long> followed, Cursor next) {
+        Map<Long, ProfileSummaryCache.ProfileSummary> profiles =
+                profileSummaryCache.getAll(page.stream().map(Liker::userId).toList());
+        List<LikerResponse> likers = new ArrayList<>(page.size());
+        for (Liker like : page) {
+            ProfileSummaryCache.ProfileSummary profile = profiles.get(like.userId());
+            if (profile == null) {
+                continue; // profile deleted since
+            }
+            LikerResponse response = new LikerResponse();
+            response.setProfileId(profile.profileId());
+            response.setUsername(profile.username());
+            response.setName(profile.name());
+            response.setProfilePictureUrl(profile.profilePictureUrl());
+            response.setIsVerified(profile.verified());
+            response.setFollowedByViewer(followed.contains(like.userId()));
+            response.setLikedAt(like.createdAt());
+            likers.add(response);
+        }
+        return new LikerPageResponse(likers, next != null ? next.encode() : null);
+    }
+
+    @FunctionalInterface
+    private interface LikerSource {
+        /**
+         * Likes strictly after (createdAt, id), newest first; from the start when createdAt is
+         * null. Limited to onlyUsers when given, otherwise leaving out exceptUsers.
+         */
+        List<Liker> page(LocalDateTime createdAt, String id, Collection<Long> onlyUsers,
+                         Collection<Long> exceptUsers, int limit);
+    }
+
+    private record Liker(String id, Long userId, LocalDateTime createdAt) {
+    }
+
+    private enum Phase {
+        FOLLOWED, ALL
+    }
+
+    private record Cursor(Phase phase, LocalDateTime createdAt, String id) {
+
+        static Cursor after(Phase phase, Liker like) {
+            return new Cursor(phase, like.createdAt(), like.id());
+        }
+
+        String encode() {
+            String value = phase + "|" + (createdAt != null ? createdAt : "") + "|" + (id != null ? id : "");
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                        .split("\\|", -1);
+                return new Cursor(Phase.valueOf(parts[0]),
+                        parts[1].isEmpty() ? null : LocalDateTime.parse(parts[1]),
+                        parts[2].isEmpty() ? null : parts[2]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.instagram.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Stand-in for real email/push/SMS providers: logs every delivery and, when a file is
+ * configured, appends it there as one line, so local runs and tests can assert on what
+ * would have been sent. Off unless enabled: it logs each recipient's username, so it is for
+ * local and load-test runs only.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "notifications.delivery.log-sink.enabled", havingValue = "true")
+public class LogNotificationChannel implements NotificationChannel {
+
+    private final Path file;
+
+    public LogNotificationChannel(@Value("${notifications.delivery.log-sink.file:}") String file) {
+        this.file = file.isBlank() ? null : Path.of(file);
+    }
+
+    @Override
+    public Set<Channel> channels() {
+        return EnumSet.allOf(Channel.class);
+    }
+
+    @Override
+    public void deliver(Channel channel, Message message) throws IOException {
+        log.info("[{}] to {} ({}): {}", channel, message.username(), message.recipientId(), message.subject());
+        if (file == null) {
+            return;
+        }
+        String line = String.join("\t", LocalDateTime.now().toString(), channel.name(),
+                String.valueOf(message.recipientId()), message.digest() ? "digest" : "single",
+                String.valueOf(message.notificationCount()), message.subject(),
+                message.body().replace('\n', ' ')) + System.lineSeparator();
+        synchronized (this) {
+            Files.writeString(file, line, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.instagram.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Creates the indexes the documents declare (@CompoundIndex, @Indexed) before the
+ * application takes traffic, instead of leaving it to auto-index-creation. Creating an
+ * index that already exists with the same spec is a no-op, so this runs on every start;
+ * a declared index whose spec changed under the same name fails startup, because the
+ * server will not redefine it in place.
+ *
+ * Indexes that exist but are no longer declared are logged, not dropped: another instance
+ * of the previous version may still be relying on them during a rolling deploy.
+ */
+@Component
+@Slf4j
+public class MongoIndexManager {
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+
+    public MongoIndexManager(
+            MongoTemplate mongoTemplate,
+            @Value("${mongo.indexes.ensure-on-startup:true}") boolean enabled
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    public void ensureIndexes() {
+        if (!enabled) {
+            return;
+        }
+        MongoMappingContext mappingContext = (MongoMappingContext) mongoTemplate.getConverter().getMappingContext();
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(Document.class)) {
+                continue; // embedded types have no collection of their own
+            }
+            IndexOperations indexes = mongoTemplate.indexOps(entity.getType());
+            Set<String> declared = new HashSet<>();
+            resolver.resolveIndexFor(entity.getTypeInformation())
+                    .forEach(index -> declared.add(indexes.ensureIndex(index)));
+            for (IndexInfo existing : indexes.getIndexInfo()) {
+                if (!"_id_".equals(existing.getName()) && !declared.contains(existing.getName())) {
+                    log.warn("Index {} on {} is no longer declared; drop it once no running version uses it",
+                            existing.getName(), entity.getCollection());
+                }
+            }
+            log.info("Ensured {} index(es) on {}", declared.size(), entity.getCollection());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.instagram.backend.service;
+
+import java.util.Set;
+
+/**
+ * Adapter delivering rendered notifications outside the app (email, mobile push, SMS).
+ * Every bean implementing this is picked up by {@link NotificationDeliveryService}, which
+ * has already applied the recipient's preferences, so an adapter only has to send.
+ *
+ * Calls run on delivery threads, never on a request thread; an adapter may block on I/O
+ * and signals failure by throwing.
+ */
+public interface NotificationChannel {
+
+    enum Channel {
+        EMAIL, PUSH, SMS
+    }
+
+    /**
+     * @param digest true when the message batches several low-priority notifications
+     */
+    record Message(Long recipientId, String username, String email, String subject, String body,
+                   int notificationCount, boolean digest) {
+    }
+
+    Set<Channel> channels();
+
+    void deliver(Channel channel, Message message) throws Exception;
+}
@@ -0,0 +1,207 @@
+package com.instagram.backend.service;
+
+import com.instagram.backend.dto.response.NotificationResponse;
+import com.instagram.backend.model.entity.Notification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Delivers notifications to the channels their recipient has switched on, through the
+ * registered {@link NotificationChannel} adapters.
+ *
+ * Types listed in notifications.delivery.digest-types (likes, comments, follows by
+ * default) are not sent one by one: they wait in a per-recipient buffer that a scheduled
+ * flush renders into one digest message each, loading every recipient's preferences in a
+ * single query. Everything else is sent as soon as it commits. Sends run on virtual
+ * threads; a failed send is counted and logged, not retried.
+ *
+ * Buffers are local to this instance, like {@link NotificationStreamService}, and are
+ * flushed on shutdown. A crash loses the pending digests, never the notifications
+ * themselves, which stay in the inbox.
+ */
+@Service
+@Slf4j
+public class NotificationDeliveryService {
+
+    /** Digests go where a batch makes sense; SMS is reserved for notifications sent right away. */
+    private static final Set<NotificationChannel.Channel> DIGEST_CHANNELS =
+            EnumSet.of(NotificationChannel.Channel.EMAIL, NotificationChannel.Channel.PUSH);
+
+    private final NotificationPreferenceCache preferenceCache;
+    private final Map<NotificationChannel.Channel, List<NotificationChannel>> adapters =
+            new EnumMap<>(NotificationChannel.Channel.class);
+    private final boolean enabled;
+    private final Set<Notification.NotificationType> digestTypes;
+    private final int maxDigestItems;
+    private final Map<Long, PendingDigest> digests = new ConcurrentHashMap<>();
+    private final SimpleAsyncTaskExecutor deliveryExecutor;
+    private final MeterRegistry meterRegistry;
+
+    /** Oldest first; a coalesced notification moves to the end with its latest version. */
+    private static final class PendingDigest {
+        private final LinkedHashMap<Long, NotificationResponse> items = new LinkedHashMap<>();
+        private int dropped;
+    }
+
+    public NotificationDeliveryService(
+            List<NotificationChannel> channels,
+            NotificationPreferenceCache preferenceCache,
+            @Value("${notifications.delivery.enabled:true}") boolean enabled,
+            @Value("${notifications.delivery.digest-types:LIKE_POST,LIKE_REEL,LIKE_CAMPAIGN,COMMENT_POST,"
+                    + "COMMENT_REEL,COMMENT_CAMPAIGN,COMMENT_REPLY,FOLLOW,FOLLOW_ACCEPTED}")
+            Set<Notification.NotificationType> digestTypes,
+            @Value("${notifications.delivery.digest-max-items:20}") int maxDigestItems,
+            MeterRegistry meterRegistry
+    ) {
+        this.preferenceCache = preferenceCache;
+        this.enabled = enabled;
+        this.digestTypes = digestTypes.isEmpty()
+                ? EnumSet.noneOf(Notification.NotificationType.class) : EnumSet.copyOf(digestTypes);
+        this.maxDigestItems = maxDigestItems;
+        this.meterRegistry = meterRegistry;
+        for (NotificationChannel adapter : channels) {
+            for (NotificationChannel.Channel channel : adapter.channels()) {
+                this.adapters.computeIfAbsent(channel, c -> new ArrayList<>()).add(adapter);
+            }
+        }
+        this.deliveryExecutor = new SimpleAsyncTaskExecutor("notification-delivery-");
+        this.deliveryExecutor.setVirtualThreads(true);
+
+        Gauge.builder("notifications.delivery.pending_digests", digests, Map::size)
+                .description("Recipients with notifications waiting for the next digest")
+                .register(meterRegistry);
+    }
+
+    /** Call once the notification has committed. */
+    public void dispatch(Long recipientId, NotificationResponse notification) {
+        if (!enabled || adapters.isEmpty()) {
+            return;
+        }
+        if (digestTypes.contains(Notification.NotificationType.valueOf(notification.getType()))) {
+            digests.compute(recipientId, (id, pending) -> {
+                PendingDigest digest = pending != null ? pending : new PendingDigest();
+                digest.items.remove(notification.getId());
+                digest.items.put(notification.getId(), notification);
+                if (digest.items.size() > maxDigestItems) {
+                    Iterator<Long> oldest = digest.items.keySet().iterator();
+                    oldest.next();
+                    oldest.remove();
+                    digest.dropped++;
+                }
+                return digest;
+            });
+            return;
+        }
+        deliveryExecutor.execute(() -> {
+            NotificationPreferenceCache.Preferences preferences = preferenceCache.get(recipientId);
+            for (NotificationChannel.Channel channel : NotificationChannel.Channel.values()) {
+                if (preferences.allows(channel)) {
+                    deliver(channel, renderSingle(preferences, notification));
+                }
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.delivery.digest-interval-ms:900000}")
+    public void flushDigests() {
+        Map<Long, PendingDigest> batch = new LinkedHashMap<>();
+        for (Long recipientId : List.copyOf(digests.keySet())) {
+            PendingDigest digest = digests.remove(recipientId);
+            if (digest != null) {
+                batch.put(recipientId, digest);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Map<Long, NotificationPreferenceCache.Preferences> preferences = preferenceCache.getAll(batch.keySet());
+        batch.forEach((recipientId, digest) -> {
+            NotificationPreferenceCache.Preferences recipient = preferences.get(recipientId);
+            List<NotificationChannel.Channel> channels = DIGEST_CHANNELS.stream()
+                    .filter(recipient::allows)
+                    .toList();
+            if (channels.isEmpty()) {
+                return;
+            }
+            NotificationChannel.Message message = renderDigest(recipient, digest);
+            deliveryExecutor.execute(() -> channels.forEach(channel -> deliver(channel, message)));
+        });
+    }
+
+    /** Pending digests go out while the database and adapters are still available. */
+    @EventListener(ContextClosedEvent.class)
+    public void flushOnShutdown() {
+        flushDigests();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        deliveryExecutor.close();
+    }
+
+    private void deliver(NotificationChannel.Channel channel, NotificationChannel.Message message) {
+        for (NotificationChannel adapter : adapters.getOrDefault(channel, List.of())) {
+            String outcome = "sent";
+            try {
+                adapter.deliver(channel, message);
+            } catch (Exception e) {
+                outcome = "failed";
+                log.warn("{} delivery to profile {} failed: {}", channel, message.recipientId(), e.getMessage());
+            }
+            Counter.builder("notifications.delivery")
+                    .tag("channel", channel.name())
+                    .tag("kind", message.digest() ? "digest" : "single")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    private static NotificationChannel.Message renderSingle(NotificationPreferenceCache.Preferences recipient,
+                                                            NotificationResponse notification) {
+        String body = notification.getActionUrl() != null
+                ? notification.getMessage() + "\n" + notification.getActionUrl()
+                : notification.getMessage();
+        return new NotificationChannel.Message(recipient.profileId(), recipient.username(), recipient.email(),
+                notification.getMessage(), body, 1, false);
+    }
+
+    private static NotificationChannel.Message renderDigest(NotificationPreferenceCache.Preferences recipient,
+                                                            PendingDigest digest) {
+        int total = digest.items.size() + digest.dropped;
+        StringBuilder body = new StringBuilder();
+        List<NotificationResponse> items = new ArrayList<>(digest.items.values());
+        // Newest first, the way the inbox lists them
+        for (int i = items.size() - 1; i >= 0; i--) {
+            body.append("- ").append(items.get(i).getMessage()).append('\n');
+        }
+        if (digest.dropped > 0) {
+            body.append("and ").append(digest.dropped).append(" more\n");
+        }
+        String subject = total == 1
+                ? items.get(0).getMessage()
+                : "You have " + total + " new notifications";
+        return new NotificationChannel.Message(recipient.profileId(), recipient.username(), recipient.email(),
+                subject, body.toString(), total, true);
+    }
+}
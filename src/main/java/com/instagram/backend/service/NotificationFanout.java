@@ -0,0 +1,202 @@
+package com.instagram.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.instagram.backend.dto.response.NotificationResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Carries notification events to every instance over Postgres LISTEN/NOTIFY, so a stream
+ * gets pushes whichever instance created the notification, and each instance's
+ * {@link UnreadNotificationCounter} follows writes made elsewhere.
+ *
+ * Events are sent with pg_notify inside the writing transaction, so Postgres delivers them
+ * only on commit and in commit order. Each instance, the writer included, applies them from
+ * one listening connection outside the pool. Events sent while that connection is down are
+ * lost, so cached counts are dropped whenever it (re)connects.
+ */
+@Service
+@Slf4j
+public class NotificationFanout {
+
+    static final String CHANNEL = "notification_events";
+
+    // Postgres rejects payloads of 8000 bytes or more, which would fail the writing transaction
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final DataSourceProperties dataSourceProperties;
+    private final NotificationStreamService notificationStreamService;
+    private final UnreadNotificationCounter unreadCounter;
+    private final int pollMillis;
+    private final long reconnectMillis;
+
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread listener;
+
+    public NotificationFanout(
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            DataSourceProperties dataSourceProperties,
+            NotificationStreamService notificationStreamService,
+            UnreadNotificationCounter unreadCounter,
+            @Value("${notifications.fanout.poll-ms:10000}") int pollMillis,
+            @Value("${notifications.fanout.reconnect-ms:5000}") long reconnectMillis
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.dataSourceProperties = dataSourceProperties;
+        this.notificationStreamService = notificationStreamService;
+        this.unreadCounter = unreadCounter;
+        this.pollMillis = pollMillis;
+        this.reconnectMillis = reconnectMillis;
+    }
+
+    /**
+     * One event with the recipient's unread change and, if given, the notification to push.
+     */
+    public record Event(Long recipientId, int unreadDelta, NotificationResponse notification) {
+    }
+
+    // ==================== PUBLISH ====================
+
+    /** A notification was created (unreadDelta 1) or an unread aggregate gained an actor (0). */
+    public void notificationCreated(Long recipientId, int unreadDelta, NotificationResponse notification) {
+        send(new Event(recipientId, unreadDelta, notification));
+    }
+
+    public void unreadRemoved(Long recipientId, int count) {
+        send(new Event(recipientId, -count, null));
+    }
+
+    /** Every instance drops its cached counts, e.g. after retention removed whole partitions. */
+    public void unreadCountsReset() {
+        send(new Event(null, 0, null));
+    }
+
+    private void send(Event event) {
+        String payload = serialize(event);
+        if (payload.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+            // Too large to carry: streams still get the new unread count
+            payload = serialize(new Event(event.recipientId(), event.unreadDelta(), null));
+        }
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> { }, CHANNEL, payload);
+    }
+
+    private String serialize(Event event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize notification event", e);
+        }
+    }
+
+    // ==================== LISTEN ====================
+
+    // A platform thread: the driver blocks inside synchronized code, which would pin a virtual
+    // thread's carrier for as long as the connection stays idle
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        listener = Thread.ofPlatform().daemon().name("notification-fanout").start(this::listen);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        closeQuietly(connection);
+        if (listener != null) {
+            listener.join(pollMillis);
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection listening = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                connection = listening;
+                try (Statement statement = listening.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                unreadCounter.resetAll();
+                PGConnection pgConnection = listening.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollMillis);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            apply(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Notification fan-out connection lost; reconnecting in {} ms", reconnectMillis, e);
+                try {
+                    Thread.sleep(reconnectMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void apply(String payload) {
+        Event event;
+        try {
+            event = objectMapper.readValue(payload, Event.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed notification event: {}", e.getMessage());
+            return;
+        }
+
+        Long recipientId = event.recipientId();
+        if (recipientId == null) {
+            unreadCounter.resetAll();
+            return;
+        }
+        if (event.unreadDelta() > 0) {
+            unreadCounter.increment(recipientId, event.unreadDelta());
+        } else if (event.unreadDelta() < 0) {
+            unreadCounter.decrement(recipientId, -event.unreadDelta());
+        }
+        if (!notificationStreamService.hasSubscribers(recipientId)) {
+            return;
+        }
+        if (event.notification() != null) {
+            notificationStreamService.pushNotification(recipientId, event.notification());
+        } else if (event.unreadDelta() != 0) {
+            notificationStreamService.pushUnreadCount(recipientId);
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Closing the notification fan-out connection failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.instagram.backend.service;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.instagram.backend.dto.projection.DeliveryPreferencesProjection;
+import com.instagram.backend.repository.jpa.ProfileRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Delivery preferences per profile, so routing a notification to its channels does not
+ * query the profile each time. A digest flush loads all of its uncached recipients in
+ * one query.
+ *
+ * ProfileService invalidates an entry when the profile's switches change; the TTL bounds
+ * staleness from changes made on other instances.
+ */
+@Component
+public class NotificationPreferenceCache {
+
+    public record Preferences(Long profileId, String username, String email,
+                              boolean emailEnabled, boolean pushEnabled, boolean smsEnabled) {
+
+        /** Cached for profiles that do not exist, so they are not looked up again. */
+        static Preferences none(Long profileId) {
+            return new Preferences(profileId, null, null, false, false, false);
+        }
+
+        public boolean allows(NotificationChannel.Channel channel) {
+            return switch (channel) {
+                case EMAIL -> emailEnabled && email != null;
+                case PUSH -> pushEnabled;
+                case SMS -> smsEnabled;
+            };
+        }
+    }
+
+    private final ProfileRepository profileRepository;
+    private final LoadingCache<Long, Preferences> preferences;
+
+    public NotificationPreferenceCache(
+            ProfileRepository profileRepository,
+            @Value("${notifications.delivery.preferences.max-size:100000}") long maxSize,
+            @Value("${notifications.delivery.preferences.ttl-seconds:600}") long ttlSeconds,
+            MeterRegistry meterRegistry
+    ) {
+        this.profileRepository = profileRepository;
+        this.preferences = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public Preferences load(Long profileId) {
+                        return loadAll(Set.of(profileId)).get(profileId);
+                    }
+
+                    @Override
+                    public Map<Long, Preferences> loadAll(Set<? extends Long> profileIds) {
+                        return query(profileIds);
+                    }
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, preferences, "notificationPreferences");
+    }
+
+    public Preferences get(Long profileId) {
+        return preferences.get(profileId);
+    }
+
+    public Map<Long, Preferences> getAll(Collection<Long> profileIds) {
+        return preferences.getAll(profileIds);
+    }
+
+    /** Call after the profile's notification switches have committed. */
+    public void invalidate(Long profileId) {
+        preferences.invalidate(profileId);
+    }
+
+    private Map<Long, Preferences> query(Set<? extends Long> profileIds) {
+        Map<Long, Preferences> loaded = new HashMap<>();
+        for (DeliveryPreferencesProjection row : profileRepository.findDeliveryPreferences(Set.copyOf(profileIds))) {
+            // A deactivated account gets nothing outside the app
+            boolean active = Boolean.TRUE.equals(row.getIsActive());
+            loaded.put(row.getProfileId(), new Preferences(row.getProfileId(), row.getUsername(), row.getEmail(),
+                    active && Boolean.TRUE.equals(row.getEmailNotificationsEnabled()),
+                    active && Boolean.TRUE.equals(row.getPushNotificationsEnabled()),
+                    active && Boolean.TRUE.equals(row.getSmsNotificationsEnabled())));
+        }
+        for (Long profileId : profileIds) {
+            loaded.putIfAbsent(profileId, Preferences.none(profileId));
+        }
+        return loaded;
+    }
+}
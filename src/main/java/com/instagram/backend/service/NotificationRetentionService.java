@@ -0,0 +1,309 @@
+package com.instagram.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.function.LongToIntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Storage lifecycle of the notifications table: monthly range partitions on created_at,
+ * created ahead of time, and a retention job that removes whole partitions once they are
+ * past the retention period.
+ *
+ * Hibernate creates the table as a plain one; on startup it is converted to a partitioned
+ * table when empty, or when convert-existing is set (rows are copied under an exclusive
+ * lock, so schedule that for a maintenance window). Retention is opt-in and only runs on
+ * the partitioned table: created_at has no index of its own, so trimming a plain table
+ * would mean row-by-row deletes over full scans.
+ *
+ * Startup also backfills the denormalized actor and campaign columns and last_activity_at
+ * on older rows, once: in the background, in id-range batches, and recorded in
+ * maintenance_markers when done.
+ */
+@Service
+@Slf4j
+public class NotificationRetentionService {
+
+    public enum RetentionMode {
+        /** DROP TABLE on expired partitions. */
+        DROP,
+        /** Detach expired partitions and keep them as notifications_archive_* tables. */
+        ARCHIVE
+    }
+
+    private static final long MAINTENANCE_LOCK_KEY = 0x4E4F544946524554L;
+    private static final String TABLE = "notifications";
+    private static final String DISPLAY_FIELDS_MARKER = "notifications.display-fields-backfill";
+    private static final String LAST_ACTIVITY_MARKER = "notifications.last-activity-backfill";
+    private static final String ARCHIVE_PREFIX = "notifications_archive_";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'y'yyyy'm'MM");
+    private static final Pattern PARTITION_NAME = Pattern.compile("notifications_y(\\d{4})m(\\d{2})");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationFanout notificationFanout;
+    private final boolean partitioningEnabled;
+    private final boolean convertExisting;
+    private final int premakeMonths;
+    private final boolean retentionEnabled;
+    private final int retentionDays;
+    private final RetentionMode retentionMode;
+    private final int backfillBatchSize;
+
+    public NotificationRetentionService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            NotificationFanout notificationFanout,
+            @Value("${notifications.partitioning.enabled:true}") boolean partitioningEnabled,
+            @Value("${notifications.partitioning.convert-existing:false}") boolean convertExisting,
+            @Value("${notifications.partitioning.premake-months:3}") int premakeMonths,
+            @Value("${notifications.retention.enabled:false}") boolean retentionEnabled,
+            @Value("${notifications.retention.days:180}") int retentionDays,
+            @Value("${notifications.retention.mode:ARCHIVE}") RetentionMode retentionMode,
+            @Value("${notifications.backfill.batch-size:5000}") int backfillBatchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.notificationFanout = notificationFanout;
+        this.partitioningEnabled = partitioningEnabled;
+        this.convertExisting = convertExisting;
+        this.premakeMonths = premakeMonths;
+        this.retentionEnabled = retentionEnabled;
+        this.retentionDays = retentionDays;
+        this.retentionMode = retentionMode;
+        this.backfillBatchSize = backfillBatchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!tryLock()) {
+                return; // another node is on it
+            }
+            if (partitioningEnabled) {
+                preparePartitions();
+            }
+        });
+        Thread.ofVirtual().name("notification-backfill").start(this::runBackfills);
+    }
+
+    private void preparePartitions() {
+        if (!isPartitioned()) {
+            boolean empty = !Boolean.TRUE.equals(
+                    jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM notifications)", Boolean.class));
+            if (!empty && !convertExisting) {
+                log.warn("Notifications table is not partitioned; set notifications.partitioning.convert-existing "
+                        + "to convert it. Retention does not run until it is.");
+                return;
+            }
+            convertToPartitioned();
+        }
+        createPartitions(YearMonth.now(), YearMonth.now().plusMonths(premakeMonths));
+    }
+
+    /**
+     * Fills columns added after rows were written: the actor and campaign display columns,
+     * which the inbox query reads instead of joining, and last_activity_at, which it sorts
+     * by. Each runs in short transactions over id ranges, each holding the maintenance lock,
+     * and is skipped for good once its marker is written.
+     */
+    private void runBackfills() {
+        try {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS maintenance_markers "
+                    + "(name VARCHAR(100) PRIMARY KEY, completed_at TIMESTAMP NOT NULL)");
+            long displayFields = backfill(DISPLAY_FIELDS_MARKER, this::backfillDisplayFields);
+            if (displayFields > 0) {
+                log.info("Backfilled display fields on {} notifications", displayFields);
+            }
+            long lastActivity = backfill(LAST_ACTIVITY_MARKER, this::backfillLastActivity);
+            if (lastActivity > 0) {
+                log.info("Backfilled last activity on {} notifications", lastActivity);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Notification backfill stopped; it resumes on the next start", e);
+        }
+    }
+
+    /** Rows updated, or 0 if the marker was already written or another node holds the lock. */
+    private long backfill(String marker, LongToIntFunction batch) {
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM maintenance_markers WHERE name = ?)", Boolean.class, marker))) {
+            return 0;
+        }
+        long updated = 0;
+        // The upper bound is re-read so rows inserted meanwhile by older nodes are covered too
+        for (long from = 0; from < maxNotificationId(); from += backfillBatchSize) {
+            long afterId = from;
+            Integer rows = transactionTemplate.execute(status -> tryLock() ? batch.applyAsInt(afterId) : null);
+            if (rows == null) {
+                return 0; // another node is on it
+            }
+            updated += rows;
+        }
+        jdbcTemplate.update("INSERT INTO maintenance_markers (name, completed_at) VALUES (?, now()) "
+                + "ON CONFLICT (name) DO NOTHING", marker);
+        return updated;
+    }
+
+    private long maxNotificationId() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT coalesce(max(id), 0) FROM notifications", Long.class);
+        return maxId != null ? maxId : 0;
+    }
+
+    private int backfillDisplayFields(long afterId) {
+        long upToId = afterId + backfillBatchSize;
+        int actors = jdbcTemplate.update("UPDATE notifications n SET actor_username = u.username, "
+                + "actor_profile_picture_url = p.profile_picture_url FROM profiles p JOIN users u ON u.id = p.user_id "
+                + "WHERE n.id > ? AND n.id <= ? AND n.actor_id = p.id AND n.actor_username IS NULL", afterId, upToId);
+        int campaigns = jdbcTemplate.update("UPDATE notifications n SET campaign_title = c.title FROM campaigns c "
+                + "WHERE n.id > ? AND n.id <= ? AND n.campaign_id = c.id AND n.campaign_title IS NULL", afterId, upToId);
+        return actors + campaigns;
+    }
+
+    // Until then those rows keep the column default, the epoch, and sort below everything else
+    private int backfillLastActivity(long afterId) {
+        return jdbcTemplate.update("UPDATE notifications SET last_activity_at = created_at "
+                + "WHERE id > ? AND id <= ? AND last_activity_at < created_at", afterId, afterId + backfillBatchSize);
+    }
+
+    /**
+     * Daily maintenance: keeps partitions created ahead of time, then applies retention.
+     */
+    @Scheduled(cron = "${notifications.retention.cron:0 30 3 * * *}")
+    public void runMaintenance() {
+        LocalDateTime cutoff = LocalDate.now().minusDays(retentionDays).atStartOfDay();
+        if (isPartitioned()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!tryLock()) {
+                    return;
+                }
+                createPartitions(YearMonth.now(), YearMonth.now().plusMonths(premakeMonths));
+                if (retentionEnabled) {
+                    removeExpiredPartitions(cutoff);
+                }
+            });
+        } else if (retentionEnabled) {
+            log.warn("Notification retention skipped: the notifications table is not partitioned");
+        }
+    }
+
+    private boolean tryLock() {
+        return Boolean.TRUE.equals(
+                jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, MAINTENANCE_LOCK_KEY));
+    }
+
+    private boolean isPartitioned() {
+        String kind = jdbcTemplate.queryForObject(
+                "SELECT relkind::text FROM pg_class WHERE oid = to_regclass(?)", String.class, TABLE);
+        return "p".equals(kind);
+    }
+
+    /**
+     * Swaps the plain table for a partitioned one with the same columns, copies the rows and
+     * recreates the secondary indexes and foreign keys. The primary key becomes
+     * (id, created_at) because a partitioned table's unique keys must include the partition key.
+     */
+    private void convertToPartitioned() {
+        // Captured while the definitions still name the original table
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT indexdef FROM pg_indexes WHERE schemaname = current_schema() AND tablename = ? "
+                        + "AND indexname NOT IN (SELECT conname FROM pg_constraint "
+                        + "WHERE conrelid = to_regclass(?) AND contype IN ('p', 'u'))",
+                String.class, TABLE, TABLE);
+        List<String> foreignKeys = jdbcTemplate.queryForList(
+                "SELECT 'ALTER TABLE notifications ADD CONSTRAINT ' || quote_ident(conname) || ' ' "
+                        + "|| pg_get_constraintdef(oid) FROM pg_constraint "
+                        + "WHERE conrelid = to_regclass(?) AND contype = 'f'",
+                String.class, TABLE);
+        LocalDateTime oldest = jdbcTemplate.queryForObject("SELECT min(created_at) FROM notifications", LocalDateTime.class);
+        String serialSequence = jdbcTemplate.queryForObject(
+                "SELECT pg_get_serial_sequence(?, 'id')", String.class, TABLE);
+        boolean identity = Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT attidentity <> '' FROM pg_attribute WHERE attrelid = to_regclass(?) AND attname = 'id'",
+                Boolean.class, TABLE));
+
+        jdbcTemplate.execute("ALTER TABLE notifications RENAME TO notifications_unpartitioned");
+        jdbcTemplate.execute("CREATE TABLE notifications (LIKE notifications_unpartitioned "
+                + "INCLUDING DEFAULTS INCLUDING IDENTITY INCLUDING CONSTRAINTS) PARTITION BY RANGE (created_at)");
+        jdbcTemplate.execute("ALTER TABLE notifications ADD PRIMARY KEY (id, created_at)");
+        if (!identity && serialSequence != null) {
+            // A serial default still points at the old table's sequence; keep it from being dropped
+            jdbcTemplate.execute("ALTER SEQUENCE " + serialSequence + " OWNED BY notifications.id");
+        }
+
+        YearMonth from = oldest != null ? YearMonth.from(oldest) : YearMonth.now();
+        createPartitions(from, YearMonth.now().plusMonths(premakeMonths));
+        int copied = jdbcTemplate.update(
+                "INSERT INTO notifications OVERRIDING SYSTEM VALUE SELECT * FROM notifications_unpartitioned");
+        if (identity) {
+            jdbcTemplate.queryForObject("SELECT setval(pg_get_serial_sequence('notifications', 'id'), "
+                    + "(SELECT coalesce(max(id), 0) + 1 FROM notifications), false)", Long.class);
+        }
+        jdbcTemplate.execute("DROP TABLE notifications_unpartitioned");
+
+        indexes.forEach(jdbcTemplate::execute);
+        foreignKeys.forEach(jdbcTemplate::execute);
+        log.info("Converted notifications to a partitioned table ({} rows copied)", copied);
+    }
+
+    private void createPartitions(YearMonth from, YearMonth to) {
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month)
+                    + " PARTITION OF notifications FOR VALUES FROM ('" + month.atDay(1).atStartOfDay()
+                    + "') TO ('" + month.plusMonths(1).atDay(1).atStartOfDay() + "')");
+        }
+    }
+
+    /** Partitions whose whole range is before the cutoff; a partly expired month is kept. */
+    private void removeExpiredPartitions(LocalDateTime cutoff) {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                        + "WHERE i.inhparent = to_regclass(?) ORDER BY c.relname",
+                String.class, TABLE);
+        int removed = 0;
+        for (String partition : partitions) {
+            Matcher name = PARTITION_NAME.matcher(partition);
+            if (!name.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(name.group(1)), Integer.parseInt(name.group(2)));
+            if (month.plusMonths(1).atDay(1).atStartOfDay().isAfter(cutoff)) {
+                continue;
+            }
+            if (retentionMode == RetentionMode.ARCHIVE) {
+                jdbcTemplate.execute("ALTER TABLE notifications DETACH PARTITION " + partition);
+                jdbcTemplate.execute("ALTER TABLE " + partition + " RENAME TO " + ARCHIVE_PREFIX + partitionSuffix(month));
+            } else {
+                jdbcTemplate.execute("DROP TABLE " + partition);
+            }
+            removed++;
+            log.info("Notification retention: {} partition {}",
+                    retentionMode == RetentionMode.ARCHIVE ? "archived" : "dropped", partition);
+        }
+        if (removed > 0) {
+            notificationFanout.unreadCountsReset();
+        }
+    }
+
+    private static String partitionName(YearMonth month) {
+        return TABLE + "_" + partitionSuffix(month);
+    }
+
+    private static String partitionSuffix(YearMonth month) {
+        return month.format(PARTITION_SUFFIX);
+    }
+}
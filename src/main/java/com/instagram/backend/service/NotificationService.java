@@ -1,7 +1,11 @@
 package com.instagram.backend.service;
 
+import com.instagram.backend.cache.DocumentCache;
+import com.instagram.backend.dto.projection.NotificationProjection;
 import com.instagram.backend.dto.response.NotificationResponse;
 import com.instagram.backend.exception.ResourceNotFoundException;
+import com.instagram.backend.model.document.Post;
+import com.instagram.backend.model.document.Reel;
 import com.instagram.backend.model.entity.Campaign;
 import com.instagram.backend.model.entity.Notification;
 import com.instagram.backend.model.entity.Profile;
@@ -10,35 +14,53 @@ import com.instagram.backend.repository.jpa.NotificationRepository;
 import com.instagram.backend.repository.jpa.ProfileRepository;
 import com.instagram.backend.repository.mongo.PostRepository;
 import com.instagram.backend.repository.mongo.ReelRepository;
+import com.instagram.backend.utils.TransactionUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
 
+    private static final int MAX_BULK_IDS = 1000;
+
     private final NotificationRepository notificationRepository;
     private final ProfileRepository profileRepository;
     private final PostRepository postRepository;
     private final ReelRepository reelRepository;
     private final CampaignRepository campaignRepository;
+    private final DocumentCache<Post> postCache;
+    private final DocumentCache<Reel> reelCache;
+    private final UnreadNotificationCounter unreadCounter;
+    private final NotificationFanout notificationFanout;
+    private final NotificationDeliveryService notificationDeliveryService;
+
+    @Value("${notifications.coalescing.window-minutes:60}")
+    private long coalesceWindowMinutes;
+
+    @Value("${notifications.coalescing.max-recent-actors:3}")
+    private int maxRecentActors;
 
     // ==================== READ NOTIFICATIONS ====================
 
     public Page<NotificationResponse> getUserNotifications(Long userId, Pageable pageable) {
-        Page<Notification> notifications = notificationRepository
-                .findByRecipientIdOrderByCreatedAtDesc(userId, pageable);
+        Page<NotificationProjection> notifications = notificationRepository
+                .findInboxByRecipientId(userId, pageable);
         return notifications.map(this::mapToNotificationResponse);
     }
 
     public long getUnreadNotificationCount(Long userId) {
-        return notificationRepository.countByRecipientIdAndIsReadFalse(userId);
+        return unreadCounter.get(userId);
     }
 
     @Transactional
@@ -50,17 +72,32 @@ public class NotificationService {
             throw new IllegalArgumentException("Unauthorized access to notification");
         }
 
+        if (notification.getIsRead()) {
+            return;
+        }
         notification.markAsRead();
         notificationRepository.save(notification);
+        afterUnreadRemoved(userId, 1);
     }
 
     @Transactional
-    public void markAllAsRead(Long userId) {
-        List<Notification> unread = notificationRepository
-                .findByRecipientIdAndIsReadFalse(userId);
+    public int markAllAsRead(Long userId) {
+        int updated = notificationRepository.markAllAsRead(userId, LocalDateTime.now());
+        afterUnreadRemoved(userId, updated);
+        return updated;
+    }
 
-        unread.forEach(Notification::markAsRead);
-        notificationRepository.saveAll(unread);
+    @Transactional
+    public int markAsRead(Long userId, List<Long> notificationIds) {
+        if (notificationIds == null || notificationIds.isEmpty()) {
+            return 0;
+        }
+        if (notificationIds.size() > MAX_BULK_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_IDS + " notifications can be marked at once");
+        }
+        int updated = notificationRepository.markAsRead(userId, notificationIds, LocalDateTime.now());
+        afterUnreadRemoved(userId, updated);
+        return updated;
     }
 
     @Transactional
@@ -73,6 +110,25 @@ public class NotificationService {
         }
 
         notificationRepository.delete(notification);
+        if (!notification.getIsRead()) {
+            afterUnreadRemoved(userId, 1);
+        }
+    }
+
+    @Transactional
+    public int deleteNotificationsOlderThan(Long userId, LocalDateTime before) {
+        int unread = notificationRepository.deleteOlderThan(userId, before, false);
+        int read = notificationRepository.deleteOlderThan(userId, before, true);
+        afterUnreadRemoved(userId, unread);
+        return unread + read;
+    }
+
+    @Transactional
+    public int deleteNotificationsByType(Long userId, Notification.NotificationType type) {
+        int unread = notificationRepository.deleteByType(userId, type, false);
+        int read = notificationRepository.deleteByType(userId, type, true);
+        afterUnreadRemoved(userId, unread);
+        return unread + read;
     }
 
     // ==================== SOCIAL NOTIFICATIONS ====================
@@ -89,29 +145,17 @@ public class NotificationService {
         }
 
         Profile actor = getProfile(actorId);
-        Profile recipient = getProfile(recipientId);
-
-        Notification notification = new Notification();
-        notification.setRecipient(recipient);
-        notification.setActor(actor);
-        notification.setPostId(postId);
-        notification.setReelId(reelId);
 
         if (campaignId != null) {
-            Campaign campaign = campaignRepository.findById(campaignId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Campaign not found"));
-            notification.setCampaign(campaign);
-            notification.setType(Notification.NotificationType.LIKE_CAMPAIGN);
-            notification.setMessage(actor.getUser().getUsername() + " liked your campaign");
+            notifyCoalesced(recipientId, actor, Notification.NotificationType.LIKE_CAMPAIGN,
+                    "liked your campaign", null, null, campaignId);
         } else if (postId != null) {
-            notification.setType(Notification.NotificationType.LIKE_POST);
-            notification.setMessage(actor.getUser().getUsername() + " liked your post");
+            notifyCoalesced(recipientId, actor, Notification.NotificationType.LIKE_POST,
+                    "liked your post", postId, reelId, null);
         } else {
-            notification.setType(Notification.NotificationType.LIKE_REEL);
-            notification.setMessage(actor.getUser().getUsername() + " liked your reel");
+            notifyCoalesced(recipientId, actor, Notification.NotificationType.LIKE_REEL,
+                    "liked your reel", postId, reelId, null);
         }
-
-        notificationRepository.save(notification);
     }
 
     @Transactional
@@ -126,32 +170,20 @@ public class NotificationService {
         }
 
         Profile actor = getProfile(actorId);
-        Profile recipient = getProfile(recipientId);
-
-        Notification notification = new Notification();
-        notification.setRecipient(recipient);
-        notification.setActor(actor);
-        notification.setPostId(postId);
-        notification.setReelId(reelId);
 
         if (isReply) {
-            notification.setType(Notification.NotificationType.COMMENT_REPLY);
-            notification.setMessage(actor.getUser().getUsername() + " replied to your comment");
+            notifyCoalesced(recipientId, actor, Notification.NotificationType.COMMENT_REPLY,
+                    "replied to your comment", postId, reelId, campaignId);
         } else if (campaignId != null) {
-            Campaign campaign = campaignRepository.findById(campaignId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Campaign not found"));
-            notification.setCampaign(campaign);
-            notification.setType(Notification.NotificationType.COMMENT_CAMPAIGN);
-            notification.setMessage(actor.getUser().getUsername() + " commented on your campaign");
+            notifyCoalesced(recipientId, actor, Notification.NotificationType.COMMENT_CAMPAIGN,
+                    "commented on your campaign", null, null, campaignId);
         } else if (postId != null) {
-            notification.setType(Notification.NotificationType.COMMENT_POST);
-            notification.setMessage(actor.getUser().getUsername() + " commented on your post");
+            notifyCoalesced(recipientId, actor, Notification.NotificationType.COMMENT_POST,
+                    "commented on your post", postId, reelId, null);
         } else {
-            notification.setType(Notification.NotificationType.COMMENT_REEL);
-            notification.setMessage(actor.getUser().getUsername() + " commented on your reel");
+            notifyCoalesced(recipientId, actor, Notification.NotificationType.COMMENT_REEL,
+                    "commented on your reel", postId, reelId, null);
         }
-
-        notificationRepository.save(notification);
     }
 
     @Transactional
@@ -165,7 +197,7 @@ public class NotificationService {
         notification.setType(Notification.NotificationType.FOLLOW);
         notification.setMessage(actor.getUser().getUsername() + " started following you");
 
-        notificationRepository.save(notification);
+        publish(notification);
     }
 
     // ==================== CROWDFUNDING NOTIFICATIONS ====================
@@ -188,7 +220,7 @@ public class NotificationService {
                 donor.getUser().getUsername(), amount, campaign.getCurrency()
         ));
 
-        notificationRepository.save(notification);
+        publish(notification);
     }
 
     @Transactional
@@ -207,7 +239,7 @@ public class NotificationService {
                 amount, campaign.getCurrency()
         ));
 
-        notificationRepository.save(notification);
+        publish(notification);
     }
 
     @Transactional
@@ -221,7 +253,7 @@ public class NotificationService {
         notification.setType(Notification.NotificationType.CAMPAIGN_GOAL_REACHED);
         notification.setMessage("Congratulations! Your campaign reached its goal");
 
-        notificationRepository.save(notification);
+        publish(notification);
     }
 
     @Transactional
@@ -235,7 +267,7 @@ public class NotificationService {
         notification.setType(Notification.NotificationType.CAMPAIGN_APPROVED);
         notification.setMessage("Your campaign has been approved and is now live");
 
-        notificationRepository.save(notification);
+        publish(notification);
     }
 
     @Transactional
@@ -251,7 +283,7 @@ public class NotificationService {
         notification.setType(Notification.NotificationType.CAMPAIGN_REJECTED);
         notification.setMessage("Your campaign was rejected. Reason: " + reason);
 
-        notificationRepository.save(notification);
+        publish(notification);
     }
 
     // ==================== WITHDRAWAL NOTIFICATIONS ====================
@@ -274,7 +306,7 @@ public class NotificationService {
         notification.setType(Notification.NotificationType.WITHDRAWAL_COMPLETED);
         notification.setMessage("Your withdrawal request has been approved");
 
-        notificationRepository.save(notification);
+        publish(notification);
     }
 
     @Transactional
@@ -288,7 +320,7 @@ public class NotificationService {
         notification.setType(Notification.NotificationType.WITHDRAWAL_FAILED);
         notification.setMessage("Withdrawal rejected: " + reason);
 
-        notificationRepository.save(notification);
+        publish(notification);
     }
 
     @Transactional
@@ -300,7 +332,7 @@ public class NotificationService {
         notification.setType(Notification.NotificationType.WITHDRAWAL_COMPLETED);
         notification.setMessage("Your withdrawal has been completed successfully");
 
-        notificationRepository.save(notification);
+        publish(notification);
     }
 
     @Transactional
@@ -314,7 +346,7 @@ public class NotificationService {
         notification.setType(Notification.NotificationType.WITHDRAWAL_FAILED);
         notification.setMessage("Withdrawal failed: " + reason);
 
-        notificationRepository.save(notification);
+        publish(notification);
     }
 
     // ==================== OTHER NOTIFICATIONS ====================
@@ -328,7 +360,7 @@ public class NotificationService {
         notification.setType(Notification.NotificationType.ACCOUNT_WARNING);
         notification.setMessage("Your bank account has been verified");
 
-        notificationRepository.save(notification);
+        publish(notification);
     }
 
     @Transactional
@@ -345,18 +377,18 @@ public class NotificationService {
         notification.setType(Notification.NotificationType.ACCOUNT_WARNING);
         notification.setMessage("Your donation has been refunded. Reason: " + reason);
 
-        notificationRepository.save(notification);
+        publish(notification);
     }
 
     // ==================== HELPER METHODS ====================
 
     private Long getContentOwnerId(String postId, String reelId, Long campaignId) {
         if (postId != null) {
-            return postRepository.findById(postId)
+            return postCache.get(postId, postRepository::findById)
                     .orElseThrow(() -> new ResourceNotFoundException("Post not found"))
                     .getUserId();
         } else if (reelId != null) {
-            return reelRepository.findById(reelId)
+            return reelCache.get(reelId, reelRepository::findById)
                     .orElseThrow(() -> new ResourceNotFoundException("Reel not found"))
                     .getUserId();
         } else if (campaignId != null) {
@@ -367,6 +399,86 @@ public class NotificationService {
         throw new IllegalArgumentException("No content ID provided");
     }
 
+    /**
+     * Saves a new notification. Once it commits, the recipient's unread count goes up and
+     * their open streams receive it.
+     */
+    private void publish(Notification notification) {
+        notificationRepository.save(notification);
+        deliver(notification.getRecipient().getId(), 1, notification);
+    }
+
+    /**
+     * Like and comment events on one target collapse into a single notification per
+     * recipient ("alice and 57 others liked your post") for as long as it is unread and
+     * within the coalescing window. Two events racing to open an aggregate may both insert
+     * a row; later events then go to the newer one.
+     */
+    private void notifyCoalesced(Long recipientId, Profile actor, Notification.NotificationType type,
+                                 String action, String postId, String reelId, Long campaignId) {
+        if (postId == null && reelId == null && campaignId == null) {
+            throw new IllegalArgumentException("No content ID provided");
+        }
+        String aggregateKey = campaignId != null ? "campaign:" + campaignId
+                : postId != null ? "post:" + postId
+                : "reel:" + reelId;
+
+        if (coalesceWindowMinutes > 0) {
+            Optional<Long> aggregateId = notificationRepository.lockOpenAggregate(recipientId, type.name(),
+                    aggregateKey, LocalDateTime.now().minusMinutes(coalesceWindowMinutes));
+            if (aggregateId.isPresent()) {
+                Notification aggregate = notificationRepository.findById(aggregateId.get())
+                        .orElseThrow(() -> new ResourceNotFoundException("Notification not found"));
+                aggregate.addActor(actor, maxRecentActors);
+                aggregate.setMessage(coalescedMessage(actor, aggregate.getActorCount(), action));
+                notificationRepository.save(aggregate);
+                // Still one unread notification: no counter change, streams and digests get the new version
+                deliver(recipientId, 0, aggregate);
+                return;
+            }
+        }
+
+        Notification notification = new Notification();
+        notification.setRecipient(getProfile(recipientId));
+        notification.setActor(actor);
+        notification.setPostId(postId);
+        notification.setReelId(reelId);
+        if (campaignId != null) {
+            notification.setCampaign(getCampaign(campaignId));
+        }
+        notification.setType(type);
+        notification.setMessage(coalescedMessage(actor, 1, action));
+        notification.setAggregateKey(aggregateKey);
+        notification.setRecentActorIds(String.valueOf(actor.getId()));
+
+        publish(notification);
+    }
+
+    private static String coalescedMessage(Profile actor, int actorCount, String action) {
+        String username = actor.getUser().getUsername();
+        int others = actorCount - 1;
+        if (others == 0) {
+            return username + " " + action;
+        }
+        return username + " and " + others + (others == 1 ? " other " : " others ") + action;
+    }
+
+    /**
+     * Mapped inside the transaction. Streams and unread counts on every instance get it through
+     * the fan-out on commit; the recipient's other channels get it once, from this instance.
+     */
+    private void deliver(Long recipientId, int unreadDelta, Notification notification) {
+        NotificationResponse response = mapToNotificationResponse(notification);
+        notificationFanout.notificationCreated(recipientId, unreadDelta, response);
+        TransactionUtil.afterCommit(() -> notificationDeliveryService.dispatch(recipientId, response));
+    }
+
+    private void afterUnreadRemoved(Long recipientId, int count) {
+        if (count > 0) {
+            notificationFanout.unreadRemoved(recipientId, count);
+        }
+    }
+
     private Profile getProfile(Long profileId) {
         return profileRepository.findById(profileId)
                 .orElseThrow(() -> new ResourceNotFoundException("Profile not found"));
@@ -377,6 +489,7 @@ public class NotificationService {
                 .orElseThrow(() -> new ResourceNotFoundException("Campaign not found"));
     }
 
+    /** Pushed notifications: the entity is in memory and carries the same copied display fields. */
     private NotificationResponse mapToNotificationResponse(Notification notification) {
         NotificationResponse response = new NotificationResponse();
         response.setId(notification.getId());
@@ -386,9 +499,11 @@ public class NotificationService {
 
         if (notification.getActor() != null) {
             response.setActorId(notification.getActor().getId());
-            response.setActorUsername(notification.getActor().getUser().getUsername());
-            response.setActorProfilePicture(notification.getActor().getProfilePictureUrl());
         }
+        response.setActorUsername(notification.getActorUsername());
+        response.setActorProfilePicture(notification.getActorProfilePictureUrl());
+        response.setActorCount(notification.getActorCount());
+        response.setRecentActorIds(parseActorIds(notification.getRecentActorIds()));
 
         response.setPostId(notification.getPostId());
         response.setReelId(notification.getReelId());
@@ -397,13 +512,51 @@ public class NotificationService {
         if (notification.getCampaign() != null) {
             response.setCampaignId(notification.getCampaign().getId());
         }
+        response.setCampaignTitle(notification.getCampaignTitle());
+
+        response.setActionUrl(notification.getActionUrl());
+        response.setCreatedAt(notification.getCreatedAt());
+        response.setLastActivityAt(notification.getLastActivityAt());
+        response.setReadAt(notification.getReadAt());
+
+        return response;
+    }
+
+    private NotificationResponse mapToNotificationResponse(NotificationProjection notification) {
+        NotificationResponse response = new NotificationResponse();
+        response.setId(notification.getId());
+        response.setType(notification.getType().name());
+        response.setMessage(notification.getMessage());
+        response.setIsRead(notification.getIsRead());
+
+        response.setActorId(notification.getActorId());
+        response.setActorUsername(notification.getActorUsername());
+        response.setActorProfilePicture(notification.getActorProfilePictureUrl());
+        response.setActorCount(notification.getActorCount());
+        response.setRecentActorIds(parseActorIds(notification.getRecentActorIds()));
+
+        response.setPostId(notification.getPostId());
+        response.setReelId(notification.getReelId());
+        response.setCommentId(notification.getCommentId());
+        response.setCampaignId(notification.getCampaignId());
+        response.setCampaignTitle(notification.getCampaignTitle());
 
         response.setActionUrl(notification.getActionUrl());
         response.setCreatedAt(notification.getCreatedAt());
+        response.setLastActivityAt(notification.getLastActivityAt());
         response.setReadAt(notification.getReadAt());
 
         return response;
     }
+
+    private static List<Long> parseActorIds(String recentActorIds) {
+        if (recentActorIds == null || recentActorIds.isEmpty()) {
+            return null;
+        }
+        return Arrays.stream(recentActorIds.split(","))
+                .map(Long::valueOf)
+                .toList();
+    }
     // Add these methods to NotificationService.java
 
 // ==================== CAMPAIGN UPDATE NOTIFICATIONS ====================
@@ -420,7 +573,7 @@ public class NotificationService {
         notification.setMessage("New update posted for campaign: " + campaign.getTitle());
         notification.setActionUrl("/campaigns/" + campaignId + "/updates/" + updateId);
 
-        notificationRepository.save(notification);
+        publish(notification);
     }
 
     @Transactional
@@ -435,7 +588,7 @@ public class NotificationService {
         notification.setMessage("Campaign milestone reached: " + campaign.getTitle());
         notification.setActionUrl("/campaigns/" + campaignId + "/updates/" + updateId);
 
-        notificationRepository.save(notification);
+        publish(notification);
     }
 
 // ==================== FOLLOW NOTIFICATIONS ====================
@@ -451,7 +604,7 @@ public class NotificationService {
         notification.setType(Notification.NotificationType.FOLLOW_REQUEST);
         notification.setMessage(actor.getUser().getUsername() + " requested to follow you");
 
-        notificationRepository.save(notification);
+        publish(notification);
     }
 
     @Transactional
@@ -465,7 +618,7 @@ public class NotificationService {
         notification.setType(Notification.NotificationType.FOLLOW_ACCEPTED);
         notification.setMessage(actor.getUser().getUsername() + " accepted your follow request");
 
-        notificationRepository.save(notification);
+        publish(notification);
     }
 
 // ==================== REPORT NOTIFICATIONS ====================
@@ -483,7 +636,7 @@ public class NotificationService {
             notification.setMessage("New report requires review");
             notification.setActionUrl("/admin/reports/" + reportId);
 
-            notificationRepository.save(notification);
+            publish(notification);
         }
     }
 
@@ -497,7 +650,7 @@ public class NotificationService {
         notification.setMessage("Your report has been resolved. Action taken: " + action);
         notification.setActionUrl("/reports/" + reportId);
 
-        notificationRepository.save(notification);
+        publish(notification);
     }
 
     @Transactional
@@ -510,7 +663,7 @@ public class NotificationService {
         notification.setMessage("Your report has been reviewed and dismissed");
         notification.setActionUrl("/reports/" + reportId);
 
-        notificationRepository.save(notification);
+        publish(notification);
     }
 
     @Transactional
@@ -525,7 +678,7 @@ public class NotificationService {
             notification.setMessage("Report escalated for senior review");
             notification.setActionUrl("/admin/reports/" + reportId);
 
-            notificationRepository.save(notification);
+            publish(notification);
         }
     }
 
@@ -543,7 +696,7 @@ public class NotificationService {
                 contentType.toLowerCase(), reason
         ));
 
-        notificationRepository.save(notification);
+        publish(notification);
     }
 
     @Transactional
@@ -558,6 +711,6 @@ public class NotificationService {
                 days, reason
         ));
 
-        notificationRepository.save(notification);
+        publish(notification);
     }
 }
\ No newline at end of file
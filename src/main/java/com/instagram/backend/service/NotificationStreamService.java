@@ -0,0 +1,195 @@
+package com.instagram.backend.service;
+
+import com.instagram.backend.dto.response.NotificationResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Server-sent event streams of new notifications and unread counts, replacing clients that
+ * poll the unread count endpoint.
+ *
+ * An open stream is an async servlet request: while idle it holds a socket and an emitter
+ * but no thread. Sends run on virtual threads so a client with a full socket buffer never
+ * stalls the request that created the notification. Streams end after the configured
+ * timeout and EventSource clients reconnect on their own. Notifications created during a
+ * reconnect are not replayed, but every stream starts with the current unread count, so
+ * the badge is exact again.
+ *
+ * Connections are local to this instance; {@link NotificationFanout} brings each instance
+ * the events for its own streams, whichever instance wrote them.
+ */
+@Service
+@Slf4j
+public class NotificationStreamService {
+
+    public static final String NOTIFICATION_EVENT = "notification";
+    public static final String UNREAD_COUNT_EVENT = "unread-count";
+
+    private final UnreadNotificationCounter unreadCounter;
+    private final long timeoutMillis;
+    private final long reconnectMillis;
+    private final int maxStreamsPerUser;
+    private final Map<Long, Deque<SseEmitter>> streams = new ConcurrentHashMap<>();
+    private final AtomicInteger openStreams = new AtomicInteger();
+    private final SimpleAsyncTaskExecutor pushExecutor;
+    private final Counter pushed;
+    private final Counter failed;
+
+    public NotificationStreamService(
+            UnreadNotificationCounter unreadCounter,
+            @Value("${notifications.stream.timeout-ms:900000}") long timeoutMillis,
+            @Value("${notifications.stream.reconnect-ms:5000}") long reconnectMillis,
+            @Value("${notifications.stream.max-per-user:5}") int maxStreamsPerUser,
+            MeterRegistry meterRegistry
+    ) {
+        this.unreadCounter = unreadCounter;
+        this.timeoutMillis = timeoutMillis;
+        this.reconnectMillis = reconnectMillis;
+        this.maxStreamsPerUser = maxStreamsPerUser;
+        this.pushExecutor = new SimpleAsyncTaskExecutor("notification-push-");
+        this.pushExecutor.setVirtualThreads(true);
+
+        Gauge.builder("notifications.stream.connections", openStreams, AtomicInteger::get)
+                .description("Open notification event streams on this instance")
+                .register(meterRegistry);
+        pushed = Counter.builder("notifications.stream.events").tag("outcome", "sent").register(meterRegistry);
+        failed = Counter.builder("notifications.stream.events").tag("outcome", "failed").register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        emitter.onCompletion(() -> remove(userId, emitter));
+        // Completing here ends the response normally instead of raising AsyncRequestTimeoutException
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> remove(userId, emitter));
+
+        // Added inside compute so a concurrent remove() cannot drop the deque underneath us
+        Deque<SseEmitter> userStreams = streams.compute(userId, (id, existing) -> {
+            Deque<SseEmitter> deque = existing != null ? existing : new ConcurrentLinkedDeque<>();
+            deque.addLast(emitter);
+            return deque;
+        });
+        openStreams.incrementAndGet();
+        // Forgotten tabs must not pile up: the oldest stream gives way
+        while (userStreams.size() > maxStreamsPerUser) {
+            SseEmitter oldest = userStreams.pollFirst();
+            if (oldest != null) {
+                openStreams.decrementAndGet();
+                oldest.complete();
+            }
+        }
+
+        // Not on the request thread: with open-in-view, a query there would pin a JDBC
+        // connection to the request for as long as the stream stays open
+        pushExecutor.execute(() -> send(userId, emitter, SseEmitter.event()
+                .name(UNREAD_COUNT_EVENT)
+                .reconnectTime(reconnectMillis)
+                .data(unreadCounter.get(userId))));
+        return emitter;
+    }
+
+    public boolean hasSubscribers(Long userId) {
+        Deque<SseEmitter> userStreams = streams.get(userId);
+        return userStreams != null && !userStreams.isEmpty();
+    }
+
+    /** Sends the notification followed by the recipient's unread count to every open stream. */
+    public void pushNotification(Long userId, NotificationResponse notification) {
+        forEachStream(userId, emitter -> {
+            if (send(userId, emitter, SseEmitter.event()
+                    .id(String.valueOf(notification.getId()))
+                    .name(NOTIFICATION_EVENT)
+                    .data(notification))) {
+                sendUnreadCount(userId, emitter);
+            }
+        });
+    }
+
+    public void pushUnreadCount(Long userId) {
+        forEachStream(userId, emitter -> sendUnreadCount(userId, emitter));
+    }
+
+    /**
+     * Comment frame on every stream, so proxies keep idle connections open and streams
+     * whose client has gone away are found and dropped.
+     */
+    @Scheduled(fixedDelayString = "${notifications.stream.heartbeat-ms:30000}")
+    public void heartbeat() {
+        streams.forEach((userId, userStreams) -> {
+            for (SseEmitter emitter : userStreams) {
+                pushExecutor.execute(() -> send(userId, emitter, SseEmitter.event().comment("keep-alive")));
+            }
+        });
+    }
+
+    /**
+     * Ends every stream while the web server is still up (it stops before beans are
+     * destroyed), so clients see a clean end and reconnect to another instance.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void completeStreams() {
+        streams.values().forEach(userStreams -> userStreams.forEach(SseEmitter::complete));
+        streams.clear();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pushExecutor.close();
+    }
+
+    private void forEachStream(Long userId, Consumer<SseEmitter> action) {
+        Deque<SseEmitter> userStreams = streams.get(userId);
+        if (userStreams == null) {
+            return;
+        }
+        for (SseEmitter emitter : userStreams) {
+            pushExecutor.execute(() -> action.accept(emitter));
+        }
+    }
+
+    private void sendUnreadCount(Long userId, SseEmitter emitter) {
+        // Read at send time so a late push never shows an older count than an earlier one
+        send(userId, emitter, SseEmitter.event().name(UNREAD_COUNT_EVENT).data(unreadCounter.get(userId)));
+    }
+
+    private boolean send(Long userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+            pushed.increment();
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // Client gone or stream already completed; the container reports the error itself
+            failed.increment();
+            remove(userId, emitter);
+            log.debug("Dropping notification stream for user {}: {}", userId, e.getMessage());
+            return false;
+        }
+    }
+
+    private void remove(Long userId, SseEmitter emitter) {
+        streams.computeIfPresent(userId, (id, userStreams) -> {
+            if (userStreams.remove(emitter)) {
+                openStreams.decrementAndGet();
+            }
+            return userStreams.isEmpty() ? null : userStreams;
+        });
+    }
+}
@@ -6,9 +6,11 @@ import com.stripe.exception.StripeException;
 import com.stripe.model.PaymentIntent;
 import com.stripe.model.Refund;
 import com.stripe.model.Transfer;
+import com.stripe.net.RequestOptions;
 import com.stripe.param.PaymentIntentCreateParams;
 import com.stripe.param.RefundCreateParams;
 import com.stripe.param.TransferCreateParams;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -41,6 +43,7 @@ public class PaymentService {
     /**
      * Process a donation payment
      */
+    @Timed(value = "payment.gateway", extraTags = {"operation", "charge"}, histogram = true)
     public String processPayment(
             BigDecimal amount,
             String currency,
@@ -115,6 +118,7 @@ public class PaymentService {
     /**
      * Process a refund for a donation
      */
+    @Timed(value = "payment.gateway", extraTags = {"operation", "refund"}, histogram = true)
     public String processRefund(String transactionId, BigDecimal amount) throws Exception {
         log.info("Processing refund: transactionId={}, amount={}", transactionId, amount);
 
@@ -142,12 +146,15 @@ public class PaymentService {
     }
 
     /**
-     * Process bank transfer for withdrawal
+     * Process bank transfer for withdrawal. The idempotency key makes a retried
+     * transfer (e.g. a re-claimed payout) return the original transfer.
      */
+    @Timed(value = "payment.gateway", extraTags = {"operation", "transfer"}, histogram = true)
     public String processBankTransfer(
             BigDecimal amount,
             String currency,
-            BankAccount bankAccount
+            BankAccount bankAccount,
+            String idempotencyKey
     ) throws Exception {
         log.info("Processing bank transfer: amount={}, currency={}, account={}",
                 amount, currency, bankAccount.getMaskedAccountNumber());
@@ -162,7 +169,11 @@ public class PaymentService {
                     .setDescription("Campaign Withdrawal")
                     .build();
 
-            Transfer transfer = Transfer.create(params);
+            RequestOptions options = RequestOptions.builder()
+                    .setIdempotencyKey(idempotencyKey)
+                    .build();
+
+            Transfer transfer = Transfer.create(params, options);
 
             log.info("Bank transfer successful: transferId={}", transfer.getId());
             return transfer.getId();
@@ -193,6 +204,7 @@ public class PaymentService {
     /**
      * Create a payment intent (for frontend to complete)
      */
+    @Timed(value = "payment.gateway", extraTags = {"operation", "create_intent"}, histogram = true)
     public String createPaymentIntent(BigDecimal amount, String currency) throws Exception {
         try {
             long amountInCents = amount.multiply(new BigDecimal("100")).longValue();
@@ -219,6 +231,7 @@ public class PaymentService {
     /**
      * Verify payment status
      */
+    @Timed(value = "payment.gateway", extraTags = {"operation", "verify"}, histogram = true)
     public boolean verifyPayment(String transactionId) {
         try {
             PaymentIntent intent = PaymentIntent.retrieve(transactionId);
@@ -1,5 +1,7 @@
 package com.instagram.backend.service;
 
+import com.instagram.backend.cache.DocumentCache;
+import com.instagram.backend.cache.ResourceVersion;
 import com.instagram.backend.dto.request.PostRequest;
 import com.instagram.backend.dto.response.PostResponse;
 import com.instagram.backend.exception.ResourceNotFoundException;
@@ -15,6 +17,7 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -22,6 +25,8 @@ public class PostService {
     @Autowired
     private final PostRepository postRepository;
     private final ProfileRepository profileRepository;
+    private final DocumentCache<Post> postCache;
+    private final ViewerLikesService viewerLikesService;
     // REMOVED: LikeService and CommentService dependencies to break circular dependency
 
     public PostResponse createPost(PostRequest postRequest) {
@@ -39,7 +44,7 @@ public class PostService {
         post.setIsPublic(postRequest.getIsPublic() != null ? postRequest.getIsPublic() : true);
 
         Post savedPost = postRepository.save(post);
-        return mapToPostResponse(savedPost, postRequest.getUserId());
+        return mapToPostResponse(savedPost, false);
     }
 
     public PostResponse updatePost(String postId, PostRequest postRequest) {
@@ -57,7 +62,8 @@ public class PostService {
         post.setUpdatedAt(LocalDateTime.now());
 
         Post updatedPost = postRepository.save(post);
-        return mapToPostResponse(updatedPost, postRequest.getUserId());
+        postCache.evict(postId);
+        return mapToPostResponse(updatedPost, isLikedBy(postRequest.getUserId(), postId));
     }
 
     public void deletePost(String postId, Long userId) {
@@ -69,23 +75,29 @@ public class PostService {
         }
 
         postRepository.delete(post);
+        postCache.evict(postId);
     }
 
     public PostResponse getPostById(String postId, Long userId) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
-        return mapToPostResponse(post, userId);
+        return mapToPostResponse(getCachedPost(postId), isLikedBy(userId, postId));
+    }
+
+    // Every PostResponse field but isLiked comes from the document: edits move updatedAt, the
+    // rest are counters. isLiked is the viewer's, so it is part of the version too
+    public ResourceVersion getPostVersion(String postId, Long viewerId) {
+        Post post = getCachedPost(postId);
+        return ResourceVersion.of("post", postId,
+                post.getUpdatedAt(), post.getLikesCount(), post.getCommentsCount(), post.getSharesCount(),
+                isLikedBy(viewerId, postId));
     }
 
     public Long getPostOwnerId(String postId) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
-        return post.getUserId();
+        return getCachedPost(postId).getUserId();
     }
 
     public Page<PostResponse> getUserPosts(Long userId, Long currentUserId, Pageable pageable) {
         Page<Post> posts = postRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
-        return posts.map(post -> mapToPostResponse(post, currentUserId));
+        return mapToPostResponses(posts, currentUserId);
     }
 
     public Page<PostResponse> getFeedPosts(List<Long> followingIds, Long currentUserId, Pageable pageable) {
@@ -93,7 +105,7 @@ public class PostService {
             return Page.empty(pageable);
         }
         Page<Post> posts = postRepository.findByUserIdInOrderByCreatedAtDesc(followingIds, pageable);
-        return posts.map(post -> mapToPostResponse(post, currentUserId));
+        return mapToPostResponses(posts, currentUserId);
     }
 
     // Increment like count
@@ -102,6 +114,7 @@ public class PostService {
                 .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
         post.setLikesCount(post.getLikesCount() + 1);
         postRepository.save(post);
+        postCache.evict(postId);
     }
 
     // Decrement like count
@@ -110,6 +123,7 @@ public class PostService {
                 .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
         post.setLikesCount(Math.max(0, post.getLikesCount() - 1));
         postRepository.save(post);
+        postCache.evict(postId);
     }
 
     // Increment comment count
@@ -118,6 +132,7 @@ public class PostService {
                 .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
         post.setCommentsCount(post.getCommentsCount() + 1);
         postRepository.save(post);
+        postCache.evict(postId);
     }
 
     // Decrement comment count
@@ -126,9 +141,26 @@ public class PostService {
                 .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
         post.setCommentsCount(Math.max(0, post.getCommentsCount() - 1));
         postRepository.save(post);
+        postCache.evict(postId);
+    }
+
+    // Shared instance: read-only, writes go through the repository and evict afterwards
+    private Post getCachedPost(String postId) {
+        return postCache.get(postId, postRepository::findById)
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
+    }
+
+    private boolean isLikedBy(Long viewerId, String postId) {
+        return viewerLikesService.likedPostIds(viewerId, List.of(postId)).contains(postId);
+    }
+
+    // One liked-by-viewer lookup for the whole page
+    private Page<PostResponse> mapToPostResponses(Page<Post> posts, Long viewerId) {
+        Set<String> liked = viewerLikesService.likedPostIds(viewerId, posts.map(Post::getId).getContent());
+        return posts.map(post -> mapToPostResponse(post, liked.contains(post.getId())));
     }
 
-    private PostResponse mapToPostResponse(Post post, Long currentUserId) {
+    private PostResponse mapToPostResponse(Post post, boolean liked) {
         PostResponse response = new PostResponse();
         response.setId(post.getId());
         response.setUserId(post.getUserId());
@@ -145,6 +177,7 @@ public class PostService {
         // Use post's own counts instead of service calls
         response.setLikesCount(post.getLikesCount());
         response.setCommentsCount(post.getCommentsCount());
+        response.setIsLiked(liked);
 
         return response;
     }
@@ -1,4 +1,6 @@
 package com.instagram.backend.service;
+import com.instagram.backend.cache.ResourceVersion;
+import com.instagram.backend.dto.projection.ProfileVersionProjection;
 import com.instagram.backend.dto.request.ProfileRequest;
 import com.instagram.backend.exception.ResourceNotFoundException;
 import com.instagram.backend.exception.AlreadyExistsException;
@@ -10,6 +12,7 @@ import com.instagram.backend.model.entity.Profile;
 import com.instagram.backend.model.entity.User;
 import com.instagram.backend.repository.jpa.ProfileRepository;
 import com.instagram.backend.repository.jpa.UserRepository;
+import com.instagram.backend.utils.TransactionUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,6 +26,8 @@ public class ProfileService {
 
 
     private final FollowService followService;
+    private final NotificationPreferenceCache notificationPreferenceCache;
+    private final ProfileSummaryCache profileSummaryCache;
 
     public ProfileResponse getProfile(Long userId) {
         Profile profile = profileRepository.findById(userId)
@@ -34,6 +39,13 @@ public class ProfileService {
         return mapToProfileResponse(profile, followersCount, followingCount);
     }
 
+    public ResourceVersion getProfileVersion(Long userId) {
+        ProfileVersionProjection version = profileRepository.findVersionById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Profile not found with id: " + userId));
+        return ResourceVersion.of("profile", userId,
+                version.getUpdatedAt(), version.getFollowersCount(), version.getFollowingCount());
+    }
+
     @Transactional
     public ProfileResponse updateProfile(Long userId, ProfileUpdateRequest updateRequest) {
         Profile profile = profileRepository.findById(userId)
@@ -48,8 +60,21 @@ public class ProfileService {
         if (updateRequest.getProfilePictureUrl() != null) {
             profile.setProfilePictureUrl(updateRequest.getProfilePictureUrl());
         }
+        if (updateRequest.getEmailNotificationsEnabled() != null) {
+            profile.setEmailNotificationsEnabled(updateRequest.getEmailNotificationsEnabled());
+        }
+        if (updateRequest.getPushNotificationsEnabled() != null) {
+            profile.setPushNotificationsEnabled(updateRequest.getPushNotificationsEnabled());
+        }
+        if (updateRequest.getSmsNotificationsEnabled() != null) {
+            profile.setSmsNotificationsEnabled(updateRequest.getSmsNotificationsEnabled());
+        }
 
         Profile updatedProfile = profileRepository.save(profile);
+        TransactionUtil.afterCommit(() -> {
+            notificationPreferenceCache.invalidate(userId);
+            profileSummaryCache.invalidate(userId);
+        });
         int followersCount = followService.getFollowersCount(userId);
         int followingCount = followService.getFollowingCount(userId);
 
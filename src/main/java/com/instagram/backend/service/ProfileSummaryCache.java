@@ -0,0 +1,79 @@
+package com.instagram.backend.service;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.instagram.backend.dto.projection.ProfileSummaryProjection;
+import com.instagram.backend.repository.jpa.ProfileRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Username, name, avatar and badge per profile, for lists of people such as likers. A
+ * page loads all of its uncached profiles in one query.
+ *
+ * ProfileService invalidates an entry when the profile is edited; the TTL bounds
+ * staleness from edits made on other instances.
+ */
+@Component
+public class ProfileSummaryCache {
+
+    public record ProfileSummary(Long profileId, String username, String name,
+                                 String profilePictureUrl, boolean verified) {
+    }
+
+    private final ProfileRepository profileRepository;
+    private final LoadingCache<Long, ProfileSummary> summaries;
+
+    public ProfileSummaryCache(
+            ProfileRepository profileRepository,
+            @Value("${profiles.summary-cache.max-size:100000}") long maxSize,
+            @Value("${profiles.summary-cache.ttl-seconds:600}") long ttlSeconds,
+            MeterRegistry meterRegistry
+    ) {
+        this.profileRepository = profileRepository;
+        this.summaries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public ProfileSummary load(Long profileId) {
+                        return loadAll(Set.of(profileId)).get(profileId);
+                    }
+
+                    @Override
+                    public Map<Long, ProfileSummary> loadAll(Set<? extends Long> profileIds) {
+                        return query(profileIds);
+                    }
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, summaries, "profileSummaries");
+    }
+
+    /** Profiles that no longer exist are left out of the result. */
+    public Map<Long, ProfileSummary> getAll(Collection<Long> profileIds) {
+        return summaries.getAll(profileIds);
+    }
+
+    /** Call after the profile's edit has committed. */
+    public void invalidate(Long profileId) {
+        summaries.invalidate(profileId);
+    }
+
+    private Map<Long, ProfileSummary> query(Set<? extends Long> profileIds) {
+        Map<Long, ProfileSummary> loaded = new HashMap<>();
+        for (ProfileSummaryProjection row : profileRepository.findSummaries(Set.copyOf(profileIds))) {
+            loaded.put(row.getProfileId(), new ProfileSummary(row.getProfileId(), row.getUsername(), row.getName(),
+                    row.getProfilePictureUrl(), Boolean.TRUE.equals(row.getIsVerified())));
+        }
+        return loaded;
+    }
+}
@@ -1,5 +1,7 @@
 package com.instagram.backend.service;
 
+import com.instagram.backend.cache.DocumentCache;
+import com.instagram.backend.cache.ResourceVersion;
 import com.instagram.backend.exception.ResourceNotFoundException;
 import com.instagram.backend.dto.request.ReelRequest;
 import com.instagram.backend.dto.response.ReelResponse;
@@ -10,9 +12,15 @@ import com.instagram.backend.repository.mongo.ReelRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -20,6 +28,9 @@ public class ReelService {
 
     private final ReelRepository reelRepository;
     private final ProfileRepository profileRepository;
+    private final DocumentCache<Reel> reelCache;
+    private final ViewerLikesService viewerLikesService;
+    private final MongoTemplate mongoTemplate;
     // REMOVED: LikeService and CommentService dependencies to break circular dependency
 
     public ReelResponse createReel(ReelRequest reelRequest) {
@@ -39,7 +50,7 @@ public class ReelService {
         reel.setIsPublic(reelRequest.getIsPublic() != null ? reelRequest.getIsPublic() : true);
 
         Reel savedReel = reelRepository.save(reel);
-        return mapToReelResponse(savedReel, reelRequest.getUserId());
+        return mapToReelResponse(savedReel, false);
     }
 
     public ReelResponse updateReel(String reelId, ReelRequest reelRequest) {
@@ -58,24 +69,36 @@ public class ReelService {
         reel.setUpdatedAt(LocalDateTime.now());
 
         Reel updatedReel = reelRepository.save(reel);
-        return mapToReelResponse(updatedReel, reelRequest.getUserId());
+        reelCache.evict(reelId);
+        return mapToReelResponse(updatedReel, isLikedBy(reelRequest.getUserId(), reelId));
     }
 
     public Long getReelOwnerId(String reelId) {
-        Reel reel = reelRepository.findById(reelId)
-                .orElseThrow(() -> new ResourceNotFoundException("Reel not found"));
-        return reel.getUserId();
+        return getCachedReel(reelId).getUserId();
     }
 
     public ReelResponse getReelById(String reelId, Long userId) {
-        Reel reel = reelRepository.findById(reelId)
-                .orElseThrow(() -> new ResourceNotFoundException("Reel not found"));
+        Reel reel = getCachedReel(reelId);
+        recordView(reelId);
+        return mapToReelResponse(reel, isLikedBy(userId, reelId));
+    }
 
-        // Increment view count
-        reel.setViewCount(reel.getViewCount() + 1);
-        reelRepository.save(reel);
+    public ResourceVersion getReelVersion(String reelId, Long viewerId) {
+        Reel reel = getCachedReel(reelId);
+        return ResourceVersion.of("reel", reelId,
+                reel.getUpdatedAt(), reel.getViewCount(),
+                reel.getLikesCount(), reel.getCommentsCount(), reel.getSharesCount(),
+                isLikedBy(viewerId, reelId));
+    }
 
-        return mapToReelResponse(reel, userId);
+    // Increment view count in place; the cached copy is not evicted for views,
+    // so the returned viewCount may lag by up to the cache TTL
+    public void recordView(String reelId) {
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(reelId)),
+                new Update().inc("viewCount", 1),
+                Reel.class
+        );
     }
 
     public void deleteReel(String reelId, Long userId) {
@@ -87,11 +110,13 @@ public class ReelService {
         }
 
         reelRepository.delete(reel);
+        reelCache.evict(reelId);
     }
 
     public Page<ReelResponse> getUserReels(Long userId, Long currentUserId, Pageable pageable) {
         Page<Reel> reels = reelRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
-        return reels.map(reel -> mapToReelResponse(reel, currentUserId));
+        Set<String> liked = viewerLikesService.likedReelIds(currentUserId, reels.map(Reel::getId).getContent());
+        return reels.map(reel -> mapToReelResponse(reel, liked.contains(reel.getId())));
     }
 
     public void incrementLikeCount(String reelId) {
@@ -99,6 +124,7 @@ public class ReelService {
                 .orElseThrow(() -> new ResourceNotFoundException("Reel not found"));
         reel.setLikesCount(reel.getLikesCount() + 1);
         reelRepository.save(reel);
+        reelCache.evict(reelId);
     }
 
     public void decrementLikeCount(String reelId) {
@@ -106,6 +132,7 @@ public class ReelService {
                 .orElseThrow(() -> new ResourceNotFoundException("Reel not found"));
         reel.setLikesCount(Math.max(0, reel.getLikesCount() - 1));
         reelRepository.save(reel);
+        reelCache.evict(reelId);
     }
 
     public void incrementCommentCount(String reelId) {
@@ -113,6 +140,7 @@ public class ReelService {
                 .orElseThrow(() -> new ResourceNotFoundException("Reel not found"));
         reel.setCommentsCount(reel.getCommentsCount() + 1);
         reelRepository.save(reel);
+        reelCache.evict(reelId);
     }
 
     public void decrementCommentCount(String reelId) {
@@ -120,6 +148,7 @@ public class ReelService {
                 .orElseThrow(() -> new ResourceNotFoundException("Reel not found"));
         reel.setCommentsCount(Math.max(0, reel.getCommentsCount() - 1));
         reelRepository.save(reel);
+        reelCache.evict(reelId);
     }
 
     public void incrementShareCount(String reelId) {
@@ -127,9 +156,20 @@ public class ReelService {
                 .orElseThrow(() -> new ResourceNotFoundException("Reel not found"));
         reel.setSharesCount(reel.getSharesCount() + 1);
         reelRepository.save(reel);
+        reelCache.evict(reelId);
+    }
+
+    // Shared instance: read-only, writes go through the repository and evict afterwards
+    private Reel getCachedReel(String reelId) {
+        return reelCache.get(reelId, reelRepository::findById)
+                .orElseThrow(() -> new ResourceNotFoundException("Reel not found"));
+    }
+
+    private boolean isLikedBy(Long viewerId, String reelId) {
+        return viewerLikesService.likedReelIds(viewerId, List.of(reelId)).contains(reelId);
     }
 
-    private ReelResponse mapToReelResponse(Reel reel, Long currentUserId) {
+    private ReelResponse mapToReelResponse(Reel reel, boolean liked) {
         ReelResponse response = new ReelResponse();
         response.setId(reel.getId());
         response.setUserId(reel.getUserId());
@@ -150,6 +190,7 @@ public class ReelService {
         response.setLikesCount(reel.getLikesCount());
         response.setCommentsCount(reel.getCommentsCount());
         response.setSharesCount(reel.getSharesCount());
+        response.setIsLiked(liked);
 
         return response;
     }
@@ -11,6 +11,7 @@ import com.instagram.backend.repository.jpa.CampaignRepository;
 import com.instagram.backend.repository.jpa.ProfileRepository;
 import com.instagram.backend.repository.jpa.ReportRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -26,6 +27,7 @@ public class ReportService {
     private final ProfileRepository profileRepository;
     private final CampaignRepository campaignRepository;
     private final NotificationService notificationService;
+    private final DuplicateFilters duplicateFilters;
 
     @Transactional
     public ReportResponse createReport(ReportRequest request) {
@@ -70,7 +72,14 @@ public class ReportService {
                 break;
         }
 
-        Report savedReport = reportRepository.save(report);
+        Report savedReport;
+        try {
+            savedReport = reportRepository.save(report);
+        } catch (DataIntegrityViolationException e) {
+            // A report the duplicate filter had not seen yet
+            throw new AlreadyExistsException("You have already reported this content");
+        }
+        duplicateFilters.recordInsert(DuplicateFilters.Kind.REPORT, reportKey(request));
 
         // Notify admins about new report
         notificationService.createNewReportNotification(savedReport.getId());
@@ -252,6 +261,17 @@ public class ReportService {
     }
 
     private boolean isDuplicateReport(ReportRequest request) {
+        return duplicateFilters.exists(DuplicateFilters.Kind.REPORT, reportKey(request),
+                () -> isReportedInDatabase(request));
+    }
+
+    private static String reportKey(ReportRequest request) {
+        return DuplicateFilters.reportKey(request.getContentType(), request.getReportedByUserId(),
+                DuplicateFilters.reportTarget(request.getContentType(), request.getPostId(), request.getReelId(),
+                        request.getCommentId(), request.getCampaignId(), request.getReportedUserId()));
+    }
+
+    private boolean isReportedInDatabase(ReportRequest request) {
         switch (request.getContentType()) {
             case POST:
                 return reportRepository.existsByPostIdAndReportedById(
@@ -0,0 +1,158 @@
+package com.instagram.backend.service;
+
+import com.instagram.backend.dto.response.TraceProfileResponse;
+import com.instagram.backend.dto.response.TraceResponse;
+import com.instagram.backend.exception.ResourceNotFoundException;
+import com.instagram.backend.monitoring.Span;
+import com.instagram.backend.monitoring.Trace;
+import com.instagram.backend.monitoring.Tracer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class TracingService {
+
+    private final Tracer tracer;
+
+    public double getSampleRate() {
+        return tracer.getSampleRate();
+    }
+
+    public void setSampleRate(double sampleRate) {
+        tracer.setSampleRate(sampleRate);
+    }
+
+    public List<TraceResponse> getRecentTraces(String nameFilter, Double minDurationMs, int limit) {
+        List<TraceResponse> traces = new ArrayList<>();
+        for (Trace trace : tracer.getTraces()) {
+            if (traces.size() >= limit) {
+                break;
+            }
+            if (nameFilter != null && !trace.getName().contains(nameFilter)) {
+                continue;
+            }
+            TraceResponse response = mapToTraceResponse(trace, false);
+            if (minDurationMs != null && response.getDurationMs() < minDurationMs) {
+                continue;
+            }
+            traces.add(response);
+        }
+        return traces;
+    }
+
+    public TraceResponse getTrace(Long traceId) {
+        return tracer.getTraces().stream()
+                .filter(trace -> trace.getId() == traceId)
+                .findFirst()
+                .map(trace -> mapToTraceResponse(trace, true))
+                .orElseThrow(() -> new ResourceNotFoundException("Trace not found or already evicted"));
+    }
+
+    /**
+     * Aggregates every buffered trace by call path, heaviest self time first.
+     */
+    public List<TraceProfileResponse> getProfile(String nameFilter) {
+        Map<String, TraceProfileResponse> byStack = new LinkedHashMap<>();
+        for (Trace trace : tracer.getTraces()) {
+            if (nameFilter != null && !trace.getName().contains(nameFilter)) {
+                continue;
+            }
+            List<Span> spans = trace.getSpans();
+            Map<Integer, Long> childNanos = childNanos(spans);
+            Map<Integer, String> stacks = new HashMap<>();
+            for (Span span : spans) {
+                String name = span.getParentId() < 0 ? trace.getName() : span.getName();
+                String stack = span.getParentId() < 0 ? name : stacks.get(span.getParentId()) + ";" + name;
+                stacks.put(span.getId(), stack);
+
+                double totalMs = toMs(span.getDurationNanos());
+                double selfMs = toMs(Math.max(0, span.getDurationNanos() - childNanos.getOrDefault(span.getId(), 0L)));
+                TraceProfileResponse entry = byStack.computeIfAbsent(stack,
+                        key -> new TraceProfileResponse(key, span.getLayer(), 0L, 0.0, 0.0, 0.0));
+                entry.setCalls(entry.getCalls() + 1);
+                entry.setTotalMs(entry.getTotalMs() + totalMs);
+                entry.setSelfMs(entry.getSelfMs() + selfMs);
+                entry.setMaxMs(Math.max(entry.getMaxMs(), totalMs));
+            }
+        }
+        List<TraceProfileResponse> profile = new ArrayList<>(byStack.values());
+        profile.sort(Comparator.comparingDouble(TraceProfileResponse::getSelfMs).reversed());
+        return profile;
+    }
+
+    /**
+     * Folded stacks (one "frame;frame;frame micros" line per path) for flamegraph tools.
+     */
+    public String getFoldedStacks(String nameFilter) {
+        StringBuilder folded = new StringBuilder();
+        for (TraceProfileResponse entry : getProfile(nameFilter)) {
+            long selfMicros = Math.round(entry.getSelfMs() * 1000);
+            if (selfMicros > 0) {
+                folded.append(entry.getStack().replace(' ', '_')).append(' ').append(selfMicros).append('\n');
+            }
+        }
+        return folded.toString();
+    }
+
+    private TraceResponse mapToTraceResponse(Trace trace, boolean withSpans) {
+        List<Span> spans = trace.getSpans();
+        Span root = spans.isEmpty() ? null : spans.get(0);
+
+        TraceResponse response = new TraceResponse();
+        response.setId(trace.getId());
+        response.setName(trace.getName());
+        response.setStatus(trace.getStatus());
+        response.setStartedAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(trace.getStartEpochMillis()), ZoneId.systemDefault()));
+        response.setDurationMs(root != null ? toMs(root.getDurationNanos()) : 0.0);
+        response.setSpanCount(spans.size());
+        response.setDroppedSpans(trace.getDroppedSpans().get());
+
+        if (withSpans) {
+            Map<Integer, Long> childNanos = childNanos(spans);
+            Map<Integer, Integer> depths = new HashMap<>();
+            List<TraceResponse.SpanResponse> waterfall = new ArrayList<>(spans.size());
+            for (Span span : spans) {
+                int depth = span.getParentId() < 0 ? 0 : depths.get(span.getParentId()) + 1;
+                depths.put(span.getId(), depth);
+                waterfall.add(new TraceResponse.SpanResponse(
+                        span.getId(),
+                        span.getParentId() < 0 ? null : span.getParentId(),
+                        depth,
+                        span.getName(),
+                        span.getLayer(),
+                        span.getThread(),
+                        toMs(span.getStartNanos() - trace.getStartNanos()),
+                        toMs(span.getDurationNanos()),
+                        toMs(Math.max(0, span.getDurationNanos() - childNanos.getOrDefault(span.getId(), 0L)))
+                ));
+            }
+            response.setSpans(waterfall);
+        }
+        return response;
+    }
+
+    private static Map<Integer, Long> childNanos(List<Span> spans) {
+        Map<Integer, Long> childNanos = new HashMap<>();
+        for (Span span : spans) {
+            if (span.getParentId() >= 0) {
+                childNanos.merge(span.getParentId(), span.getDurationNanos(), Long::sum);
+            }
+        }
+        return childNanos;
+    }
+
+    private static double toMs(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
@@ -0,0 +1,73 @@
+package com.instagram.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.instagram.backend.repository.jpa.NotificationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory unread notification count per recipient, so badge reads and pushes do not run
+ * a COUNT query each time.
+ *
+ * A count is seeded from the database on first use and then adjusted on every instance by
+ * {@link NotificationFanout} as writes commit anywhere. Entries expire a fixed time after
+ * seeding, which bounds any drift (an event missed during a fan-out reconnect, a racing
+ * seed) to the TTL.
+ */
+@Component
+public class UnreadNotificationCounter {
+
+    private final NotificationRepository notificationRepository;
+    private final Cache<Long, AtomicLong> counts;
+
+    public UnreadNotificationCounter(
+            NotificationRepository notificationRepository,
+            @Value("${notifications.unread-counter.max-size:100000}") long maxSize,
+            @Value("${notifications.unread-counter.ttl-seconds:300}") long ttlSeconds,
+            MeterRegistry meterRegistry
+    ) {
+        this.notificationRepository = notificationRepository;
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, "unreadNotifications");
+    }
+
+    public long get(Long recipientId) {
+        return counter(recipientId).get();
+    }
+
+    /** Call after new notifications have committed. Counts not cached yet are left alone. */
+    public void increment(Long recipientId, long by) {
+        AtomicLong count = counts.getIfPresent(recipientId);
+        if (count != null) {
+            count.addAndGet(by);
+        }
+    }
+
+    /** Call after notifications have been marked read or deleted. */
+    public void decrement(Long recipientId, long by) {
+        AtomicLong count = counts.getIfPresent(recipientId);
+        if (count != null) {
+            count.updateAndGet(value -> Math.max(0, value - by));
+        }
+    }
+
+    /** Drops every cached count, e.g. after retention removed rows for many recipients at once. */
+    public void resetAll() {
+        counts.invalidateAll();
+    }
+
+    private AtomicLong counter(Long recipientId) {
+        return counts.get(recipientId,
+                id -> new AtomicLong(notificationRepository.countByRecipientIdAndIsReadFalse(id)));
+    }
+}
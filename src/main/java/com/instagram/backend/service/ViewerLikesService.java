@@ -0,0 +1,71 @@
+package com.instagram.backend.service;
+
+import com.instagram.backend.dto.response.LikedContentResponse;
+import com.instagram.backend.model.document.ContentLike;
+import com.instagram.backend.repository.jpa.LikeRepository;
+import com.instagram.backend.repository.mongo.ContentLikeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * Which items in a page the viewer has liked, for filling in isLiked on feed and list
+ * responses. The ids are resolved with one IN query per content type (content_likes for
+ * posts and reels, the likes table for campaigns), so a page costs at most one round trip
+ * instead of one per item. The duplicate-like filters are not consulted: they miss likes
+ * made on other instances.
+ *
+ * Only depends on repositories so post, reel and campaign services can use it without
+ * the cycle through LikeService.
+ */
+@Service
+@RequiredArgsConstructor
+public class ViewerLikesService {
+
+    public static final int MAX_IDS = 500;
+
+    private final LikeRepository likeRepository;
+    private final ContentLikeRepository contentLikeRepository;
+
+    public Set<String> likedPostIds(Long viewerId, Collection<String> postIds) {
+        return resolve(viewerId, postIds, this::findLikedContentIds);
+    }
+
+    public Set<String> likedReelIds(Long viewerId, Collection<String> reelIds) {
+        return resolve(viewerId, reelIds, this::findLikedContentIds);
+    }
+
+    public Set<Long> likedCampaignIds(Long viewerId, Collection<Long> campaignIds) {
+        return resolve(viewerId, campaignIds, likeRepository::findLikedCampaignIds);
+    }
+
+    public LikedContentResponse getLikedContent(Long userId, List<String> postIds, List<String> reelIds,
+                                                List<Long> campaignIds) {
+        List<String> posts = postIds != null ? postIds : List.of();
+        List<String> reels = reelIds != null ? reelIds : List.of();
+        List<Long> campaigns = campaignIds != null ? campaignIds : List.of();
+        if (posts.size() + reels.size() + campaigns.size() > MAX_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_IDS + " ids can be checked at once");
+        }
+        return new LikedContentResponse(likedPostIds(userId, posts), likedReelIds(userId, reels),
+                likedCampaignIds(userId, campaigns));
+    }
+
+    private List<String> findLikedContentIds(Long viewerId, Collection<String> contentIds) {
+        return contentLikeRepository.findLikedContentIds(viewerId, contentIds).stream()
+                .map(ContentLike::getContentId)
+                .toList();
+    }
+
+    private <T> Set<T> resolve(Long viewerId, Collection<T> ids, BiFunction<Long, Collection<T>, List<T>> query) {
+        if (viewerId == null || ids.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(query.apply(viewerId, ids.stream().distinct().toList()));
+    }
+}
@@ -0,0 +1,172 @@
+package com.instagram.backend.service;
+
+import com.instagram.backend.model.entity.Withdrawal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drains the withdrawal payout queue. Approved withdrawals sit in PROCESSING until a
+ * node claims them with SELECT ... FOR UPDATE SKIP LOCKED, so any number of nodes can
+ * run this job at the same time without paying a withdrawal twice.
+ */
+@Service
+@Slf4j
+public class WithdrawalPayoutProcessor {
+
+    private final WithdrawalService withdrawalService;
+    private final PaymentService paymentService;
+
+    // Caps concurrent gateway calls per node; not a bean (see SchedulingConfig)
+    private final AsyncTaskExecutor payoutExecutor;
+
+    // Transfers submitted to the executor and not finished yet, whatever the executor type
+    private final AtomicInteger pendingTransfers = new AtomicInteger();
+    private final Counter completedTransfers;
+    private final Counter failedTransfers;
+
+    @Value("${payout.batch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${payout.batch.size:50}")
+    private int batchSize;
+
+    @Value("${payout.batch.claim-timeout-ms:600000}")
+    private long claimTimeoutMs;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public WithdrawalPayoutProcessor(
+            WithdrawalService withdrawalService,
+            PaymentService paymentService,
+            @Value("${payout.batch.concurrency:4}") int concurrency,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            MeterRegistry meterRegistry
+    ) {
+        this.withdrawalService = withdrawalService;
+        this.paymentService = paymentService;
+        this.payoutExecutor = createExecutor(concurrency, virtualThreads);
+
+        Gauge.builder("payout.transfers.pending", pendingTransfers, AtomicInteger::get)
+                .description("Payout transfers waiting for or running on the payout executor")
+                .register(meterRegistry);
+        completedTransfers = Counter.builder("payout.transfers").tag("outcome", "completed").register(meterRegistry);
+        failedTransfers = Counter.builder("payout.transfers").tag("outcome", "failed").register(meterRegistry);
+        if (payoutExecutor instanceof ThreadPoolTaskExecutor pool) {
+            new ExecutorServiceMetrics(pool.getThreadPoolExecutor(), "payoutExecutor", Tags.empty())
+                    .bindTo(meterRegistry);
+        }
+    }
+
+    @Scheduled(
+            fixedDelayString = "${payout.batch.interval-ms:30000}",
+            initialDelayString = "${payout.batch.initial-delay-ms:30000}"
+    )
+    public void processPayoutQueue() {
+        if (!enabled) {
+            return;
+        }
+
+        // Keep draining while full batches come back
+        int processed;
+        do {
+            processed = processBatch();
+        } while (processed == batchSize);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (payoutExecutor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        } else if (payoutExecutor instanceof SimpleAsyncTaskExecutor simple) {
+            simple.close();
+        }
+    }
+
+    /**
+     * Claim, transfer and complete one batch. Returns the number of payouts claimed.
+     */
+    public int processBatch() {
+        LocalDateTime staleBefore = LocalDateTime.now().minus(Duration.ofMillis(claimTimeoutMs));
+        List<Withdrawal> batch = withdrawalService.claimPayoutBatch(nodeId, batchSize, staleBefore);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        log.info("Processing payout batch: node={}, size={}", nodeId, batch.size());
+
+        Map<Long, String> transferReferences = new ConcurrentHashMap<>();
+        Map<Long, String> failures = new ConcurrentHashMap<>();
+
+        List<CompletableFuture<Void>> transfers = new ArrayList<>(batch.size());
+        for (Withdrawal withdrawal : batch) {
+            pendingTransfers.incrementAndGet();
+            transfers.add(CompletableFuture.runAsync(() -> {
+                try {
+                    String transactionRef = paymentService.processBankTransfer(
+                            withdrawal.getNetAmount(),
+                            withdrawal.getCurrency(),
+                            withdrawal.getBankAccount(),
+                            "withdrawal-" + withdrawal.getId()
+                    );
+                    transferReferences.put(withdrawal.getId(), transactionRef);
+                } catch (Exception e) {
+                    log.error("Payout transfer failed: withdrawalId={}, error={}",
+                            withdrawal.getId(), e.getMessage());
+                    failures.put(withdrawal.getId(), String.valueOf(e.getMessage()));
+                } finally {
+                    pendingTransfers.decrementAndGet();
+                }
+            }, payoutExecutor));
+        }
+
+        CompletableFuture.allOf(transfers.toArray(new CompletableFuture[0])).join();
+
+        withdrawalService.completePayoutBatch(nodeId, transferReferences, failures);
+        completedTransfers.increment(transferReferences.size());
+        failedTransfers.increment(failures.size());
+
+        log.info("Payout batch complete: node={}, completed={}, failed={}",
+                nodeId, transferReferences.size(), failures.size());
+        return batch.size();
+    }
+
+    private static AsyncTaskExecutor createExecutor(int concurrency, boolean virtualThreads) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("payout-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(concurrency);
+            executor.setTaskTerminationTimeout(60_000);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setThreadNamePrefix("payout-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -19,6 +19,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -30,6 +33,7 @@ public class WithdrawalService {
     private final ProfileRepository profileRepository;
     private final PaymentService paymentService;
     private final NotificationService notificationService;
+    private final CampaignLedgerService ledgerService;
 
     @Transactional
     public WithdrawalResponse requestWithdrawal(WithdrawalRequest request) {
@@ -60,8 +64,10 @@ public class WithdrawalService {
             throw new IllegalArgumentException("Bank account is not active");
         }
 
-        // Validate withdrawal amount
-        if (request.getAmount().compareTo(campaign.getCurrentAmount()) > 0) {
+        // Validate withdrawal amount - queued payouts are not yet deducted from the balance
+        BigDecimal outstanding = withdrawalRepository.getTotalOutstandingByCampaign(campaign.getId());
+        BigDecimal available = ledgerService.getBalance(campaign.getId()).subtract(outstanding);
+        if (request.getAmount().compareTo(available) > 0) {
             throw new IllegalArgumentException(
                     "Withdrawal amount exceeds available campaign funds"
             );
@@ -98,15 +104,16 @@ public class WithdrawalService {
             throw new IllegalArgumentException("Only pending withdrawals can be approved");
         }
 
-        withdrawal.setStatus(Withdrawal.WithdrawalStatus.APPROVED);
         withdrawal.setApprovedById(adminId);
         withdrawal.setApprovedAt(LocalDateTime.now());
         withdrawal.setAdminNotes(notes);
 
-        Withdrawal approved = withdrawalRepository.save(withdrawal);
+        // Queue for payout - the transfer is made by WithdrawalPayoutProcessor
+        withdrawal.setStatus(Withdrawal.WithdrawalStatus.PROCESSING);
+        withdrawal.setPayoutClaimedBy(null);
+        withdrawal.setPayoutClaimedAt(null);
 
-        // Process payment transfer
-        processWithdrawalTransfer(approved);
+        Withdrawal approved = withdrawalRepository.save(withdrawal);
 
         // Notify creator
         notificationService.createWithdrawalApprovedNotification(
@@ -144,49 +151,77 @@ public class WithdrawalService {
         return mapToWithdrawalResponse(rejected);
     }
 
-    @Transactional
-    protected void processWithdrawalTransfer(Withdrawal withdrawal) {
-        try {
-            withdrawal.setStatus(Withdrawal.WithdrawalStatus.PROCESSING);
-            withdrawalRepository.save(withdrawal);
-
-            // Process bank transfer via payment gateway
-            String transactionRef = paymentService.processBankTransfer(
-                    withdrawal.getNetAmount(),
-                    withdrawal.getCurrency(),
-                    withdrawal.getBankAccount()
-            );
-
-            withdrawal.setTransactionReference(transactionRef);
-            withdrawal.setStatus(Withdrawal.WithdrawalStatus.COMPLETED);
-            withdrawal.setProcessedAt(LocalDateTime.now());
-            withdrawalRepository.save(withdrawal);
+    // ==================== PAYOUT QUEUE ====================
 
-            // Update campaign balance
-            Campaign campaign = withdrawal.getCampaign();
-            campaign.setCurrentAmount(
-                    campaign.getCurrentAmount().subtract(withdrawal.getAmount())
-            );
-            campaignRepository.save(campaign);
+    /**
+     * Claim up to batchSize queued payouts for this node. Runs in its own short
+     * transaction so the row locks are released before any transfer is made.
+     */
+    @Transactional
+    public List<Withdrawal> claimPayoutBatch(String nodeId, int batchSize, LocalDateTime staleBefore) {
+        List<Long> ids = withdrawalRepository.lockNextPayoutBatch(staleBefore, batchSize);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
 
-            // Notify completion
-            notificationService.createWithdrawalCompletedNotification(
-                    withdrawal.getRequester().getId(),
-                    withdrawal.getId()
-            );
+        withdrawalRepository.claimPayouts(ids, nodeId, LocalDateTime.now());
+        return withdrawalRepository.findAllWithBankAccountByIdIn(ids);
+    }
 
-        } catch (Exception e) {
-            withdrawal.setStatus(Withdrawal.WithdrawalStatus.FAILED);
-            withdrawal.setRejectionReason("Transfer failed: " + e.getMessage());
-            withdrawalRepository.save(withdrawal);
+    /**
+     * Record the outcome of a payout batch. Completed payouts are posted to the
+     * campaign ledger; the campaign row itself is not touched.
+     */
+    @Transactional
+    public void completePayoutBatch(
+            String nodeId, Map<Long, String> transferReferences, Map<Long, String> failures
+    ) {
+        List<Long> ids = new ArrayList<>(transferReferences.keySet());
+        ids.addAll(failures.keySet());
+        if (ids.isEmpty()) {
+            return;
+        }
 
-            notificationService.createWithdrawalFailedNotification(
-                    withdrawal.getRequester().getId(),
-                    withdrawal.getId(),
-                    e.getMessage()
-            );
+        LocalDateTime now = LocalDateTime.now();
+
+        // Only rows still claimed by this node - a stale claim may have been taken over
+        List<Withdrawal> withdrawals = withdrawalRepository.findClaimedPayouts(ids, nodeId);
+
+        for (Withdrawal withdrawal : withdrawals) {
+            String transactionRef = transferReferences.get(withdrawal.getId());
+
+            if (transactionRef != null) {
+                withdrawal.setTransactionReference(transactionRef);
+                withdrawal.setStatus(Withdrawal.WithdrawalStatus.COMPLETED);
+                withdrawal.setProcessedAt(now);
+                ledgerService.recordWithdrawal(
+                        withdrawal.getCampaign().getId(),
+                        withdrawal.getId(),
+                        withdrawal.getAmount(),
+                        withdrawal.getCurrency()
+                );
+                campaignRepository.incrementRevision(withdrawal.getCampaign().getId());
+            } else {
+                withdrawal.setStatus(Withdrawal.WithdrawalStatus.FAILED);
+                withdrawal.setRejectionReason("Transfer failed: " + failures.get(withdrawal.getId()));
+            }
+        }
 
-            throw new RuntimeException("Withdrawal transfer failed: " + e.getMessage());
+        withdrawalRepository.saveAll(withdrawals);
+
+        for (Withdrawal withdrawal : withdrawals) {
+            if (withdrawal.getStatus() == Withdrawal.WithdrawalStatus.COMPLETED) {
+                notificationService.createWithdrawalCompletedNotification(
+                        withdrawal.getRequester().getId(),
+                        withdrawal.getId()
+                );
+            } else {
+                notificationService.createWithdrawalFailedNotification(
+                        withdrawal.getRequester().getId(),
+                        withdrawal.getId(),
+                        failures.get(withdrawal.getId())
+                );
+            }
         }
     }
 
@@ -0,0 +1,270 @@
+package com.instagram.backend.monitoring;
+
+import com.instagram.backend.dto.request.LikeRequest;
+import com.instagram.backend.model.document.Comment;
+import com.instagram.backend.model.document.Post;
+import com.instagram.backend.model.entity.Campaign;
+import com.instagram.backend.model.entity.Follow;
+import com.instagram.backend.model.entity.Profile;
+import com.instagram.backend.model.entity.User;
+import com.instagram.backend.repository.jpa.CampaignRepository;
+import com.instagram.backend.repository.jpa.FollowRepository;
+import com.instagram.backend.repository.jpa.ProfileRepository;
+import com.instagram.backend.repository.jpa.UserRepository;
+import com.instagram.backend.repository.mongo.CommentRepository;
+import com.instagram.backend.repository.mongo.PostRepository;
+import com.instagram.backend.security.JwtTokenProvider;
+import com.instagram.backend.service.LikeService;
+import com.instagram.backend.service.NotificationService;
+import com.instagram.backend.support.StandInDatabases;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.method.HandlerMethod;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The list endpoints most prone to N+1 queries, called for a full page through MockMvc and
+ * measured by the application's own statement counters against the {@link QueryBudget} on
+ * each handler. A query per row would put a page of {@value #PAGE} far over any budget.
+ *
+ * Runs on the stand-in databases. Postgres will not start as root; there, point the test
+ * at an existing server with -Dtest.postgres-url=jdbc:postgresql://host:port/db.
+ */
+// application.properties leaves these to the environment; logging levels are bound before
+// any @DynamicPropertySource is added, so they cannot go there
+@SpringBootTest(properties = {
+        "server.port=0",
+        "management.server.port=0",
+        "spring.main.allow-bean-definition-overriding=true",
+        "stripe.api.key=",
+        "stripe.api.publishable-key=",
+        "payment.platform.fee.percentage=5.0",
+        "payment.gateway.fee.percentage=2.9",
+        "payment.gateway.fee.fixed=0.30",
+        "payment.currency.default=USD",
+        "payout.batch.enabled=false",
+        "app.cors.allowed-origins=*",
+        "logging.level.org.springframework=WARN",
+        "logging.level.com.instagram.backend=WARN",
+        "logging.level.org.springframework.data.mongodb=WARN",
+        "logging.level.org.mongodb.driver=WARN"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryBudgetTest {
+
+    private static final int PAGE = 20;
+    // More of everything than fits on one page
+    private static final int OTHERS = PAGE + 5;
+    private static final int FOLLOWED = 10;
+
+    private static StandInDatabases databases;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProfileRepository profileRepository;
+    @Autowired
+    private FollowRepository followRepository;
+    @Autowired
+    private CampaignRepository campaignRepository;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private LikeService likeService;
+    @Autowired
+    private NotificationService notificationService;
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private Profile viewer;
+    private List<Long> followedIds;
+    private String postId;
+    private Long campaignId;
+    private String token;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) throws IOException {
+        databases = StandInDatabases.start(System.getProperty("test.postgres-url"));
+        registry.add("spring.datasource.url", databases::getJdbcUrl);
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("spring.data.mongodb.uri", databases::getMongoUri);
+    }
+
+    @AfterAll
+    static void stopDatabases() throws IOException {
+        databases.close();
+    }
+
+    @BeforeAll
+    void seed() {
+        viewer = profile("viewer");
+        List<Profile> others = new ArrayList<>(OTHERS);
+        for (int i = 0; i < OTHERS; i++) {
+            others.add(profile("other" + i));
+        }
+        List<Follow> follows = new ArrayList<>(FOLLOWED);
+        for (Profile followed : others.subList(0, FOLLOWED)) {
+            Follow follow = new Follow();
+            follow.setFollower(viewer);
+            follow.setFollowing(followed);
+            follows.add(follow);
+        }
+        followRepository.saveAll(follows);
+        followedIds = follows.stream().map(f -> f.getFollowing().getId()).toList();
+
+        List<Post> posts = new ArrayList<>(OTHERS);
+        for (int i = 0; i < OTHERS; i++) {
+            Profile author = others.get(i % FOLLOWED);
+            Post post = new Post();
+            post.setUserId(author.getId());
+            post.setUsername(author.getUser().getUsername());
+            post.setCaption("Post " + i);
+            post.setMediaUrls(List.of("https://cdn.test.local/posts/" + i + ".jpg"));
+            posts.add(post);
+        }
+        postRepository.saveAll(posts);
+        postId = posts.get(0).getId();
+
+        Campaign campaign = new Campaign();
+        campaign.setCreator(viewer);
+        campaign.setTitle("Budget test campaign");
+        campaign.setDescription("Liked by everyone else");
+        campaign.setGoalAmount(new BigDecimal("1000"));
+        campaign.setCategory("COMMUNITY");
+        campaign.setStatus(Campaign.CampaignStatus.ACTIVE);
+        campaign.setStartDate(LocalDateTime.now().minusDays(1));
+        campaign.setEndDate(LocalDateTime.now().plusDays(30));
+        campaign.setBeneficiaryName("Beneficiary");
+        campaignId = campaignRepository.save(campaign).getId();
+
+        List<Comment> comments = new ArrayList<>(OTHERS);
+        for (Profile other : others) {
+            Comment comment = new Comment();
+            comment.setUserId(other.getId());
+            comment.setUsername(other.getUser().getUsername());
+            comment.setContent("Comment by " + other.getName());
+            comment.setPostId(postId);
+            comments.add(comment);
+
+            // The post's author likes it too only if it is not their own
+            if (!other.getId().equals(posts.get(0).getUserId())) {
+                like(other, postId, null);
+            }
+            like(other, null, campaignId);
+            notificationService.createFollowNotification(viewer.getId(), other.getId());
+        }
+        commentRepository.saveAll(comments);
+        // A reply in every thread, so the thread page loads replies as well
+        List<Comment> replies = new ArrayList<>(OTHERS);
+        for (Comment parent : comments) {
+            Comment reply = new Comment();
+            reply.setUserId(viewer.getId());
+            reply.setUsername(viewer.getUser().getUsername());
+            reply.setContent("Reply to " + parent.getUsername());
+            reply.setPostId(postId);
+            reply.setParentCommentId(parent.getId());
+            replies.add(reply);
+            parent.setReplyCount(1);
+        }
+        commentRepository.saveAll(replies);
+        commentRepository.saveAll(comments);
+
+        token = jwtTokenProvider.generateAccessTokenFromUserId(
+                viewer.getUser().getId(), viewer.getUser().getUsername(), List.of("USER"));
+    }
+
+    @Test
+    void feed() throws Exception {
+        String ids = followedIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        assertWithinBudget("/api/v1/posts/feed?userId=" + viewer.getId() + "&followingIds=" + ids
+                + "&size=" + PAGE, "$.content.length()");
+    }
+
+    @Test
+    void postComments() throws Exception {
+        assertWithinBudget("/api/v1/comments/post/" + postId + "?size=" + PAGE, "$.content.length()");
+    }
+
+    @Test
+    void postCommentThreads() throws Exception {
+        assertWithinBudget("/api/v1/comments/post/" + postId + "/threads?size=" + PAGE, "$.content.length()");
+    }
+
+    @Test
+    void notifications() throws Exception {
+        assertWithinBudget("/api/v1/notifications/user/" + viewer.getId() + "?size=" + PAGE, "$.content.length()");
+    }
+
+    // Followed likers first, then everyone else: both phases on one page
+    @Test
+    void postLikers() throws Exception {
+        assertWithinBudget("/api/v1/likes/post/" + postId + "/users?viewerId=" + viewer.getId()
+                + "&size=" + PAGE, "$.likers.length()");
+    }
+
+    @Test
+    void campaignLikers() throws Exception {
+        assertWithinBudget("/api/v1/likes/campaign/" + campaignId + "/users?viewerId=" + viewer.getId()
+                + "&size=" + PAGE, "$.likers.length()");
+    }
+
+    private void assertWithinBudget(String uri, String pageLength) throws Exception {
+        MvcResult[] result = new MvcResult[1];
+        QueryCount count = QueryCounter.measure(() -> result[0] = mockMvc.perform(get(uri)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(pageLength).value(PAGE))
+                .andReturn());
+
+        QueryBudget budget = ((HandlerMethod) result[0].getHandler()).getMethodAnnotation(QueryBudget.class);
+        assertNotNull(budget, uri + " has no @QueryBudget");
+        count.assertAtMost(budget.jdbc(), budget.mongo());
+    }
+
+    private Profile profile(String name) {
+        User user = new User();
+        user.setUsername("budget_" + name);
+        user.setEmail("budget_" + name + "@test.local");
+        user.setPassword("not-used");
+        user.setRole("USER");
+        Profile profile = new Profile();
+        profile.setUser(userRepository.save(user));
+        profile.setName(name);
+        return profileRepository.save(profile);
+    }
+
+    private void like(Profile user, String postId, Long campaignId) {
+        LikeRequest request = new LikeRequest();
+        request.setUserId(user.getId());
+        request.setPostId(postId);
+        request.setCampaignId(campaignId);
+        likeService.likeContent(request);
+    }
+}
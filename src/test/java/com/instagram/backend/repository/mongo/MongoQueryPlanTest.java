@@ -0,0 +1,279 @@
+package com.instagram.backend.repository.mongo;
+
+import com.instagram.backend.model.document.ContentLike;
+import com.instagram.backend.service.CommentThreadLoader;
+import com.instagram.backend.service.ContentLikeStore;
+import com.instagram.backend.service.MongoIndexManager;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.condition.DisabledIf;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Runs every Mongo repository method, and the hand-written queries on hot paths, against a
+ * real mongod with the declared indexes (see MongoIndexManager), captures the commands the
+ * driver sends and explains them: a collection scan in a winning plan fails the test. A
+ * repository method without an invocation below fails too, so a new query cannot ship
+ * without its plan being checked.
+ *
+ * The planner picks indexes from the query shape, so empty collections are enough.
+ * Needs Docker. Skipped without it, except with -Dtest.docker.required=true (set by the ci
+ * profile), where a missing Docker fails the build instead of passing it unchecked.
+ */
+@Testcontainers
+@DisabledIf("dockerOptionalAndMissing")
+class MongoQueryPlanTest {
+
+    @Container
+    private static final MongoDBContainer MONGO = new MongoDBContainer("mongo:7.0");
+
+    private static final List<Class<?>> REPOSITORIES = List.of(
+            CommentRepository.class, ContentLikeRepository.class, PostRepository.class, ReelRepository.class);
+    private static final Set<String> EXPLAINED_COMMANDS = Set.of("find", "aggregate", "count", "distinct",
+            "delete", "update", "findAndModify");
+    // Session and transport fields the explain command does not accept
+    private static final Set<String> STRIPPED_FIELDS = Set.of("lsid", "txnNumber", "readConcern", "writeConcern");
+
+    /** Known to scan; checked for coverage but not failed on. */
+    private static final Set<String> SCANS_BY_DESIGN = Set.of(
+            // Counted and read in full on every duplicate filter rebuild
+            "ContentLikeRepository.countByContentType",
+            "ContentLikeRepository.streamAllKeys",
+            // An unanchored case-insensitive regex cannot use an index
+            "PostRepository.findByCaptionContainingIgnoreCaseOrTagsIn",
+            "ReelRepository.findByCaptionContainingIgnoreCaseOrTagsIn");
+
+    private static final String ID = "65f1c2a9e4b0000000000001";
+    private static final Pageable PAGE = PageRequest.of(0, 20);
+
+    private static final List<CapturedCommand> commands = new ArrayList<>();
+    private static MongoClient client;
+    private static CommentRepository comments;
+    private static ContentLikeRepository likes;
+    private static PostRepository posts;
+    private static ReelRepository reels;
+    private static CommentThreadLoader threadLoader;
+    private static ContentLikeStore likeStore;
+
+    private record CapturedCommand(String database, String name, BsonDocument command) {
+    }
+
+    static boolean dockerOptionalAndMissing() {
+        return !Boolean.getBoolean("test.docker.required") && !DockerClientFactory.instance().isDockerAvailable();
+    }
+
+    @BeforeAll
+    static void setUp() {
+        CommandListener capture = new CommandListener() {
+            @Override
+            public void commandStarted(CommandStartedEvent event) {
+                if (EXPLAINED_COMMANDS.contains(event.getCommandName())) {
+                    synchronized (commands) {
+                        commands.add(new CapturedCommand(event.getDatabaseName(), event.getCommandName(),
+                                event.getCommand().clone()));
+                    }
+                }
+            }
+        };
+        client = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(MONGO.getReplicaSetUrl("plans")))
+                .addCommandListener(capture)
+                .build());
+        MongoTemplate mongoTemplate = new MongoTemplate(client, "plans");
+
+        // Creating the repositories registers the documents with the mapping context the index manager reads
+        MongoRepositoryFactory factory = new MongoRepositoryFactory(mongoTemplate);
+        comments = factory.getRepository(CommentRepository.class);
+        likes = factory.getRepository(ContentLikeRepository.class);
+        posts = factory.getRepository(PostRepository.class);
+        reels = factory.getRepository(ReelRepository.class);
+        new MongoIndexManager(mongoTemplate, true).ensureIndexes();
+
+        threadLoader = new CommentThreadLoader(mongoTemplate);
+        likeStore = new ContentLikeStore(likes, mongoTemplate, null, null, null);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        client.close();
+    }
+
+    /** By "Repository.method", plus the hand-written queries on hot paths. */
+    private static Map<String, Runnable> invocations() {
+        Map<String, Runnable> calls = new LinkedHashMap<>();
+        calls.put("CommentRepository.findByPostIdOrderByCreatedAtDesc",
+                () -> comments.findByPostIdOrderByCreatedAtDesc(ID, PAGE));
+        calls.put("CommentRepository.findByReelIdOrderByCreatedAtDesc",
+                () -> comments.findByReelIdOrderByCreatedAtDesc(ID, PAGE));
+        calls.put("CommentRepository.findByCampaignIdOrderByCreatedAtDesc",
+                () -> comments.findByCampaignIdOrderByCreatedAtDesc(1L, PAGE));
+        calls.put("CommentRepository.countByPostId", () -> comments.countByPostId(ID));
+        calls.put("CommentRepository.countByReelId", () -> comments.countByReelId(ID));
+        calls.put("CommentRepository.countByCampaignId", () -> comments.countByCampaignId(1L));
+        calls.put("CommentRepository.findByPostIdAndIsDeletedFalseOrderByCreatedAtDesc",
+                () -> comments.findByPostIdAndIsDeletedFalseOrderByCreatedAtDesc(ID, PAGE));
+        calls.put("CommentRepository.findByReelIdAndIsDeletedFalseOrderByCreatedAtDesc",
+                () -> comments.findByReelIdAndIsDeletedFalseOrderByCreatedAtDesc(ID, PAGE));
+        calls.put("CommentRepository.findByCampaignIdAndIsDeletedFalseOrderByCreatedAtDesc",
+                () -> comments.findByCampaignIdAndIsDeletedFalseOrderByCreatedAtDesc(1L, PAGE));
+        calls.put("CommentRepository.findByPostIdAndParentCommentIdIsNullAndIsDeletedFalseOrderByCreatedAtDesc",
+                () -> comments.findByPostIdAndParentCommentIdIsNullAndIsDeletedFalseOrderByCreatedAtDesc(ID, PAGE));
+        calls.put("CommentRepository.findByReelIdAndParentCommentIdIsNullAndIsDeletedFalseOrderByCreatedAtDesc",
+                () -> comments.findByReelIdAndParentCommentIdIsNullAndIsDeletedFalseOrderByCreatedAtDesc(ID, PAGE));
+        calls.put("CommentRepository.findByCampaignIdAndParentCommentIdIsNullAndIsDeletedFalseOrderByCreatedAtDesc",
+                () -> comments.findByCampaignIdAndParentCommentIdIsNullAndIsDeletedFalseOrderByCreatedAtDesc(1L, PAGE));
+        calls.put("CommentRepository.findByParentCommentIdAndIsDeletedFalseOrderByCreatedAtAsc",
+                () -> comments.findByParentCommentIdAndIsDeletedFalseOrderByCreatedAtAsc(ID, PAGE));
+        calls.put("CommentRepository.countByPostIdAndIsDeletedFalse", () -> comments.countByPostIdAndIsDeletedFalse(ID));
+        calls.put("CommentRepository.countByReelIdAndIsDeletedFalse", () -> comments.countByReelIdAndIsDeletedFalse(ID));
+        calls.put("CommentRepository.countByCampaignIdAndIsDeletedFalse",
+                () -> comments.countByCampaignIdAndIsDeletedFalse(1L));
+        calls.put("CommentThreadLoader.firstReplies", () -> threadLoader.firstReplies(List.of(ID), 3));
+
+        calls.put("ContentLikeRepository.existsByContentIdAndUserId", () -> likes.existsByContentIdAndUserId(ID, 1L));
+        calls.put("ContentLikeRepository.deleteByContentIdAndUserId", () -> likes.deleteByContentIdAndUserId(ID, 1L));
+        calls.put("ContentLikeRepository.countByContentId", () -> likes.countByContentId(ID));
+        calls.put("ContentLikeRepository.countByContentType",
+                () -> likes.countByContentType(ContentLike.ContentType.POST));
+        calls.put("ContentLikeRepository.findLikedContentIds", () -> likes.findLikedContentIds(1L, List.of(ID)));
+        calls.put("ContentLikeRepository.streamAllKeys", () -> {
+            try (Stream<ContentLike> keys = likes.streamAllKeys()) {
+                keys.forEach(like -> { });
+            }
+        });
+        calls.put("ContentLikeStore.findLikers", () -> likeStore.findLikers(ID, null, null, null, null, 20));
+        calls.put("ContentLikeStore.findLikers after a cursor, among followed users",
+                () -> likeStore.findLikers(ID, LocalDateTime.now(), ID, List.of(1L, 2L), null, 20));
+        calls.put("ContentLikeStore.findLikers after a cursor, except followed users",
+                () -> likeStore.findLikers(ID, LocalDateTime.now(), ID, null, List.of(1L, 2L), 20));
+
+        calls.put("PostRepository.findByUserIdOrderByCreatedAtDesc", () -> posts.findByUserIdOrderByCreatedAtDesc(1L, PAGE));
+        calls.put("PostRepository.findByUserIdInOrderByCreatedAtDesc",
+                () -> posts.findByUserIdInOrderByCreatedAtDesc(List.of(1L, 2L), PAGE));
+        calls.put("PostRepository.findByTagsInOrderByCreatedAtDesc",
+                () -> posts.findByTagsInOrderByCreatedAtDesc(List.of("travel"), PAGE));
+        calls.put("PostRepository.findByCaptionContainingIgnoreCaseOrTagsIn",
+                () -> posts.findByCaptionContainingIgnoreCaseOrTagsIn("travel", List.of("travel"), PAGE));
+
+        calls.put("ReelRepository.findByUserIdOrderByCreatedAtDesc", () -> reels.findByUserIdOrderByCreatedAtDesc(1L, PAGE));
+        calls.put("ReelRepository.findAllByOrderByCreatedAtDesc", () -> reels.findAllByOrderByCreatedAtDesc(PAGE));
+        calls.put("ReelRepository.findByCaptionContainingIgnoreCaseOrTagsIn",
+                () -> reels.findByCaptionContainingIgnoreCaseOrTagsIn("travel", List.of("travel"), PAGE));
+        return calls;
+    }
+
+    @Test
+    void everyRepositoryMethodIsInvoked() {
+        Set<String> invoked = invocations().keySet();
+        List<String> missing = new ArrayList<>();
+        for (Class<?> repository : REPOSITORIES) {
+            for (Method method : repository.getDeclaredMethods()) {
+                String name = repository.getSimpleName() + "." + method.getName();
+                if (!method.isDefault() && !invoked.contains(name)) {
+                    missing.add(name);
+                }
+            }
+        }
+        assertTrue(missing.isEmpty(), "No query plan check for " + missing);
+    }
+
+    @TestFactory
+    Stream<DynamicTest> queriesUseAnIndex() {
+        return invocations().entrySet().stream()
+                .map(call -> DynamicTest.dynamicTest(call.getKey(), () -> checkPlans(call.getKey(), call.getValue())));
+    }
+
+    private static void checkPlans(String name, Runnable call) {
+        List<CapturedCommand> sent;
+        synchronized (commands) {
+            commands.clear();
+            call.run();
+            sent = List.copyOf(commands);
+        }
+        assertFalse(sent.isEmpty(), name + " sent no query to explain");
+        for (CapturedCommand command : sent) {
+            Document explain = client.getDatabase(command.database()).runCommand(
+                    new BsonDocument("explain", explainable(command.command()))
+                            .append("verbosity", new BsonString("queryPlanner")));
+            List<Document> winningPlans = new ArrayList<>();
+            collectWinningPlans(explain, winningPlans);
+            assertFalse(winningPlans.isEmpty(), name + ": no winning plan in " + explain.toJson());
+            for (Document plan : winningPlans) {
+                List<String> stages = new ArrayList<>();
+                collectStages(plan, stages);
+                if (stages.contains("COLLSCAN") && !SCANS_BY_DESIGN.contains(name)) {
+                    fail(name + " (" + command.name() + ") scans its collection: " + plan.toJson());
+                }
+            }
+        }
+    }
+
+    private static BsonDocument explainable(BsonDocument command) {
+        BsonDocument body = new BsonDocument();
+        command.forEach((key, value) -> {
+            if (!key.startsWith("$") && !STRIPPED_FIELDS.contains(key)) {
+                body.append(key, value);
+            }
+        });
+        return body;
+    }
+
+    // An aggregation nests its plan under stages[0].$cursor; rejected plans are not of interest
+    private static void collectWinningPlans(Object node, List<Document> plans) {
+        if (node instanceof Document document) {
+            document.forEach((key, value) -> {
+                if ("winningPlan".equals(key) && value instanceof Document plan) {
+                    plans.add(plan);
+                } else if (!"rejectedPlans".equals(key)) {
+                    collectWinningPlans(value, plans);
+                }
+            });
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collectWinningPlans(value, plans));
+        }
+    }
+
+    // Stages nest through inputStage, inputStages and, on the slot-based engine, queryPlan
+    private static void collectStages(Object node, List<String> stages) {
+        if (node instanceof Document document) {
+            if (document.get("stage") instanceof String stage) {
+                stages.add(stage);
+            }
+            document.values().forEach(value -> collectStages(value, stages));
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collectStages(value, stages));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.instagram.backend.support;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+/**
+ * Local stand-ins for the two databases. Postgres is a real server started from binaries
+ * shipped as a Maven artifact (so the native queries behave as in production); Mongo is an
+ * in-process wire-protocol server backed by memory. Neither needs Docker or network access.
+ *
+ * Used by the load test and QueryBudgetTest. Postgres refuses to start as root; pass the
+ * URL of an existing server instead (its postgres user must accept password "postgres").
+ */
+@Slf4j
+public class StandInDatabases implements AutoCloseable {
+
+    private final EmbeddedPostgres postgres;
+    private final MongoServer mongo;
+    private final String jdbcUrl;
+    private final String mongoUri;
+
+    private StandInDatabases(EmbeddedPostgres postgres, String jdbcUrl, MongoServer mongo, String mongoUri) {
+        this.postgres = postgres;
+        this.jdbcUrl = jdbcUrl;
+        this.mongo = mongo;
+        this.mongoUri = mongoUri;
+    }
+
+    public static StandInDatabases start(String externalPostgresUrl) throws IOException {
+        EmbeddedPostgres postgres = null;
+        String jdbcUrl = externalPostgresUrl;
+        if (jdbcUrl == null) {
+            postgres = EmbeddedPostgres.builder()
+                    // Durability off: the data is thrown away after the run
+                    .setServerConfig("fsync", "off")
+                    .setServerConfig("synchronous_commit", "off")
+                    .setServerConfig("full_page_writes", "off")
+                    .setServerConfig("max_connections", "200")
+                    .start();
+            jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+        }
+        log.info("Postgres stand-in: {}", jdbcUrl);
+
+        MongoServer mongo = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = mongo.bind();
+        String mongoUri = "mongodb://127.0.0.1:" + address.getPort() + "/loadtest";
+        log.info("Mongo stand-in: {}", mongoUri);
+
+        return new StandInDatabases(postgres, jdbcUrl, mongo, mongoUri);
+    }
+
+    public String getJdbcUrl() {
+        return jdbcUrl;
+    }
+
+    public String getMongoUri() {
+        return mongoUri;
+    }
+
+    @Override
+    public void close() throws IOException {
+        mongo.shutdownNow();
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+}